@@ -0,0 +1,124 @@
+package govsim;
+
+import govsim.config.AgentFactory;
+import govsim.config.BillLoader;
+import govsim.config.SimulationConfig;
+import govsim.core.GraphRunner;
+import govsim.core.Node;
+import govsim.core.NodeMemo;
+import govsim.core.SimulationLogger;
+import govsim.core.SimulationState;
+import govsim.ingest.BillCatalog;
+import govsim.ingest.CongressClient;
+import govsim.llm.LLMClient;
+import govsim.nodes.JudgeAssignAgencyNode;
+import govsim.nodes.LoadFactsNode;
+import govsim.nodes.ParseBillNode;
+import govsim.nodes.PreloadInvoicesNode;
+import govsim.nodes.PullBillNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs the ingestion and analysis stages (pull, parse, agency assignment) for upcoming bills on a
+ * background thread while the current bill debates. Finished states wait in a bounded queue, so at most
+ * {@code depth} bills are analysed ahead. The states carry no live-page stores, and what the stages log is
+ * held with the state rather than printed, so the live log of the bill being debated only ever shows that
+ * bill. {@link Prefetched#publishLog} replays it once the bill is on the floor.
+ */
+public class BillPrefetcher {
+  private final SimulationConfig config;
+  private final LLMClient llm;
+  private final CongressClient congress;
+  private final AgentFactory.Definitions definitions;
+  private final NodeMemo memo;
+  private final ExecutorService nodePool;
+  private final BlockingQueue<Prefetched> ready;
+  private final Set<String> stageNames = new LinkedHashSet<>();
+
+  public BillPrefetcher(SimulationConfig config, LLMClient backgroundLlm, CongressClient congress,
+                        AgentFactory.Definitions definitions, NodeMemo memo, ExecutorService nodePool, int depth) {
+    this.config = config;
+    this.llm = backgroundLlm;
+    this.congress = congress;
+    this.definitions = definitions;
+    this.memo = memo;
+    this.nodePool = nodePool;
+    this.ready = new ArrayBlockingQueue<>(Math.max(1, depth));
+    for (Node node : analysisNodes()) {
+      stageNames.add(node.name());
+    }
+  }
+
+  /** Names of the nodes already run on a prefetched state. */
+  public Set<String> stageNames() {
+    return stageNames;
+  }
+
+  public void start() {
+    Thread thread = new Thread(this::loop, "bill-prefetch");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /** An analysed bill and the lines its stages logged. */
+  public record Prefetched(SimulationState state, List<String> log) {
+    /** Prints the held lines; call after the live log is cleared for this bill. */
+    public void publishLog() {
+      for (String line : log) {
+        SimulationLogger.log(line);
+      }
+    }
+  }
+
+  /** Blocks until the next analysed bill is available. */
+  public Prefetched take() throws InterruptedException {
+    return ready.take();
+  }
+
+  private void loop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        BillCatalog catalog = BillCatalog.shared(BillCatalog.DEFAULT_DIR);
+        SimulationState state = new SimulationState();
+        state.bill = BillLoader.fromFile(config.billPath());
+        state.vars.put("invoicesPath", config.invoicesPath());
+        List<String> log = new ArrayList<>();
+        SimulationLogger.capture(log, () -> {
+          new GraphRunner(analysisNodes(), 0, nodePool)
+              .memoize(memo)
+              .reuseNearDuplicates(catalog.similarBills(config.dedupThreshold()), config.dedupNodes())
+              .run(state);
+          return null;
+        });
+        SimulationLogger.log("[Prefetch] Analysed " + state.bill.id() + "; waiting for the floor.");
+        ready.put(new Prefetched(state, log));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        SimulationLogger.log("[Prefetch] Analysis failed: " + e.getMessage());
+        try {
+          Thread.sleep(Math.max(1, config.daemonIntervalSeconds()) * 1000L);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  private List<Node> analysisNodes() {
+    return List.of(
+        new PullBillNode(congress),
+        new LoadFactsNode(config.factsPath()),
+        new PreloadInvoicesNode(config.invoicesPath()),
+        ParseBillNode.fromConfig(llm, config),
+        new JudgeAssignAgencyNode(AgentFactory.buildAgents(definitions, llm), config.judgeSkipMargin())
+    );
+  }
+}
@@ -3,18 +3,25 @@ package govsim;
 import govsim.config.AgentFactory;
 import govsim.config.AgentRegistry;
 import govsim.config.BillLoader;
-import govsim.config.FactsLoader;
 import govsim.config.SimulationConfig;
+import govsim.core.Checkpoint;
 import govsim.core.GraphRunner;
+import govsim.core.NodeMemo;
 import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.ingest.BillCatalog;
+import govsim.ingest.BillQueue;
+import govsim.ingest.CongressClient;
 import govsim.llm.LLMClient;
 import govsim.llm.OllamaClient;
+import govsim.llm.PriorityLLMClient;
 import govsim.nodes.CommitteeDeliberationNode;
 import govsim.nodes.FinalizeNode;
 import govsim.nodes.InvoiceApprovalNode;
 import govsim.nodes.JudgeAssignAgencyNode;
+import govsim.nodes.LoadFactsNode;
 import govsim.nodes.ParseBillNode;
+import govsim.nodes.PreloadInvoicesNode;
 import govsim.nodes.PrimaryFloorDebateNode;
 import govsim.nodes.PublicForumNode;
 import govsim.nodes.PullBillNode;
@@ -26,16 +33,24 @@ import govsim.web.LogStore;
 import govsim.web.LogTeeOutputStream;
 import govsim.web.PollingServer;
 import govsim.web.RepsStore;
+import govsim.web.ServerSettings;
 import govsim.web.StatusStore;
 import govsim.web.VoteBox;
 
+import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class Main {
   public static void main(String[] args) throws Exception {
+    boolean resume = List.of(args).contains("--resume");
+    boolean daemon = List.of(args).contains("--daemon");
     SimulationConfig config = SimulationConfig.load();
     LogStore logStore = new LogStore();
     PrintStream originalOut = System.out;
@@ -44,8 +59,10 @@ public class Main {
     System.setErr(new PrintStream(new LogTeeOutputStream(originalErr, logStore), true, StandardCharsets.UTF_8));
     SimulationLogger.init(logStore);
 
-    LLMClient llm = new OllamaClient(config.ollamaUrl(), config.model(), config.numPredict());
-    AgentRegistry registry = AgentFactory.buildAllAgents(config, llm);
+    String keepAlive = daemon && config.ollamaKeepAlive().isBlank() ? "30m" : config.ollamaKeepAlive();
+    OllamaClient llm = new OllamaClient(config.ollamaUrl(), config.model(), config.numPredict(), keepAlive);
+    AgentFactory.Definitions definitions = AgentFactory.loadDefinitions(config);
+    AgentRegistry registry = AgentFactory.buildAgents(definitions, llm);
 
     VoteBox voteBox = new VoteBox();
     ChatStore chatStore = new ChatStore();
@@ -53,47 +70,192 @@ public class Main {
     RepsStore repsStore = new RepsStore();
     StatusStore statusStore = new StatusStore();
     repsStore.setReps(buildRepInfos(registry));
-    PollingServer pollingServer = new PollingServer(config.serverPort(), logStore, voteBox, chatStore, billStore, repsStore, statusStore);
+    ServerSettings serverSettings = new ServerSettings(config.serverPort(), config.serverBacklog(),
+        config.serverMaxConcurrent(), config.serverTransport());
+    PollingServer pollingServer = new PollingServer(serverSettings, logStore, voteBox, chatStore, billStore, repsStore,
+        statusStore);
     pollingServer.start();
     SimulationLogger.log("[Server] Live feed at http://localhost:" + pollingServer.port());
 
-    SimulationState state = new SimulationState();
+    // Services every bill's state starts with; each run works on a copy.
+    SimulationState template = new SimulationState();
+    template.logStore = logStore;
+    template.voteBox = voteBox;
+    template.pollingServer = pollingServer;
+    template.chatStore = chatStore;
+    template.vars.put("billStore", billStore);
+    template.vars.put("repsStore", repsStore);
+    template.vars.put("statusStore", statusStore);
+    template.vars.put("invoicesPath", config.invoicesPath());
+
+    CongressClient congress = CongressClient.fromEnvironment(config);
+    if (congress != null) {
+      BillQueue.shared(BillQueue.DEFAULT_FILE).startPrefetch(congress, config.billQueueSize());
+    }
+
+    NodeMemo memo = new NodeMemo("off".equalsIgnoreCase(config.memoPath()) ? null : Path.of(config.memoPath()),
+        definitions.memoSalt());
+    Path checkpointPath = Path.of(Checkpoint.DEFAULT_FILE);
+    Checkpoint checkpoint = resume ? Checkpoint.load(checkpointPath) : null;
+    if (resume && checkpoint == null) {
+      SimulationLogger.log("[Checkpoint] No checkpoint found. Starting from the beginning.");
+    }
+
+    if (daemon) {
+      runDaemon(config, llm, congress, definitions, template, memo, checkpointPath, checkpoint);
+      return;
+    }
+
+    SimulationState state = newBillState(config, template, checkpoint);
+    buildRunner(config, llm, congress, registry, new ThresholdDecisionNode(), null)
+        .checkpointTo(checkpointPath)
+        .resumeFrom(checkpoint)
+        .memoize(memo)
+        .run(state);
+    SimulationLogger.log(String.valueOf(state.voteResult));
+    SimulationLogger.log("Outcome: " + state.vars.get("finalOutcome"));
+
+    if (state.pollingServer != null) {
+      SimulationLogger.log("[Server] Shutting down.");
+      state.pollingServer.stop();
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Runs bills back to back without exiting. The server, Ollama connection and loaded model stay warm;
+   * the per-bill stores and agent memories are reset between bills, and the popular vote is taken from
+   * the live page with a fixed window. Ingestion and analysis of upcoming bills run ahead in a
+   * {@link BillPrefetcher} on background LLM slots, so a bill goes straight to committee when its turn
+   * comes.
+   */
+  private static void runDaemon(SimulationConfig config, OllamaClient llm, CongressClient congress,
+                                AgentFactory.Definitions definitions, SimulationState template, NodeMemo memo,
+                                Path checkpointPath, Checkpoint checkpoint) throws Exception {
+    ExecutorService nodePool = Executors.newCachedThreadPool(r -> {
+      Thread t = new Thread(r, "graph-node");
+      t.setDaemon(true);
+      return t;
+    });
+    long warmStart = System.nanoTime();
+    try {
+      llm.warmUp();
+      SimulationLogger.log("[Daemon] Model loaded in " + (System.nanoTime() - warmStart) / 1_000_000 + " ms.");
+    } catch (Exception e) {
+      SimulationLogger.log("[Daemon] Model warm-up failed: " + e.getMessage());
+    }
+
+    PriorityLLMClient slots = new PriorityLLMClient(llm, config.llmConcurrency());
+    LLMClient foreground = slots.foreground();
+    BillStore billStore = (BillStore) template.vars.get("billStore");
+    StatusStore statusStore = (StatusStore) template.vars.get("statusStore");
+    Duration voteWindow = Duration.ofSeconds(Math.max(1, config.voteWindowSeconds()));
+
+    if (checkpoint != null) {
+      SimulationState state = newBillState(config, template, checkpoint);
+      runDaemonBill(0, state, buildRunner(config, foreground, congress,
+          AgentFactory.buildAgents(definitions, foreground), new ThresholdDecisionNode(voteWindow), nodePool).resumeFrom(checkpoint), checkpointPath, memo);
+    }
+
+    BillPrefetcher prefetcher = new BillPrefetcher(config, slots.background(), congress, definitions, memo,
+        nodePool, config.prefetchDepth());
+    prefetcher.start();
+    for (int billNumber = 1; ; billNumber++) {
+      BillPrefetcher.Prefetched next = prefetcher.take();
+      SimulationState state = next.state();
+      billStore.reset();
+      statusStore.reset();
+      template.voteBox.reset();
+      template.logStore.reset();
+      template.chatStore.reset();
+      next.publishLog();
+      attachServices(state, template);
+      billStore.setOriginalText(state.bill.rawText());
+      billStore.setOnePager(state.billOnePager);
+      GraphRunner runner = buildRunner(config, foreground, congress,
+          AgentFactory.buildAgents(definitions, foreground), new ThresholdDecisionNode(voteWindow), nodePool)
+          .skip(prefetcher.stageNames());
+      runDaemonBill(billNumber, state, runner, checkpointPath, memo);
+      SimulationLogger.log("[Daemon] Next bill in " + config.daemonIntervalSeconds() + " s.");
+      Thread.sleep(Math.max(0, config.daemonIntervalSeconds()) * 1000L);
+    }
+  }
+
+  private static void runDaemonBill(int billNumber, SimulationState state, GraphRunner runner, Path checkpointPath,
+                                    NodeMemo memo) {
+    long start = System.nanoTime();
+    try {
+      runner.checkpointTo(checkpointPath).memoize(memo).run(state);
+      SimulationLogger.log("[Daemon] Bill " + billNumber + " (" + state.bill.id() + ") outcome: "
+          + state.vars.get("finalOutcome") + " in " + (System.nanoTime() - start) / 1_000_000_000 + " s.");
+    } catch (Exception e) {
+      SimulationLogger.log("[Daemon] Bill " + billNumber + " failed: " + e.getMessage());
+    }
+  }
+
+  /** Gives a state analysed off to the side the live-page services from {@code template}. */
+  private static void attachServices(SimulationState state, SimulationState template) {
+    state.logStore = template.logStore;
+    state.voteBox = template.voteBox;
+    state.pollingServer = template.pollingServer;
+    state.chatStore = template.chatStore;
+    for (String key : List.of("billStore", "repsStore", "statusStore")) {
+      state.vars.put(key, template.vars.get(key));
+    }
+  }
+
+  private static SimulationState newBillState(SimulationConfig config, SimulationState template,
+                                              Checkpoint checkpoint) throws IOException {
+    SimulationState state = template.copy();
     state.bill = BillLoader.fromFile(config.billPath());
-    state.logStore = logStore;
-    state.voteBox = voteBox;
-    state.pollingServer = pollingServer;
-    state.chatStore = chatStore;
-    state.vars.put("billStore", billStore);
-    state.vars.put("repsStore", repsStore);
-    state.vars.put("statusStore", statusStore);
-    state.vars.put("billPath", config.billPath());
-    state.vars.put("invoicesPath", config.invoicesPath());
+    BillStore billStore = (BillStore) state.vars.get("billStore");
+    StatusStore statusStore = (StatusStore) state.vars.get("statusStore");
     billStore.setOriginalText(state.bill.rawText());
-    FactsLoader factsLoader = new FactsLoader();
-    state.vars.put("factsPack", FactsLoader.toPromptBlock(factsLoader.load(config.factsPath())));
+    if (checkpoint != null) {
+      checkpoint.restore(state);
+      restoreStores(state, billStore, statusStore);
+      LoadFactsNode loadFacts = new LoadFactsNode(config.factsPath());
+      if (checkpoint.completedNodes.contains(loadFacts.name())) loadFacts.republish(state);
+    }
+    return state;
+  }
 
-    GraphRunner runner = new GraphRunner(List.of(
-        new PullBillNode(),
-        new ParseBillNode(llm),
-        new JudgeAssignAgencyNode(registry),
+  private static GraphRunner buildRunner(SimulationConfig config, LLMClient llm, CongressClient congress,
+                                         AgentRegistry registry, ThresholdDecisionNode threshold,
+                                         ExecutorService nodePool) {
+    return new GraphRunner(List.of(
+        new PullBillNode(congress),
+        new LoadFactsNode(config.factsPath()),
+        new PreloadInvoicesNode(config.invoicesPath()),
+        ParseBillNode.fromConfig(llm, config),
+        new JudgeAssignAgencyNode(registry, config.judgeSkipMargin()),
         new CommitteeDeliberationNode(registry),
         new PrimaryFloorDebateNode(registry),
         new PublicForumNode(),
-        new ThresholdDecisionNode(),
+        threshold,
         new InvoiceApprovalNode(llm, config.invoicesPath()),
         new ReviseFailedBillNode(registry, llm),
         new FinalizeNode()
-    ), config.maxRevisions());
-
-    runner.run(state);
-    SimulationLogger.log(String.valueOf(state.voteResult));
-    SimulationLogger.log("Outcome: " + state.vars.get("finalOutcome"));
+    ), config.maxRevisions(), nodePool)
+        .loopBack("ReviseFailedBill", "CommitteeDeliberation",
+            s -> "REVISED_PENDING".equals(s.vars.get("finalOutcome")))
+        .reuseNearDuplicates(BillCatalog.shared(BillCatalog.DEFAULT_DIR).similarBills(config.dedupThreshold()),
+            config.dedupNodes())
+        .checkpointMemories(registry.memories());
+  }
 
-    if (state.pollingServer != null) {
-      SimulationLogger.log("[Server] Shutting down.");
-      state.pollingServer.stop();
+  @SuppressWarnings("unchecked")
+  private static void restoreStores(SimulationState state, BillStore billStore, StatusStore statusStore) {
+    if (state.bill != null) billStore.setOriginalText(state.bill.rawText());
+    if (!state.billOnePager.isBlank()) billStore.setOnePager(state.billOnePager);
+    Object revisedText = state.vars.get("revisedBillText");
+    if (revisedText instanceof String text) {
+      Object changes = state.vars.get("revisedBillChanges");
+      billStore.setRevised(text, String.valueOf(state.vars.getOrDefault("revisedBillSummary", "")),
+          changes instanceof List<?> list ? (List<String>) list : List.of());
     }
-    System.exit(0);
+    Object outcome = state.vars.get("finalOutcome");
+    if (outcome != null) statusStore.setFinalOutcome(outcome.toString());
   }
 
   private static List<RepsStore.RepInfo> buildRepInfos(AgentRegistry registry) {
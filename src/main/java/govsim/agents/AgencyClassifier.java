@@ -0,0 +1,251 @@
+package govsim.agents;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.core.KeywordMatcher;
+import govsim.core.SimulationLogger;
+import govsim.ingest.BillAnalyzer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes a bill to an agency locally, so the LLM judge can be skipped when the evidence is one-sided. Three
+ * signals are each turned into shares over the agencies: distinct scope keyword hits, TF-IDF similarity to
+ * each agency's profile (its name and keywords), and similarity to the bills the LLM judge routed to each
+ * agency before. The blended shares sum to one, and the gap between the top two is the margin the judge
+ * node compares against its threshold.
+ *
+ * <p>Routing history is appended to a JSONL file when one is given, so it carries over between runs.
+ */
+public class AgencyClassifier {
+  private static final double KEYWORD_WEIGHT = 0.4;
+  private static final double PROFILE_WEIGHT = 0.3;
+  private static final double HISTORY_WEIGHT = 0.3;
+  /** Terms kept per remembered bill; enough to characterise it without storing the text. */
+  private static final int HISTORY_TERMS = 50;
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final KeywordMatcher matcher;
+  private final List<String> agencyIds;
+  private final List<Map<String, Double>> profiles = new ArrayList<>();
+  // Per agency, the sum of the unit term vectors of bills routed to it.
+  private final List<Map<String, Double>> history = new ArrayList<>();
+  private final Map<String, Integer> documentFrequency = new HashMap<>();
+  private final Set<String> learned = new HashSet<>();
+  private final Path historyFile;
+  private BufferedWriter log;
+  private int documents;
+
+  /**
+   * @param matcher     scope keywords tagged by agency id
+   * @param profiles    descriptive text per agency id, e.g. its name and keywords
+   * @param historyFile where routing history is kept, or null to keep it in memory only
+   */
+  public AgencyClassifier(KeywordMatcher matcher, Map<String, String> profiles, Path historyFile) {
+    this.matcher = matcher;
+    this.agencyIds = matcher.tags();
+    this.historyFile = historyFile;
+    for (String id : agencyIds) {
+      Map<String, Double> profile = new HashMap<>();
+      BillAnalyzer.termCounts(profiles.getOrDefault(id, "")).forEach((term, count) -> profile.put(term, 1.0));
+      this.profiles.add(profile);
+      history.add(new HashMap<>());
+      countDocument(profile.keySet());
+    }
+    load();
+  }
+
+  /**
+   * @param agencyId    the leader, or null when no signal favours any agency
+   * @param shares      blended shares per agency id, summing to one
+   * @param margin      leader's share minus the runner-up's
+   * @param keywordHits distinct scope keywords of the leader found in the text
+   */
+  public record Result(String agencyId, Map<String, Double> shares, double margin, int keywordHits) {}
+
+  public KeywordMatcher matcher() {
+    return matcher;
+  }
+
+  public synchronized Result classify(String text) {
+    int[] keywordHits = matcher.score(text == null ? "" : text);
+    Map<String, Double> bill = termVector(BillAnalyzer.termCounts(text));
+    int n = agencyIds.size();
+    double[] keywords = new double[n];
+    double[] profile = new double[n];
+    double[] past = new double[n];
+    for (int a = 0; a < n; a++) {
+      keywords[a] = keywordHits[a];
+      profile[a] = cosine(bill, profiles.get(a));
+      past[a] = cosine(bill, history.get(a));
+    }
+
+    double[] blended = new double[n];
+    double weights = blend(blended, keywords, KEYWORD_WEIGHT)
+        + blend(blended, profile, PROFILE_WEIGHT)
+        + blend(blended, past, HISTORY_WEIGHT);
+    Map<String, Double> shares = new LinkedHashMap<>();
+    int best = -1;
+    double first = 0;
+    double second = 0;
+    for (int a = 0; a < n; a++) {
+      double share = weights > 0 ? blended[a] / weights : 0;
+      shares.put(agencyIds.get(a), share);
+      if (share > first) {
+        second = first;
+        first = share;
+        best = a;
+      } else if (share > second) {
+        second = share;
+      }
+    }
+    if (best < 0) return new Result(null, shares, 0, 0);
+    return new Result(agencyIds.get(best), shares, first - second, keywordHits[best]);
+  }
+
+  /** Remembers that {@code billId} went to {@code agencyId}; a bill already remembered is ignored. */
+  public synchronized void learn(String billId, String text, String agencyId) {
+    int agency = agencyIds.indexOf(agencyId);
+    if (agency < 0 || billId == null || learned.contains(billId)) return;
+    Map<String, Double> terms = topTerms(BillAnalyzer.termCounts(text));
+    if (terms.isEmpty()) return;
+    apply(billId, agency, terms);
+    if (historyFile == null) return;
+    HistoryRecord record = new HistoryRecord();
+    record.billId = billId;
+    record.agencyId = agencyId;
+    record.terms = terms;
+    try {
+      if (log == null) {
+        if (historyFile.getParent() != null) Files.createDirectories(historyFile.getParent());
+        log = Files.newBufferedWriter(historyFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+      }
+      log.write(MAPPER.writeValueAsString(record));
+      log.newLine();
+      log.flush();
+    } catch (IOException e) {
+      SimulationLogger.log("[Judge] Could not save routing history: " + e.getMessage());
+    }
+  }
+
+  public synchronized int historySize() {
+    return learned.size();
+  }
+
+  /** Adds the signal's shares, scaled by {@code weight}; a signal with no evidence adds nothing. */
+  private static double blend(double[] blended, double[] signal, double weight) {
+    double sum = 0;
+    for (double value : signal) {
+      sum += value;
+    }
+    if (sum <= 0) return 0;
+    for (int a = 0; a < signal.length; a++) {
+      blended[a] += weight * signal[a] / sum;
+    }
+    return weight;
+  }
+
+  /** Log-scaled term frequencies weighted by inverse document frequency. */
+  private Map<String, Double> termVector(Map<String, Integer> counts) {
+    Map<String, Double> vector = new HashMap<>();
+    counts.forEach((term, count) -> vector.put(term, (1 + Math.log(count)) * idf(term)));
+    return vector;
+  }
+
+  /** Cosine similarity of an IDF-weighted bill vector and a raw profile or history vector. */
+  private double cosine(Map<String, Double> bill, Map<String, Double> raw) {
+    if (bill.isEmpty() || raw.isEmpty()) return 0;
+    double dot = 0;
+    double rawNorm = 0;
+    for (Map.Entry<String, Double> entry : raw.entrySet()) {
+      double weight = entry.getValue() * idf(entry.getKey());
+      rawNorm += weight * weight;
+      Double billWeight = bill.get(entry.getKey());
+      if (billWeight != null) dot += billWeight * weight;
+    }
+    if (dot == 0) return 0;
+    double billNorm = 0;
+    for (double weight : bill.values()) {
+      billNorm += weight * weight;
+    }
+    return dot / Math.sqrt(billNorm * rawNorm);
+  }
+
+  private double idf(String term) {
+    return Math.log((1.0 + documents) / (1.0 + documentFrequency.getOrDefault(term, 0))) + 1;
+  }
+
+  /** The bill's strongest log-scaled terms as a unit vector. */
+  private static Map<String, Double> topTerms(Map<String, Integer> counts) {
+    List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+    entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+        .thenComparing(Map.Entry.comparingByKey()));
+    Map<String, Double> terms = new LinkedHashMap<>();
+    double norm = 0;
+    for (Map.Entry<String, Integer> entry : entries.subList(0, Math.min(HISTORY_TERMS, entries.size()))) {
+      double weight = 1 + Math.log(entry.getValue());
+      terms.put(entry.getKey(), weight);
+      norm += weight * weight;
+    }
+    double length = Math.sqrt(norm);
+    terms.replaceAll((term, weight) -> weight / length);
+    return terms;
+  }
+
+  private void apply(String billId, int agency, Map<String, Double> terms) {
+    learned.add(billId);
+    Map<String, Double> centroid = history.get(agency);
+    terms.forEach((term, weight) -> centroid.merge(term, weight, Double::sum));
+    countDocument(terms.keySet());
+  }
+
+  private void countDocument(Set<String> terms) {
+    documents++;
+    for (String term : terms) {
+      documentFrequency.merge(term, 1, Integer::sum);
+    }
+  }
+
+  private void load() {
+    if (historyFile == null || !Files.exists(historyFile)) return;
+    int skipped = 0;
+    try {
+      for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+        if (line.isBlank()) continue;
+        try {
+          HistoryRecord record = MAPPER.readValue(line, HistoryRecord.class);
+          int agency = agencyIds.indexOf(record.agencyId);
+          if (agency < 0 || record.billId == null || record.terms == null || learned.contains(record.billId)) {
+            continue;
+          }
+          apply(record.billId, agency, record.terms);
+        } catch (IOException e) {
+          skipped++;
+        }
+      }
+    } catch (IOException e) {
+      SimulationLogger.log("[Judge] Ignoring unreadable " + historyFile + ": " + e.getMessage());
+    }
+    if (skipped > 0) {
+      SimulationLogger.log("[Judge] Skipped " + skipped + " damaged line(s) in " + historyFile + ".");
+    }
+  }
+
+  private static class HistoryRecord {
+    public String billId;
+    public String agencyId;
+    public Map<String, Double> terms;
+  }
+}
@@ -15,6 +15,7 @@ public abstract class Agent {
 
   public String id() { return id; }
   public String name() { return name; }
+  public MemoryStore memory() { return memory; }
 
   public abstract AgentOutput act(AgentContext ctx) throws Exception;
 }
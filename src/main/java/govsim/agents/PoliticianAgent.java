@@ -5,6 +5,8 @@ import govsim.llm.LLMRequestOptions;
 import govsim.llm.PromptBuilder;
 import govsim.memory.MemoryStore;
 import govsim.core.SimulationLogger;
+import govsim.metrics.Counter;
+import govsim.metrics.MetricsRegistry;
 
 public class PoliticianAgent extends Agent {
   private final PoliticianProfile profile;
@@ -12,6 +14,10 @@ public class PoliticianAgent extends Agent {
   private final PromptBuilder prompts;
   private static final int NUM_PREDICT_DEFAULT = 500;
   private static final int NUM_PREDICT_RETRY = 800;
+  private static final Counter TURNS = MetricsRegistry.global()
+      .counter("govsim_agent_turns_total", "Representative turns taken");
+  private static final Counter JSON_RETRIES = MetricsRegistry.global()
+      .counter("govsim_llm_invalid_json_retries_total", "LLM calls retried after invalid JSON", "caller", "politician");
 
   public PoliticianAgent(String id, String name, PoliticianProfile profile,
                          MemoryStore memory, LLMClient llm, PromptBuilder prompts) {
@@ -21,6 +27,11 @@ public class PoliticianAgent extends Agent {
     this.prompts = prompts;
   }
 
+  /** Same representative with a copy of the current memory. */
+  public PoliticianAgent fork() {
+    return new PoliticianAgent(id, name, profile, memory.copy(), llm, prompts);
+  }
+
   public PoliticianProfile profile() {
     return profile;
   }
@@ -40,6 +51,7 @@ public class PoliticianAgent extends Agent {
         ? prompts.buildAdvocatePrompt(this, profile, ctx, mem)
         : prompts.buildPoliticianTurnPrompt(this, profile, ctx, mem);
 
+    TURNS.inc();
     String json = llm.generateJson(prompt, LLMRequestOptions.withNumPredict(NUM_PREDICT_DEFAULT));
     try {
       AgentOutput out = AgentOutput.fromJson(json);
@@ -47,6 +59,7 @@ public class PoliticianAgent extends Agent {
       return out;
     } catch (Exception e) {
       SimulationLogger.log("[LLM] Invalid JSON from " + name + ". Retrying...");
+      JSON_RETRIES.inc();
       String retryPrompt = prompt + "\nReturn compact JSON only. No extra text.";
       String retryJson = llm.generateJson(retryPrompt, LLMRequestOptions.withNumPredict(NUM_PREDICT_RETRY));
       AgentOutput out = AgentOutput.fromJson(retryJson);
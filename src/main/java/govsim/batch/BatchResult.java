@@ -0,0 +1,19 @@
+package govsim.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** One line of results.jsonl. */
+public class BatchResult {
+  public String billId;
+  public String title;
+  public String outcome;
+  public String selectedAgencyId;
+  public List<String> topics = new ArrayList<>();
+  public double estimatedCost;
+  public long yes;
+  public long no;
+  public long abstain;
+  public double seconds;
+  public String error;
+}
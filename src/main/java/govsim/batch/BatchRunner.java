@@ -0,0 +1,184 @@
+package govsim.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.config.AgentFactory;
+import govsim.config.AgentRegistry;
+import govsim.config.FactsIndex;
+import govsim.config.FactsLoader;
+import govsim.config.InvoiceLoader;
+import govsim.config.SimulationConfig;
+import govsim.core.GraphRunner;
+import govsim.core.NodeMemo;
+import govsim.core.SimilarBills;
+import govsim.core.SimulationLogger;
+import govsim.core.SimulationState;
+import govsim.domain.Bill;
+import govsim.ingest.BillCatalog;
+import govsim.llm.BoundedLLMClient;
+import govsim.llm.LLMClient;
+import govsim.llm.OllamaClient;
+import govsim.nodes.CommitteeDeliberationNode;
+import govsim.nodes.FinalizeNode;
+import govsim.nodes.InvoiceApprovalNode;
+import govsim.nodes.JudgeAssignAgencyNode;
+import govsim.nodes.ParseBillNode;
+import govsim.nodes.PrimaryFloorDebateNode;
+import govsim.nodes.PublicForumNode;
+import govsim.nodes.ReviseFailedBillNode;
+import govsim.nodes.ThresholdDecisionNode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulates many bills in one JVM without the live server or popular vote.
+ *
+ * <p>Usage: {@code java -cp target/govsim-0.1.0-all.jar govsim.batch.BatchRunner <bills-dir|bills.jsonl> [out-dir]}.
+ * Each bill gets its own state and agent registry; all of them share one LLM client capped at
+ * {@code SIM_LLM_CONCURRENCY} requests. Results go to {@code out-dir/results.jsonl}, one line per bill, and each
+ * bill's interaction log to {@code out-dir/logs/<id>.log}.
+ */
+public class BatchRunner {
+  private final SimulationConfig config;
+  private final AgentFactory.Definitions definitions;
+  private final LLMClient llm;
+  private final NodeMemo memo;
+  private final SimilarBills similarBills;
+  private final String factsPack;
+  private final FactsIndex factsIndex;
+  private final List<InvoiceLoader.Invoice> invoices;
+  private final ExecutorService nodePool = Executors.newCachedThreadPool(r -> {
+    Thread t = new Thread(r, "batch-node");
+    t.setDaemon(true);
+    return t;
+  });
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  public BatchRunner(SimulationConfig config) throws IOException {
+    this.config = config;
+    this.definitions = AgentFactory.loadDefinitions(config);
+    this.llm = new BoundedLLMClient(new OllamaClient(config.ollamaUrl(), config.model(), config.numPredict()),
+        config.llmConcurrency());
+    this.memo = new NodeMemo("off".equalsIgnoreCase(config.memoPath()) ? null : Path.of(config.memoPath()),
+        definitions.memoSalt());
+    this.similarBills = BillCatalog.shared(BillCatalog.DEFAULT_DIR).similarBills(config.dedupThreshold());
+    List<FactsLoader.Fact> facts = new FactsLoader().load(config.factsPath());
+    this.factsPack = FactsLoader.toPromptBlock(facts);
+    this.factsIndex = new FactsIndex(facts);
+    this.invoices = List.copyOf(new InvoiceLoader().load(config.invoicesPath()));
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1) {
+      System.err.println("Usage: BatchRunner <bills-dir|bills.jsonl> [out-dir]");
+      System.exit(2);
+    }
+    Path input = Path.of(args[0]);
+    Path outDir = Path.of(args.length > 1 ? args[1] : "batch-out");
+    new BatchRunner(SimulationConfig.load()).run(BillSource.load(input), outDir);
+    System.exit(0);
+  }
+
+  public void run(List<Bill> bills, Path outDir) throws Exception {
+    Path logDir = outDir.resolve("logs");
+    Files.createDirectories(logDir);
+    Path invoiceDir = outDir.resolve("invoices");
+    int concurrency = Math.max(1, config.batchConcurrency());
+    SimulationLogger.log("[Batch] " + bills.size() + " bill(s), " + concurrency + " at a time, "
+        + Math.max(1, config.llmConcurrency()) + " concurrent LLM request(s).");
+
+    ExecutorService billPool = Executors.newFixedThreadPool(concurrency);
+    AtomicInteger finished = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+    long start = System.nanoTime();
+    try (BufferedWriter out = Files.newBufferedWriter(outDir.resolve("results.jsonl"), StandardCharsets.UTF_8)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (Bill bill : bills) {
+        futures.add(billPool.submit(() -> {
+          BatchResult result = simulate(bill, logDir, invoiceDir);
+          if (result.error != null) failed.incrementAndGet();
+          synchronized (out) {
+            out.write(mapper.writeValueAsString(result));
+            out.newLine();
+            out.flush();
+          }
+          int done = finished.incrementAndGet();
+          SimulationLogger.log("[Batch] " + done + "/" + bills.size() + " " + bill.id() + ": "
+              + (result.error != null ? "ERROR " + result.error : result.outcome));
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      billPool.shutdown();
+      nodePool.shutdown();
+    }
+    double hours = (System.nanoTime() - start) / 3.6e12;
+    double perHour = hours > 0 ? bills.size() / hours : 0;
+    SimulationLogger.log(String.format("[Batch] Done: %d bill(s), %d failed, %.1f s, %.1f bills/hour.",
+        bills.size(), failed.get(), hours * 3600, perHour));
+  }
+
+  private BatchResult simulate(Bill bill, Path logDir, Path invoiceDir) {
+    BatchResult result = new BatchResult();
+    result.billId = bill.id();
+    result.title = bill.title();
+    long start = System.nanoTime();
+    try {
+      AgentRegistry registry = AgentFactory.buildAgents(definitions, llm);
+      SimulationState state = new SimulationState();
+      state.bill = bill;
+      state.vars.put("factsPack", factsPack);
+      state.vars.put("factsIndex", factsIndex);
+      state.vars.put("invoices", invoices);
+      state.vars.put("invoicesPath", config.invoicesPath());
+
+      new GraphRunner(List.of(
+          ParseBillNode.fromConfig(llm, config),
+          new JudgeAssignAgencyNode(registry, config.judgeSkipMargin()),
+          new CommitteeDeliberationNode(registry),
+          new PrimaryFloorDebateNode(registry),
+          new PublicForumNode(),
+          new ThresholdDecisionNode(false),
+          new InvoiceApprovalNode(llm, config.invoicesPath(),
+              invoiceDir.resolve(safeFileName(bill.id()) + ".json")),
+          new ReviseFailedBillNode(registry, llm),
+          new FinalizeNode(logDir.resolve(safeFileName(bill.id()) + ".log"))
+      ), config.maxRevisions(), nodePool)
+          .loopBack("ReviseFailedBill", "CommitteeDeliberation",
+              s -> "REVISED_PENDING".equals(s.vars.get("finalOutcome")))
+          .memoize(memo)
+          .reuseNearDuplicates(similarBills, config.dedupNodes())
+          .run(state);
+
+      result.outcome = String.valueOf(state.vars.getOrDefault("finalOutcome", "UNKNOWN"));
+      result.selectedAgencyId = state.selectedAgencyId;
+      result.topics = state.bill.topics();
+      result.estimatedCost = state.bill.estimatedCost();
+      if (state.voteResult != null) {
+        result.yes = state.voteResult.yesCount();
+        result.no = state.voteResult.noCount();
+        result.abstain = state.voteResult.abstainCount();
+      }
+    } catch (Exception e) {
+      result.error = e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+    result.seconds = (System.nanoTime() - start) / 1e9;
+    return result;
+  }
+
+  private static String safeFileName(String id) {
+    return id.replaceAll("[^A-Za-z0-9._-]", "_");
+  }
+}
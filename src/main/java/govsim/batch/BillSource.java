@@ -0,0 +1,93 @@
+package govsim.batch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.config.BillLoader;
+import govsim.domain.Bill;
+import govsim.domain.BillSection;
+import govsim.ingest.BillXmlParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads bills for a batch run from a directory of .txt or Congress.gov bill .xml files, or a JSONL file of
+ * {id, title, rawText[, sections]} such as a corpus written by {@code BulkIngest}.
+ */
+public final class BillSource {
+  private BillSource() {}
+
+  public static List<Bill> load(Path input) throws IOException {
+    if (Files.isDirectory(input)) {
+      return fromDirectory(input);
+    }
+    return fromJsonl(input);
+  }
+
+  private static List<Bill> fromDirectory(Path dir) throws IOException {
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(dir)) {
+      files = listing.filter(p -> p.getFileName().toString().endsWith(".txt")
+          || p.getFileName().toString().endsWith(".xml")).sorted().toList();
+    }
+    List<Bill> bills = new ArrayList<>();
+    for (Path file : files) {
+      boolean xml = file.getFileName().toString().endsWith(".xml");
+      bills.add(xml ? fromXml(file) : BillLoader.fromFile(file.toString()));
+    }
+    return bills;
+  }
+
+  private static Bill fromXml(Path file) throws IOException {
+    List<BillSection> sections;
+    try (InputStream in = Files.newInputStream(file)) {
+      sections = BillXmlParser.parse(in);
+    }
+    if (sections.isEmpty()) {
+      throw new IOException(file + " has no bill sections");
+    }
+    String name = file.getFileName().toString();
+    String id = name.substring(0, name.length() - ".xml".length());
+    Bill bill = new Bill(id, id, BillXmlParser.toText(sections));
+    bill.setSections(sections);
+    return bill;
+  }
+
+  private static List<Bill> fromJsonl(Path file) throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    List<Bill> bills = new ArrayList<>();
+    int lineNumber = 0;
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      lineNumber++;
+      if (line.isBlank()) continue;
+      JsonNode node = mapper.readTree(line);
+      String rawText = node.path("rawText").asText(node.path("text").asText("")).trim();
+      if (rawText.isEmpty()) {
+        throw new IOException(file + ":" + lineNumber + " has no rawText");
+      }
+      String id = node.path("id").asText("line-" + lineNumber);
+      String title = node.path("title").asText("");
+      if (title.isBlank()) {
+        title = Arrays.stream(rawText.split("\\R"))
+            .map(String::trim)
+            .filter(s -> !s.isEmpty())
+            .findFirst()
+            .orElse("Untitled Bill");
+      }
+      Bill bill = new Bill(id, title, rawText);
+      if (node.path("sections").isArray()) {
+        bill.setSections(mapper.convertValue(node.path("sections"), new TypeReference<List<BillSection>>() {}));
+      }
+      bills.add(bill);
+    }
+    return bills;
+  }
+}
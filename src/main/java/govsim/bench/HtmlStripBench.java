@@ -0,0 +1,90 @@
+package govsim.bench;
+
+import govsim.ingest.HtmlStripper;
+
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Compares {@link HtmlStripper} with the regex chain it replaced on one large bill document. Reports time
+ * and bytes allocated per strip after a warm-up. Pass a saved bill HTML file (e.g. from govinfo.gov), or
+ * leave it out to strip a generated document of about 500 pages.
+ *
+ * <pre>java -cp target/govsim-0.1.0-all.jar govsim.bench.HtmlStripBench [bill.html] [iterations]</pre>
+ */
+public class HtmlStripBench {
+  public static void main(String[] args) throws Exception {
+    String html = args.length > 0 && !args[0].equals("-")
+        ? Files.readString(Path.of(args[0]), StandardCharsets.UTF_8)
+        : generate(500);
+    int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    System.out.printf("input: %.1f MB%n", html.length() / 1e6);
+
+    String expected = regex(html);
+    String actual = HtmlStripper.strip(new StringReader(html), html.length());
+    System.out.printf("output: regex %d chars, streaming %d chars%n", expected.length(), actual.length());
+
+    for (int round = 0; round < 2; round++) {
+      boolean report = round == 1;
+      measure("regex", iterations, report, () -> regex(html));
+      measure("streaming", iterations, report, () -> HtmlStripper.strip(new StringReader(html), html.length()));
+    }
+  }
+
+  private static void measure(String label, int iterations, boolean report, Strip strip) throws Exception {
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long id = Thread.currentThread().getId();
+    long bytesBefore = threads.getThreadAllocatedBytes(id);
+    long start = System.nanoTime();
+    int sink = 0;
+    for (int i = 0; i < iterations; i++) {
+      sink += strip.run().length();
+    }
+    long nanos = System.nanoTime() - start;
+    long bytes = threads.getThreadAllocatedBytes(id) - bytesBefore;
+    if (report) {
+      System.out.printf("%-9s %8.2f ms/op %10.1f MB allocated/op (%d)%n", label, nanos / 1e6 / iterations,
+          bytes / 1e6 / iterations, sink);
+    }
+  }
+
+  /** The pre-streaming implementation: four full-document regex passes. */
+  private static String regex(String body) {
+    return body
+        .replaceAll("(?is)<script.*?>.*?</script>", " ")
+        .replaceAll("(?is)<style.*?>.*?</style>", " ")
+        .replaceAll("<[^>]+>", " ")
+        .replaceAll("\\s+", " ")
+        .trim();
+  }
+
+  /** Markup shaped like a GPO bill text page: a style block, pre-formatted sections and entities. */
+  private static String generate(int pages) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("<html><head><title>H.R. 1</title><style type=\"text/css\">p { margin: 0 }</style>")
+        .append("<script>var x = '<b>';</script></head><body><pre>\n");
+    for (int page = 1; page <= pages; page++) {
+      for (int section = 1; section <= 6; section++) {
+        sb.append("<!-- page ").append(page).append(" -->\n")
+            .append("  SEC. ").append(page * 10 + section).append(". APPROPRIATIONS FOR &quot;PROGRAM ")
+            .append(section).append("&quot;.\n\n")
+            .append("    (a) In General.&mdash;There are authorized to be appropriated $")
+            .append(page * 1000 + section).append(",000,000 for fiscal year 2026 to carry out ")
+            .append("<a href=\"https://uscode.house.gov/view.xhtml?req=42+USC+").append(section)
+            .append("\">section ").append(section).append("</a> of title 42 &sect; ").append(section)
+            .append(", to remain available until expended.\n")
+            .append("    (b) Limitation.&#8212;Amounts under subsection (a) may not exceed the lesser of ")
+            .append("&lt;the amount in the prior year&gt; &amp; the cap in section ").append(section + 1)
+            .append(".\n\n");
+      }
+    }
+    return sb.append("</pre></body></html>").toString();
+  }
+
+  private interface Strip {
+    String run() throws Exception;
+  }
+}
@@ -0,0 +1,138 @@
+package govsim.bench;
+
+import govsim.core.KeywordMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Compares agency keyword routing through {@link KeywordMatcher} with the per-keyword {@code contains} loop
+ * it replaced, on one large bill and many generated agencies. Pass a bill text file, or "-" for a generated
+ * bill of about 2 MB, then the number of agencies.
+ *
+ * <pre>java -cp target/govsim-0.1.0-all.jar govsim.bench.KeywordMatchBench [bill.txt] [agencies] [iterations]</pre>
+ */
+public class KeywordMatchBench {
+  private static final int KEYWORDS_PER_AGENCY = 12;
+
+  public static void main(String[] args) throws Exception {
+    Random random = new Random(42);
+    List<String> vocabulary = vocabulary(random, 4000);
+    String text = args.length > 0 && !args[0].equals("-")
+        ? Files.readString(Path.of(args[0]), StandardCharsets.UTF_8)
+        : generate(random, vocabulary, 2_000_000);
+    int agencyCount = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+    int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+    Map<String, List<String>> keywords = agencies(random, vocabulary, agencyCount);
+    System.out.printf("input: %.1f MB, %d agencies, %d keywords%n", text.length() / 1e6, agencyCount,
+        agencyCount * KEYWORDS_PER_AGENCY);
+
+    Map<KeywordMatcher.Mode, KeywordMatcher> matchers = new LinkedHashMap<>();
+    for (KeywordMatcher.Mode mode : KeywordMatcher.Mode.values()) {
+      long start = System.nanoTime();
+      matchers.put(mode, new KeywordMatcher(keywords, mode));
+      System.out.printf("build %-9s %8.2f ms%n", mode.name().toLowerCase(Locale.ROOT),
+          (System.nanoTime() - start) / 1e6);
+    }
+    int[] expected = contains(text, keywords);
+    int[] actual = matchers.get(KeywordMatcher.Mode.SUBSTRING).score(text);
+    int differing = 0;
+    for (int i = 0; i < expected.length; i++) {
+      if (expected[i] != actual[i]) differing++;
+    }
+    // Keywords spanning punctuation ("big-tech", "... tech. Big") match once punctuation folds to a space.
+    System.out.printf("substring: %d of %d agencies scored differently from contains%n", differing, agencyCount);
+
+    for (int round = 0; round < 2; round++) {
+      boolean report = round == 1;
+      measure("contains", iterations, report, () -> contains(text, keywords));
+      for (Map.Entry<KeywordMatcher.Mode, KeywordMatcher> entry : matchers.entrySet()) {
+        KeywordMatcher matcher = entry.getValue();
+        String label = entry.getKey().name().toLowerCase(Locale.ROOT);
+        measure(label, iterations, report, () -> matcher.score(text));
+      }
+    }
+  }
+
+  private static void measure(String label, int iterations, boolean report, Score score) {
+    long start = System.nanoTime();
+    int sink = 0;
+    for (int i = 0; i < iterations; i++) {
+      sink += score.run()[0];
+    }
+    long nanos = System.nanoTime() - start;
+    if (report) System.out.printf("%-9s %8.2f ms/op (%d)%n", label, nanos / 1e6 / iterations, sink);
+  }
+
+  /** The old fallback: lowercase the bill, then one full scan per keyword per agency. */
+  private static int[] contains(String text, Map<String, List<String>> keywords) {
+    String lower = text.toLowerCase();
+    int[] scores = new int[keywords.size()];
+    int tag = 0;
+    for (List<String> agencyKeywords : keywords.values()) {
+      for (String keyword : agencyKeywords) {
+        if (lower.contains(keyword.toLowerCase())) scores[tag]++;
+      }
+      tag++;
+    }
+    return scores;
+  }
+
+  private static List<String> vocabulary(Random random, int size) {
+    List<String> words = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      StringBuilder word = new StringBuilder();
+      int length = 4 + random.nextInt(7);
+      for (int c = 0; c < length; c++) {
+        word.append((char) ('a' + random.nextInt(26)));
+      }
+      words.add(word.toString());
+    }
+    return words;
+  }
+
+  /** One- and two-word keywords, like "tariff" or "public health". */
+  private static Map<String, List<String>> agencies(Random random, List<String> vocabulary, int count) {
+    Map<String, List<String>> keywords = new LinkedHashMap<>();
+    for (int a = 0; a < count; a++) {
+      List<String> agencyKeywords = new ArrayList<>();
+      for (int k = 0; k < KEYWORDS_PER_AGENCY; k++) {
+        String keyword = vocabulary.get(random.nextInt(vocabulary.size()));
+        if (random.nextBoolean()) keyword += " " + vocabulary.get(random.nextInt(vocabulary.size()));
+        agencyKeywords.add(keyword);
+      }
+      keywords.put("agency-" + a, agencyKeywords);
+    }
+    return keywords;
+  }
+
+  /** Sentences of vocabulary words with capitals, plurals and punctuation, cut into numbered sections. */
+  private static String generate(Random random, List<String> vocabulary, int chars) {
+    StringBuilder sb = new StringBuilder(chars + 200);
+    int section = 1;
+    while (sb.length() < chars) {
+      sb.append("SEC. ").append(section++).append(". ");
+      for (int sentence = 0; sentence < 8; sentence++) {
+        int words = 8 + random.nextInt(16);
+        for (int w = 0; w < words; w++) {
+          String word = vocabulary.get(random.nextInt(vocabulary.size()));
+          if (w == 0) word = Character.toUpperCase(word.charAt(0)) + word.substring(1);
+          sb.append(word).append(random.nextInt(10) == 0 ? "s" : "").append(w == words - 1 ? ". " : " ");
+        }
+      }
+      sb.append("\n\n");
+    }
+    return sb.toString();
+  }
+
+  private interface Score {
+    int[] run();
+  }
+}
@@ -0,0 +1,119 @@
+package govsim.bench;
+
+import govsim.web.BillStore;
+import govsim.web.ChatStore;
+import govsim.web.LogStore;
+import govsim.web.PollingServer;
+import govsim.web.RepsStore;
+import govsim.web.ServerSettings;
+import govsim.web.StatusStore;
+import govsim.web.VoteBox;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the JDK and NIO transports behind {@link PollingServer}. Opens a set of idle keep-alive
+ * sockets, then hammers {@code /sync} from concurrent clients and reports throughput and latency.
+ *
+ * <pre>java -cp target/govsim-0.1.0-all.jar govsim.bench.TransportBench [idle] [clients] [seconds]</pre>
+ */
+public class TransportBench {
+  public static void main(String[] args) throws Exception {
+    int idle = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+    for (String transport : List.of("jdk", "nio")) {
+      run(transport, idle, clients, seconds);
+    }
+  }
+
+  private static void run(String transport, int idle, int clients, int seconds) throws Exception {
+    LogStore logStore = new LogStore();
+    for (int i = 0; i < 200; i++) {
+      logStore.addLine("[Floor] Representative " + i + " speaks: support (vote YES)");
+    }
+    PollingServer server = new PollingServer(new ServerSettings(0, 4096, 1024, transport), logStore, new VoteBox(),
+        new ChatStore(), new BillStore(), new RepsStore(), new StatusStore());
+    server.start();
+    List<SocketChannel> idleSockets = openIdle(server.port(), idle);
+
+    HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create("http://localhost:" + server.port() + "/sync?log=150&chat=0&status=-1&bill=-1"))
+        .GET()
+        .build();
+    long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+    AtomicLong completed = new AtomicLong();
+    AtomicLong failed = new AtomicLong();
+    List<long[]> latencies = new ArrayList<>();
+    CountDownLatch done = new CountDownLatch(clients);
+    for (int c = 0; c < clients; c++) {
+      long[] samples = new long[200_000];
+      latencies.add(samples);
+      Thread t = new Thread(() -> {
+        int n = 0;
+        try {
+          while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+              HttpResponse<byte[]> res = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+              if (res.statusCode() == 200) completed.incrementAndGet();
+              else failed.incrementAndGet();
+            } catch (IOException e) {
+              failed.incrementAndGet();
+            }
+            if (n < samples.length) samples[n++] = System.nanoTime() - start;
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          samples[samples.length - 1] = n;
+          done.countDown();
+        }
+      });
+      t.start();
+    }
+    done.await();
+
+    long[] all = latencies.stream()
+        .flatMapToLong(s -> Arrays.stream(s, 0, (int) Math.min(s[s.length - 1], s.length - 1)))
+        .sorted()
+        .toArray();
+    System.out.printf("%-4s idle=%d clients=%d: %.0f req/s, p50=%.2f ms, p99=%.2f ms, failed=%d%n",
+        transport, idleSockets.size(), clients, completed.get() / (double) seconds,
+        percentile(all, 0.50), percentile(all, 0.99), failed.get());
+
+    for (SocketChannel socket : idleSockets) socket.close();
+    server.stop();
+  }
+
+  private static List<SocketChannel> openIdle(int port, int count) {
+    List<SocketChannel> sockets = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      try {
+        sockets.add(SocketChannel.open(new InetSocketAddress("localhost", port)));
+      } catch (IOException e) {
+        System.out.println("Opened " + sockets.size() + " idle sockets before: " + e.getMessage());
+        break;
+      }
+    }
+    return sockets;
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    if (sorted.length == 0) return 0.0;
+    int idx = (int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)));
+    return sorted[idx] / 1_000_000.0;
+  }
+}
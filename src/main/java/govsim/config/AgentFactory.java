@@ -1,38 +1,109 @@
 package govsim.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.agents.AgencyClassifier;
 import govsim.agents.JudgeAgent;
 import govsim.agents.PoliticianAgent;
 import govsim.agents.PoliticianProfile;
+import govsim.core.KeywordMatcher;
+import govsim.core.SimulationLogger;
 import govsim.domain.Agency;
 import govsim.llm.LLMClient;
+import govsim.llm.PromptBudget;
 import govsim.llm.PromptBuilder;
 import govsim.memory.SimpleMemoryStore;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
 public class AgentFactory {
   public static AgentRegistry buildAllAgents(SimulationConfig config, LLMClient llm) throws IOException {
+    return buildAgents(loadDefinitions(config), llm);
+  }
+
+  /** Reads the agency and representative files once so many registries can be built from them. */
+  public static Definitions loadDefinitions(SimulationConfig config) throws IOException {
     ObjectMapper mapper = new ObjectMapper();
-    List<AgencyConfig> agencyConfigs = Arrays.asList(mapper.readValue(
-        Files.readString(Path.of(config.agenciesPath())), AgencyConfig[].class));
-    List<RepresentativeConfig> repConfigs = Arrays.asList(mapper.readValue(
-        Files.readString(Path.of(config.repsPath())), RepresentativeConfig[].class));
+    String agenciesJson = Files.readString(Path.of(config.agenciesPath()));
+    String repsJson = Files.readString(Path.of(config.repsPath()));
+    List<AgencyConfig> agencyConfigs = Arrays.asList(mapper.readValue(agenciesJson, AgencyConfig[].class));
+    List<RepresentativeConfig> repConfigs = Arrays.asList(
+        mapper.readValue(repsJson, RepresentativeConfig[].class));
 
     Map<String, RepresentativeConfig> repsById = new HashMap<>();
     for (RepresentativeConfig rc : repConfigs) {
       repsById.put(rc.id, rc);
     }
+    return new Definitions(agencyConfigs, repsById, agencyClassifier(agencyConfigs, config),
+        new PromptBudget(config.promptBudgetTokens()), config.factsTopK(),
+        memoSalt(config, agenciesJson, repsJson));
+  }
+
+  /**
+   * Everything besides state that changes what agents say: the model, the agency and representative
+   * definitions, and the settings that shape prompts and routing.
+   */
+  private static String memoSalt(SimulationConfig config, String agenciesJson, String repsJson) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update(agenciesJson.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    digest.update(repsJson.getBytes(StandardCharsets.UTF_8));
+    StringBuilder agents = new StringBuilder();
+    for (byte b : Arrays.copyOf(digest.digest(), 8)) {
+      agents.append(String.format("%02x", b));
+    }
+    return String.join("|", config.model(), String.valueOf(config.numPredict()), agents,
+        "budget=" + config.promptBudgetTokens(), "facts=" + config.factsTopK(),
+        "match=" + config.keywordMatch().trim().toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * One keyword automaton and one routing history for every agency, shared by all registries built from the
+   * definitions so each bill's routing teaches the next.
+   */
+  private static AgencyClassifier agencyClassifier(List<AgencyConfig> agencyConfigs, SimulationConfig config) {
+    String matchMode = config.keywordMatch();
+    KeywordMatcher.Mode mode;
+    try {
+      mode = KeywordMatcher.Mode.valueOf(matchMode.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      SimulationLogger.log("[Agents] Unknown SIM_KEYWORD_MATCH '" + matchMode + "'. Using stem.");
+      mode = KeywordMatcher.Mode.STEM;
+    }
+    Map<String, List<String>> keywords = new LinkedHashMap<>();
+    Map<String, String> profiles = new HashMap<>();
+    for (AgencyConfig agencyCfg : agencyConfigs) {
+      List<String> scope = agencyCfg.scopeKeywords == null ? List.of() : agencyCfg.scopeKeywords;
+      keywords.put(agencyCfg.id, scope);
+      profiles.put(agencyCfg.id, agencyCfg.name + " " + String.join(" ", scope));
+    }
+    String historyPath = config.routingHistoryPath();
+    return new AgencyClassifier(new KeywordMatcher(keywords, mode), profiles,
+        "off".equalsIgnoreCase(historyPath) ? null : Path.of(historyPath));
+  }
 
+  /** Builds a registry with fresh agent memories. */
+  public static AgentRegistry buildAgents(Definitions definitions, LLMClient llm) {
+    List<AgencyConfig> agencyConfigs = definitions.agencyConfigs;
+    Map<String, RepresentativeConfig> repsById = definitions.repsById;
     Map<String, Agency> agencies = new HashMap<>();
-    PromptBuilder prompts = new PromptBuilder();
+    PromptBuilder prompts = new PromptBuilder(definitions.promptBudget, definitions.factsTopK);
     Map<String, PoliticianAgent> repAgents = new HashMap<>();
 
     for (AgencyConfig agencyCfg : agencyConfigs) {
@@ -73,7 +144,32 @@ public class AgentFactory {
     }
 
     JudgeAgent judge = new JudgeAgent(llm, prompts);
-    return new AgentRegistry(agencies, repAgents, judge);
+    return new AgentRegistry(agencies, repAgents, judge, definitions.agencyClassifier);
+  }
+
+  public static class Definitions {
+    private final List<AgencyConfig> agencyConfigs;
+    private final Map<String, RepresentativeConfig> repsById;
+    private final AgencyClassifier agencyClassifier;
+    private final PromptBudget promptBudget;
+    private final int factsTopK;
+    private final String memoSalt;
+
+    private Definitions(List<AgencyConfig> agencyConfigs, Map<String, RepresentativeConfig> repsById,
+                        AgencyClassifier agencyClassifier, PromptBudget promptBudget, int factsTopK,
+                        String memoSalt) {
+      this.agencyConfigs = agencyConfigs;
+      this.repsById = repsById;
+      this.agencyClassifier = agencyClassifier;
+      this.promptBudget = promptBudget;
+      this.factsTopK = factsTopK;
+      this.memoSalt = memoSalt;
+    }
+
+    /** Salt for {@link govsim.core.NodeMemo}, so memo entries made under other agents or settings miss. */
+    public String memoSalt() {
+      return memoSalt;
+    }
   }
 
   private static class AgencyConfig {
@@ -1,23 +1,53 @@
 package govsim.config;
 
+import govsim.agents.AgencyClassifier;
 import govsim.agents.JudgeAgent;
 import govsim.agents.PoliticianAgent;
+import govsim.core.KeywordMatcher;
 import govsim.domain.Agency;
+import govsim.memory.MemoryStore;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public class AgentRegistry {
   private final Map<String, Agency> agencies;
   private final Map<String, PoliticianAgent> reps;
   private final JudgeAgent judge;
+  private final AgencyClassifier agencyClassifier;
 
+  /** Builds a keyword matcher and an in-memory classifier for {@code agencies}. */
   public AgentRegistry(Map<String, Agency> agencies,
                        Map<String, PoliticianAgent> reps,
                        JudgeAgent judge) {
+    this(agencies, reps, judge, new AgencyClassifier(
+        new KeywordMatcher(agencies.values().stream().collect(Collectors.toMap(
+            Agency::id, Agency::scopeKeywords, (a, b) -> a, LinkedHashMap::new)), KeywordMatcher.Mode.STEM),
+        agencies.values().stream().collect(Collectors.toMap(
+            Agency::id, a -> a.name() + " " + String.join(" ", a.scopeKeywords()))),
+        null));
+  }
+
+  /** @param agencyClassifier local router over {@code agencies}, tagged by agency id */
+  public AgentRegistry(Map<String, Agency> agencies,
+                       Map<String, PoliticianAgent> reps,
+                       JudgeAgent judge,
+                       AgencyClassifier agencyClassifier) {
     this.agencies = agencies;
     this.reps = reps;
     this.judge = judge;
+    this.agencyClassifier = agencyClassifier;
+  }
+
+  /** Registry for a parallel replica: agencies and judge are shared, each rep gets its own memory copy. */
+  public AgentRegistry fork() {
+    Map<String, PoliticianAgent> forked = new LinkedHashMap<>();
+    for (Map.Entry<String, PoliticianAgent> entry : reps.entrySet()) {
+      forked.put(entry.getKey(), entry.getValue().fork());
+    }
+    return new AgentRegistry(agencies, forked, judge, agencyClassifier);
   }
 
   public Collection<Agency> agencies() { return agencies.values(); }
@@ -25,4 +55,28 @@ public class AgentRegistry {
   public Collection<PoliticianAgent> allReps() { return reps.values(); }
   public PoliticianAgent repById(String id) { return reps.get(id); }
   public JudgeAgent judge() { return judge; }
+  public KeywordMatcher agencyMatcher() { return agencyClassifier.matcher(); }
+  public AgencyClassifier agencyClassifier() { return agencyClassifier; }
+
+  /** Each representative's memory, keyed by rep id. */
+  public Map<String, MemoryStore> memories() {
+    Map<String, MemoryStore> memories = new LinkedHashMap<>();
+    reps.forEach((id, rep) -> memories.put(id, rep.memory()));
+    return memories;
+  }
+
+  /** Each representative's {@link MemoryStore#snapshot}, keyed by rep id. */
+  public Map<String, Object> memorySnapshot() {
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    reps.forEach((id, rep) -> snapshot.put(id, rep.memory().snapshot()));
+    return snapshot;
+  }
+
+  /** Loads a {@link #memorySnapshot}; reps it does not cover keep what they remember. */
+  @SuppressWarnings("unchecked")
+  public void restoreMemories(Map<?, ?> snapshot) {
+    reps.forEach((id, rep) -> {
+      if (snapshot.get(id) instanceof Map<?, ?> memory) rep.memory().restore((Map<String, Object>) memory);
+    });
+  }
 }
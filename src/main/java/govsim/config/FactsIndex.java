@@ -0,0 +1,99 @@
+package govsim.config;
+
+import govsim.ingest.BillAnalyzer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * BM25 retrieval over the facts corpus, so each representative turn gets only the facts that bear on the bill
+ * and the speaker instead of the whole pack. The inverted index is built once when facts are loaded; a query
+ * only walks the postings of its own terms. Terms are {@link BillAnalyzer#termCounts} content words, so
+ * "tariffs" finds "tariff" and stopwords never match.
+ */
+public final class FactsIndex {
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  private final List<FactsLoader.Fact> facts = new ArrayList<>();
+  // term -> {fact indexes, term frequencies}
+  private final Map<String, int[][]> postings = new HashMap<>();
+  private final int[] lengths;
+  private final double averageLength;
+
+  public FactsIndex(List<FactsLoader.Fact> corpus) {
+    Map<String, List<int[]>> building = new HashMap<>();
+    List<Integer> sizes = new ArrayList<>();
+    for (FactsLoader.Fact fact : corpus) {
+      if (fact == null || fact.text == null || fact.text.isBlank()) continue;
+      int doc = facts.size();
+      facts.add(fact);
+      String source = fact.source == null ? "" : fact.source;
+      Map<String, Integer> counts = BillAnalyzer.termCounts(fact.text + " " + source);
+      int length = 0;
+      for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+        building.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(new int[] {doc, entry.getValue()});
+        length += entry.getValue();
+      }
+      sizes.add(length);
+    }
+    for (Map.Entry<String, List<int[]>> entry : building.entrySet()) {
+      List<int[]> list = entry.getValue();
+      int[][] posting = new int[2][list.size()];
+      for (int i = 0; i < list.size(); i++) {
+        posting[0][i] = list.get(i)[0];
+        posting[1][i] = list.get(i)[1];
+      }
+      postings.put(entry.getKey(), posting);
+    }
+    lengths = sizes.stream().mapToInt(Integer::intValue).toArray();
+    double total = 0;
+    for (int length : lengths) {
+      total += length;
+    }
+    averageLength = lengths.length == 0 ? 1 : Math.max(1, total / lengths.length);
+  }
+
+  public int size() {
+    return facts.size();
+  }
+
+  public List<FactsLoader.Fact> all() {
+    return facts;
+  }
+
+  /** Up to {@code k} facts sharing terms with {@code query}, best first. */
+  public List<FactsLoader.Fact> search(String query, int k) {
+    List<FactsLoader.Fact> hits = new ArrayList<>();
+    if (k <= 0 || facts.isEmpty()) return hits;
+    double[] scores = new double[facts.size()];
+    List<Integer> touched = new ArrayList<>();
+    int n = facts.size();
+    for (String term : BillAnalyzer.termCounts(query).keySet()) {
+      int[][] posting = postings.get(term);
+      if (posting == null) continue;
+      int df = posting[0].length;
+      double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+      for (int i = 0; i < df; i++) {
+        int doc = posting[0][i];
+        int tf = posting[1][i];
+        if (scores[doc] == 0) touched.add(doc);
+        scores[doc] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * lengths[doc] / averageLength));
+      }
+    }
+    // Min-heap of the best k; ties go to the earlier fact so results are stable.
+    PriorityQueue<Integer> best = new PriorityQueue<>((a, b) -> scores[a] != scores[b]
+        ? Double.compare(scores[a], scores[b]) : Integer.compare(b, a));
+    for (int doc : touched) {
+      best.add(doc);
+      if (best.size() > k) best.poll();
+    }
+    while (!best.isEmpty()) {
+      hits.add(0, facts.get(best.poll()));
+    }
+    return hits;
+  }
+}
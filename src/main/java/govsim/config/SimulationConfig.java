@@ -5,43 +5,133 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Properties;
+import java.util.Set;
 
 public class SimulationConfig {
   private final String ollamaUrl;
   private final String model;
   private final int numPredict;
   private final int serverPort;
+  private final int serverBacklog;
+  private final int serverMaxConcurrent;
+  private final String serverTransport;
   private final int maxRevisions;
   private final String factsPath;
   private final String billPath;
   private final String agenciesPath;
   private final String repsPath;
   private final String invoicesPath;
+  private final String memoPath;
+  private final int batchConcurrency;
+  private final int llmConcurrency;
+  private final String ollamaKeepAlive;
+  private final int daemonIntervalSeconds;
+  private final int voteWindowSeconds;
+  private final int prefetchDepth;
+  private final int billQueueSize;
+  private final String httpCachePath;
+  private final int congressConcurrency;
+  private final double congressRatePerSecond;
+  private final int ingestWorkers;
+  private final double dedupThreshold;
+  private final boolean dedupReuseVotes;
+  private final int parseChunkChars;
+  private final String parseMode;
+  private final double parseMinConfidence;
+  private final String keywordMatch;
+  private final double judgeSkipMargin;
+  private final String routingHistoryPath;
+  private final int promptBudgetTokens;
+  private final int factsTopK;
 
-  public SimulationConfig(String ollamaUrl, String model, int numPredict, int serverPort, int maxRevisions, String factsPath,
-                          String billPath, String agenciesPath, String repsPath, String invoicesPath) {
+  public SimulationConfig(String ollamaUrl, String model, int numPredict, int serverPort, int serverBacklog,
+                          int serverMaxConcurrent, String serverTransport, int maxRevisions, String factsPath,
+                          String billPath, String agenciesPath, String repsPath, String invoicesPath,
+                          String memoPath, int batchConcurrency, int llmConcurrency, String ollamaKeepAlive,
+                          int daemonIntervalSeconds, int voteWindowSeconds, int prefetchDepth,
+                          int billQueueSize, String httpCachePath, int congressConcurrency,
+                          double congressRatePerSecond, int ingestWorkers, double dedupThreshold,
+                          boolean dedupReuseVotes, int parseChunkChars, String parseMode,
+                          double parseMinConfidence, String keywordMatch, double judgeSkipMargin,
+                          String routingHistoryPath, int promptBudgetTokens, int factsTopK) {
     this.ollamaUrl = ollamaUrl;
     this.model = model;
     this.numPredict = numPredict;
     this.serverPort = serverPort;
+    this.serverBacklog = serverBacklog;
+    this.serverMaxConcurrent = serverMaxConcurrent;
+    this.serverTransport = serverTransport;
     this.maxRevisions = maxRevisions;
     this.factsPath = factsPath;
     this.billPath = billPath;
     this.agenciesPath = agenciesPath;
     this.repsPath = repsPath;
     this.invoicesPath = invoicesPath;
+    this.memoPath = memoPath;
+    this.batchConcurrency = batchConcurrency;
+    this.llmConcurrency = llmConcurrency;
+    this.ollamaKeepAlive = ollamaKeepAlive;
+    this.daemonIntervalSeconds = daemonIntervalSeconds;
+    this.voteWindowSeconds = voteWindowSeconds;
+    this.prefetchDepth = prefetchDepth;
+    this.billQueueSize = billQueueSize;
+    this.httpCachePath = httpCachePath;
+    this.congressConcurrency = congressConcurrency;
+    this.congressRatePerSecond = congressRatePerSecond;
+    this.ingestWorkers = ingestWorkers;
+    this.dedupThreshold = dedupThreshold;
+    this.dedupReuseVotes = dedupReuseVotes;
+    this.parseChunkChars = parseChunkChars;
+    this.parseMode = parseMode;
+    this.parseMinConfidence = parseMinConfidence;
+    this.keywordMatch = keywordMatch;
+    this.judgeSkipMargin = judgeSkipMargin;
+    this.routingHistoryPath = routingHistoryPath;
+    this.promptBudgetTokens = promptBudgetTokens;
+    this.factsTopK = factsTopK;
   }
 
   public String ollamaUrl() { return ollamaUrl; }
   public String model() { return model; }
   public int numPredict() { return numPredict; }
   public int serverPort() { return serverPort; }
+  public int serverBacklog() { return serverBacklog; }
+  public int serverMaxConcurrent() { return serverMaxConcurrent; }
+  public String serverTransport() { return serverTransport; }
   public int maxRevisions() { return maxRevisions; }
   public String factsPath() { return factsPath; }
   public String billPath() { return billPath; }
   public String agenciesPath() { return agenciesPath; }
   public String repsPath() { return repsPath; }
   public String invoicesPath() { return invoicesPath; }
+  public String memoPath() { return memoPath; }
+  public int batchConcurrency() { return batchConcurrency; }
+  public int llmConcurrency() { return llmConcurrency; }
+  public String ollamaKeepAlive() { return ollamaKeepAlive; }
+  public int daemonIntervalSeconds() { return daemonIntervalSeconds; }
+  public int voteWindowSeconds() { return voteWindowSeconds; }
+  public int prefetchDepth() { return prefetchDepth; }
+  public int billQueueSize() { return billQueueSize; }
+  public String httpCachePath() { return httpCachePath; }
+  public int congressConcurrency() { return congressConcurrency; }
+  public double congressRatePerSecond() { return congressRatePerSecond; }
+  public int ingestWorkers() { return ingestWorkers; }
+  public double dedupThreshold() { return dedupThreshold; }
+  public boolean dedupReuseVotes() { return dedupReuseVotes; }
+  public int parseChunkChars() { return parseChunkChars; }
+  public String parseMode() { return parseMode; }
+  public double parseMinConfidence() { return parseMinConfidence; }
+  public String keywordMatch() { return keywordMatch; }
+  public double judgeSkipMargin() { return judgeSkipMargin; }
+  public String routingHistoryPath() { return routingHistoryPath; }
+  public int promptBudgetTokens() { return promptBudgetTokens; }
+  public int factsTopK() { return factsTopK; }
+
+  /** Nodes whose outputs a near-duplicate bill may reuse: analysis always, the floor vote if enabled. */
+  public Set<String> dedupNodes() {
+    return dedupReuseVotes ? Set.of("ParseBill", "JudgeAssignAgency", "PrimaryFloorDebate")
+        : Set.of("ParseBill", "JudgeAssignAgency");
+  }
 
   public static SimulationConfig load() throws IOException {
     Properties props = new Properties();
@@ -56,15 +146,49 @@ public class SimulationConfig {
     String model = getValue(props, "model", "SIM_MODEL", "gemma2:2b");
     int numPredict = getIntValue(props, "num_predict", "SIM_NUM_PREDICT", 600);
     int serverPort = getIntValue(props, "server.port", "SIM_SERVER_PORT", 8080);
+    int serverBacklog = getIntValue(props, "server.backlog", "SIM_SERVER_BACKLOG", 256);
+    int serverMaxConcurrent = getIntValue(props, "server.max_concurrent", "SIM_SERVER_MAX_CONCURRENT", 64);
+    String serverTransport = getValue(props, "server.transport", "SIM_SERVER_TRANSPORT", "jdk");
     int maxRevisions = getIntValue(props, "max_revisions", "SIM_MAX_REVISIONS", 1);
     String factsPath = getValue(props, "facts.path", "SIM_FACTS_PATH", "config/facts.json");
     String billPath = getValue(props, "bill.path", "SIM_BILL_PATH", "config/bill.txt");
     String agenciesPath = getValue(props, "agencies.path", "SIM_AGENCIES_PATH", "config/agencies.json");
     String repsPath = getValue(props, "reps.path", "SIM_REPS_PATH", "config/representatives.json");
     String invoicesPath = getValue(props, "invoices.path", "SIM_INVOICES_PATH", "config/invoices.json");
+    String memoPath = getValue(props, "memo.path", "SIM_MEMO_PATH", ".govsim_memo");
+    int batchConcurrency = getIntValue(props, "batch.concurrency", "SIM_BATCH_CONCURRENCY", 4);
+    int llmConcurrency = getIntValue(props, "llm.concurrency", "SIM_LLM_CONCURRENCY", 2);
+    String ollamaKeepAlive = getValue(props, "ollama.keep_alive", "SIM_OLLAMA_KEEP_ALIVE", "");
+    int daemonIntervalSeconds = getIntValue(props, "daemon.interval_seconds", "SIM_DAEMON_INTERVAL_SECONDS", 60);
+    int voteWindowSeconds = getIntValue(props, "vote.window_seconds", "SIM_VOTE_WINDOW_SECONDS", 60);
+    int prefetchDepth = getIntValue(props, "daemon.prefetch_depth", "SIM_PREFETCH_DEPTH", 1);
+    int billQueueSize = getIntValue(props, "bill_queue.size", "SIM_BILL_QUEUE_SIZE", 3);
+    String httpCachePath = getValue(props, "http_cache.path", "SIM_HTTP_CACHE_PATH", ".govsim_http_cache");
+    int congressConcurrency = getIntValue(props, "congress.concurrency", "SIM_CONGRESS_CONCURRENCY", 4);
+    double congressRatePerSecond = getDoubleValue(props, "congress.rate_per_second",
+        "SIM_CONGRESS_RATE_PER_SECOND", 1.3);
+    int ingestWorkers = getIntValue(props, "ingest.workers", "SIM_INGEST_WORKERS",
+        Runtime.getRuntime().availableProcessors());
+    double dedupThreshold = getDoubleValue(props, "dedup.threshold", "SIM_DEDUP_THRESHOLD", 0.9);
+    boolean dedupReuseVotes = getBooleanValue(props, "dedup.reuse_votes", "SIM_DEDUP_REUSE_VOTES", false);
+    int parseChunkChars = getIntValue(props, "parse.chunk_chars", "SIM_PARSE_CHUNK_CHARS", 6000);
+    String parseMode = getValue(props, "parse.mode", "SIM_PARSE_MODE", "llm");
+    double parseMinConfidence = getDoubleValue(props, "parse.min_confidence", "SIM_PARSE_MIN_CONFIDENCE",
+        0.6);
+    String keywordMatch = getValue(props, "keyword.match", "SIM_KEYWORD_MATCH", "stem");
+    double judgeSkipMargin = getDoubleValue(props, "judge.skip_margin", "SIM_JUDGE_SKIP_MARGIN", 0.4);
+    String routingHistoryPath = getValue(props, "routing_history.path", "SIM_ROUTING_HISTORY_PATH",
+        ".govsim_routing.jsonl");
+    int promptBudgetTokens = getIntValue(props, "prompt.budget_tokens", "SIM_PROMPT_BUDGET_TOKENS", 3000);
+    int factsTopK = getIntValue(props, "facts.top_k", "SIM_FACTS_TOP_K", 8);
 
-    return new SimulationConfig(ollamaUrl, model, numPredict, serverPort, maxRevisions, factsPath,
-        billPath, agenciesPath, repsPath, invoicesPath);
+    return new SimulationConfig(ollamaUrl, model, numPredict, serverPort, serverBacklog, serverMaxConcurrent,
+        serverTransport, maxRevisions, factsPath,
+        billPath, agenciesPath, repsPath, invoicesPath, memoPath,
+        batchConcurrency, llmConcurrency, ollamaKeepAlive, daemonIntervalSeconds, voteWindowSeconds,
+        prefetchDepth, billQueueSize, httpCachePath, congressConcurrency, congressRatePerSecond,
+        ingestWorkers, dedupThreshold, dedupReuseVotes, parseChunkChars, parseMode, parseMinConfidence,
+        keywordMatch, judgeSkipMargin, routingHistoryPath, promptBudgetTokens, factsTopK);
   }
 
   private static String getValue(Properties props, String key, String envKey, String defaultValue) {
@@ -94,4 +218,19 @@ public class SimulationConfig {
     }
     return defaultValue;
   }
+
+  private static double getDoubleValue(Properties props, String key, String envKey, double defaultValue) {
+    String value = getValue(props, key, envKey, null);
+    if (value == null) return defaultValue;
+    try {
+      return Double.parseDouble(value);
+    } catch (NumberFormatException ignored) {
+      return defaultValue;
+    }
+  }
+
+  private static boolean getBooleanValue(Properties props, String key, String envKey, boolean defaultValue) {
+    String value = getValue(props, key, envKey, null);
+    return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+  }
 }
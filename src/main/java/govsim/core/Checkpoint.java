@@ -0,0 +1,160 @@
+package govsim.core;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.agents.AgentOutput;
+import govsim.domain.Bill;
+import govsim.domain.BillSection;
+import govsim.domain.Vote;
+import govsim.domain.VoteResult;
+import govsim.memory.MemoryStore;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON snapshot of {@link SimulationState} between nodes, plus which nodes have completed and what each
+ * agent remembers. Services kept in {@code vars} (stores, loaded invoices) are skipped; only plain JSON
+ * values are saved.
+ */
+public class Checkpoint {
+  public static final String DEFAULT_FILE = ".govsim_checkpoint.json";
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  public Set<String> completedNodes = new LinkedHashSet<>();
+  public int revisionCount;
+
+  public String billId;
+  public String billTitle;
+  public String billRawText;
+  public List<String> billTopics = new ArrayList<>();
+  public double billEstimatedCost;
+  public Map<String, Object> billAttributes = new HashMap<>();
+  public List<BillSection> billSections = new ArrayList<>();
+
+  public String selectedAgencyId;
+  public String billOnePager = "";
+  public String floorSummary = "";
+  public Map<String, AgentOutput> lastTurnOutputs = new LinkedHashMap<>();
+  public Map<String, Vote> votes;
+  public List<String> interactionLog = new ArrayList<>();
+  public Map<String, Object> vars = new LinkedHashMap<>();
+  public Map<String, Map<String, Object>> memories = new LinkedHashMap<>();
+
+  public static Checkpoint capture(SimulationState state, Set<String> completedNodes, int revisionCount) {
+    return capture(state, completedNodes, revisionCount, Map.of());
+  }
+
+  /** @param memories agent memories to save, keyed by agent id */
+  public static Checkpoint capture(SimulationState state, Set<String> completedNodes, int revisionCount,
+                                   Map<String, MemoryStore> memories) {
+    Checkpoint cp = new Checkpoint();
+    cp.completedNodes = new LinkedHashSet<>(completedNodes);
+    cp.revisionCount = revisionCount;
+    if (state.bill != null) {
+      cp.billId = state.bill.id();
+      cp.billTitle = state.bill.title();
+      cp.billRawText = state.bill.rawText();
+      cp.billTopics = new ArrayList<>(state.bill.topics());
+      cp.billEstimatedCost = state.bill.estimatedCost();
+      cp.billAttributes = plainMap(state.bill.attributes());
+      cp.billSections = new ArrayList<>(state.bill.sections());
+    }
+    cp.selectedAgencyId = state.selectedAgencyId;
+    cp.billOnePager = state.billOnePager;
+    cp.floorSummary = state.floorSummary;
+    cp.lastTurnOutputs = new LinkedHashMap<>(state.lastTurnOutputs);
+    if (state.voteResult != null) {
+      cp.votes = new LinkedHashMap<>(state.voteResult.votesByRepId());
+    }
+    cp.interactionLog = new ArrayList<>(state.interactionLog.entries());
+    cp.vars = plainMap(state.vars);
+    memories.forEach((id, memory) -> cp.memories.put(id, plainMap(memory.snapshot())));
+    return cp;
+  }
+
+  /** Copies the saved values onto {@code state}, leaving services already in {@code vars} in place. */
+  public void restore(SimulationState state) {
+    if (billId != null) {
+      Bill bill = new Bill(billId, billTitle, billRawText);
+      bill.setTopics(new ArrayList<>(billTopics));
+      bill.setEstimatedCost(billEstimatedCost);
+      bill.setAttributes(new HashMap<>(billAttributes));
+      bill.setSections(billSections == null ? new ArrayList<>() : new ArrayList<>(billSections));
+      state.bill = bill;
+    }
+    state.selectedAgencyId = selectedAgencyId;
+    state.billOnePager = billOnePager == null ? "" : billOnePager;
+    state.floorSummary = floorSummary == null ? "" : floorSummary;
+    state.lastTurnOutputs = new HashMap<>(lastTurnOutputs);
+    state.voteResult = votes == null ? null : new VoteResult(new HashMap<>(votes));
+    state.interactionLog = new InteractionLog();
+    for (String entry : interactionLog) {
+      state.interactionLog.add(entry);
+    }
+    for (Map.Entry<String, Object> entry : vars.entrySet()) {
+      if (entry.getValue() != null) state.vars.put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** Puts saved memories back into the matching agents'; agents the checkpoint doesn't know keep theirs. */
+  public void restoreMemories(Map<String, MemoryStore> agents) {
+    if (memories == null) return;
+    memories.forEach((id, snapshot) -> {
+      MemoryStore memory = agents.get(id);
+      if (memory != null && snapshot != null) memory.restore(snapshot);
+    });
+  }
+
+  public void save(Path path) throws IOException {
+    Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+    Files.writeString(tmp, MAPPER.writeValueAsString(this), StandardCharsets.UTF_8);
+    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /** @return the saved checkpoint, or null if none exists */
+  public static Checkpoint load(Path path) throws IOException {
+    if (!Files.exists(path)) return null;
+    return MAPPER.readValue(Files.readString(path, StandardCharsets.UTF_8), Checkpoint.class);
+  }
+
+  private static Map<String, Object> plainMap(Map<String, Object> source) {
+    Map<String, Object> out = new LinkedHashMap<>();
+    for (Map.Entry<String, Object> entry : source.entrySet()) {
+      if (isPlain(entry.getValue())) {
+        out.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return out;
+  }
+
+  private static boolean isPlain(Object value) {
+    if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+      return true;
+    }
+    if (value instanceof List<?> list) {
+      for (Object item : list) {
+        if (!isPlain(item)) return false;
+      }
+      return true;
+    }
+    if (value instanceof Map<?, ?> map) {
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        if (!(entry.getKey() instanceof String) || !isPlain(entry.getValue())) return false;
+      }
+      return true;
+    }
+    return false;
+  }
+}
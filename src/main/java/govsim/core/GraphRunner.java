@@ -1,16 +1,103 @@
 package govsim.core;
 
+import govsim.memory.MemoryStore;
+import govsim.metrics.Counter;
+import govsim.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
 
+/**
+ * Runs the pipeline as a dependency graph. The node list gives the logical order; a node waits only
+ * for earlier nodes whose declared reads/writes conflict with its own, so independent nodes run
+ * concurrently. Loops are expressed as conditional back-edges: when the source node finishes and its
+ * condition holds, every node from the target onward is scheduled again.
+ *
+ * <p>With {@link #checkpointTo} set, the state is saved whenever a node finishes and nothing else is
+ * running; {@link #resumeFrom} skips the nodes a saved checkpoint recorded as complete. Agent memories
+ * given to {@link #checkpointMemories} are saved and restored along with the state.
+ */
 public class GraphRunner {
+  private static final Counter REVISIONS = MetricsRegistry.global()
+      .counter("govsim_pipeline_revisions_total", "Pipeline reruns triggered by bill revisions");
   private final List<Node> nodes;
   private final int maxRevisions;
+  private final List<BackEdge> backEdges = new ArrayList<>();
+  private final ExecutorService executor;
+  private Path checkpointPath;
+  private Checkpoint resumeFrom;
+  private Map<String, MemoryStore> memories = Map.of();
+  private NodeMemo memo;
+  private SimilarBills similarBills;
+  private final Set<String> reuseNodes = new LinkedHashSet<>();
+  private final Set<String> completedAtStart = new LinkedHashSet<>();
 
   public GraphRunner(List<Node> nodes, int maxRevisions) {
+    this(nodes, maxRevisions, null);
+  }
+
+  /** @param executor pool for node execution, or null to use a private pool per run */
+  public GraphRunner(List<Node> nodes, int maxRevisions, ExecutorService executor) {
     this.nodes = nodes;
     this.maxRevisions = Math.max(0, maxRevisions);
+    this.executor = executor;
+  }
+
+  /** After {@code from} completes, rerun from {@code to} onward if {@code condition} holds. */
+  public GraphRunner loopBack(String from, String to, Predicate<SimulationState> condition) {
+    backEdges.add(new BackEdge(from, to, condition));
+    return this;
+  }
+
+  public GraphRunner checkpointTo(Path path) {
+    this.checkpointPath = path;
+    return this;
+  }
+
+  /** Save these agent memories, keyed by agent id, in each checkpoint and restore them on resume. */
+  public GraphRunner checkpointMemories(Map<String, MemoryStore> memories) {
+    this.memories = memories;
+    return this;
+  }
+
+  /** Skip nodes already completed in {@code checkpoint}; its values must already be restored onto the state. */
+  public GraphRunner resumeFrom(Checkpoint checkpoint) {
+    this.resumeFrom = checkpoint;
+    return this;
+  }
+
+  /** Treat these nodes as already run, e.g. because their outputs were computed ahead of time. */
+  public GraphRunner skip(Set<String> nodeNames) {
+    completedAtStart.addAll(nodeNames);
+    return this;
+  }
+
+  /** Skip memoizable nodes whose inputs match a previous run. */
+  public GraphRunner memoize(NodeMemo memo) {
+    this.memo = memo;
+    return this;
+  }
+
+  /**
+   * When one of {@code nodeNames} misses the memo, restore the outputs it recorded for the most similar
+   * earlier bill {@code similar} finds, if any. Needs {@link #memoize}.
+   */
+  public GraphRunner reuseNearDuplicates(SimilarBills similar, Set<String> nodeNames) {
+    this.similarBills = similar;
+    reuseNodes.addAll(nodeNames);
+    return this;
   }
 
   public void run(SimulationState state) throws Exception {
@@ -18,38 +105,229 @@ public class GraphRunner {
     for (int i = 0; i < nodes.size(); i++) {
       indexByName.put(nodes.get(i).name(), i);
     }
+    List<List<Integer>> deps = buildDependencies();
 
+    ExecutorService pool = executor != null ? executor : Executors.newCachedThreadPool(r -> {
+      Thread t = new Thread(r, "graph-node");
+      t.setDaemon(true);
+      return t;
+    });
+    CompletionService<Finished> completion = new ExecutorCompletionService<>(pool);
+    boolean[] done = new boolean[nodes.size()];
+    boolean[] running = new boolean[nodes.size()];
+    int inFlight = 0;
     int revisionCount = 0;
     for (int i = 0; i < nodes.size(); i++) {
-      Node n = nodes.get(i);
-      String stageName = prettyStageName(n.name()) + " Stage";
-      updateStage(state, stageName, true);
-      SimulationLogger.log("==> Running: " + n.name());
-      n.run(state);
-      SimulationLogger.log("==> Done: " + n.name());
-      updateStage(state, stageName, false);
-
-      Object rerunFrom = state.vars.remove("rerunFromNode");
-      if (rerunFrom != null) {
-        String target = rerunFrom.toString();
-        Integer targetIndex = indexByName.get(target);
-        if (targetIndex == null) {
-          SimulationLogger.log("[Loop] Unknown node: " + target);
-          continue;
+      done[i] = completedAtStart.contains(nodes.get(i).name());
+    }
+    if (resumeFrom != null) {
+      for (int i = 0; i < nodes.size(); i++) {
+        done[i] |= resumeFrom.completedNodes.contains(nodes.get(i).name());
+      }
+      revisionCount = resumeFrom.revisionCount;
+      resumeFrom.restoreMemories(memories);
+      SimulationLogger.log("[Checkpoint] Resuming with " + resumeFrom.completedNodes.size() + " completed node(s).");
+    }
+    Exception failure = null;
+    try {
+      while (true) {
+        if (failure == null) {
+          for (int i = 0; i < nodes.size(); i++) {
+            if (done[i] || running[i] || !ready(deps.get(i), done)) continue;
+            running[i] = true;
+            inFlight++;
+            int index = i;
+            completion.submit(SimulationLogger.propagate(() -> {
+              try {
+                runNode(state, nodes.get(index));
+                return new Finished(index, null);
+              } catch (Exception e) {
+                return new Finished(index, e);
+              }
+            }));
+          }
+        }
+        if (inFlight == 0) break;
+
+        Finished finished = completion.take().get();
+        inFlight--;
+        int index = finished.index();
+        failure = settle(finished, running, done, failure);
+        if (failure != null) continue;
+
+        for (BackEdge edge : backEdges) {
+          if (!edge.from.equals(nodes.get(index).name()) || !edge.condition.test(state)) continue;
+          Integer targetIndex = indexByName.get(edge.to);
+          if (targetIndex == null) {
+            SimulationLogger.log("[Loop] Unknown node: " + edge.to);
+            continue;
+          }
+          if (revisionCount >= maxRevisions) {
+            SimulationLogger.log("[Loop] Max revisions reached. Skipping rerun.");
+            continue;
+          }
+          // Let anything still running finish before rewinding so the rerun sees settled state.
+          while (inFlight > 0) {
+            failure = settle(completion.take().get(), running, done, failure);
+            inFlight--;
+          }
+          if (failure != null) break;
+          revisionCount++;
+          REVISIONS.inc();
+          SimulationLogger.log("[Loop] Restarting at " + edge.to + " (revision " + revisionCount + "/" + maxRevisions + ")");
+          for (int i = targetIndex; i < nodes.size(); i++) {
+            done[i] = false;
+          }
+          break;
         }
-        if (revisionCount >= maxRevisions) {
-          SimulationLogger.log("[Loop] Max revisions reached. Skipping rerun.");
-          continue;
+        if (inFlight == 0) {
+          saveCheckpoint(state, done, revisionCount);
         }
-        revisionCount++;
-        SimulationLogger.log("[Loop] Restarting at " + target + " (revision " + revisionCount + "/" + maxRevisions + ")");
-        i = targetIndex - 1;
       }
+    } finally {
+      if (executor == null) {
+        pool.shutdown();
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    if (checkpointPath != null) {
+      Files.deleteIfExists(checkpointPath);
     }
-    updateStage(state, "Complete", false);
+    setStage(state, "Complete", false);
   }
 
-  private void updateStage(SimulationState state, String stage, boolean running) {
+  /** Marks a finished node done, or keeps the first failure seen; returns the failure so far. */
+  private static Exception settle(Finished finished, boolean[] running, boolean[] done, Exception failure) {
+    running[finished.index()] = false;
+    if (finished.error() == null) {
+      done[finished.index()] = true;
+      return failure;
+    }
+    return failure != null ? failure : finished.error();
+  }
+
+  private void saveCheckpoint(SimulationState state, boolean[] done, int revisionCount) {
+    if (checkpointPath == null) return;
+    Set<String> completed = new LinkedHashSet<>();
+    for (int i = 0; i < nodes.size(); i++) {
+      if (done[i]) completed.add(nodes.get(i).name());
+    }
+    try {
+      Checkpoint.capture(state, completed, revisionCount, memories).save(checkpointPath);
+    } catch (IOException e) {
+      SimulationLogger.log("[Checkpoint] Failed to save: " + e.getMessage());
+    }
+  }
+
+  private void runNode(SimulationState state, Node n) throws Exception {
+    String stageName = prettyStageName(n.name()) + " Stage";
+    if (n.visibleStage()) {
+      stageStarted(state, stageName);
+      SimulationLogger.log("==> Running: " + n.name());
+    }
+    long start = System.nanoTime();
+    try {
+      if (memo != null && n.memoizable()) {
+        runMemoized(state, n);
+      } else {
+        n.run(state);
+      }
+    } finally {
+      MetricsRegistry.global()
+          .histogram("govsim_node_duration_seconds", "Wall time of each pipeline node run", "node", n.name())
+          .recordSince(start);
+      if (n.visibleStage()) stageFinished(state, stageName);
+    }
+    if (n.visibleStage()) SimulationLogger.log("==> Done: " + n.name());
+  }
+
+  private void runMemoized(SimulationState state, Node n) throws Exception {
+    String fingerprint = memo.fingerprint(n, state);
+    NodeMemo.Entry entry = memo.lookup(fingerprint);
+    if (entry != null) {
+      memo.restore(entry, state);
+      n.restored(state);
+      MetricsRegistry.global()
+          .counter("govsim_node_memo_hits_total", "Node runs skipped because inputs were unchanged", "node", n.name())
+          .inc();
+      SimulationLogger.log("[Memo] " + n.name() + " inputs unchanged (" + fingerprint.substring(0, 12)
+          + "). Restored previous outputs.");
+      return;
+    }
+    int logSize = state.interactionLog.entries().size();
+    boolean reusable = similarBills != null && reuseNodes.contains(n.name()) && state.bill != null;
+    if (!reusable || !restoreNearDuplicate(state, n)) n.run(state);
+    memo.record(n, fingerprint, state, logSize);
+    if (reusable) memo.alias(n, similarBills.key(state.bill), fingerprint);
+  }
+
+  private boolean restoreNearDuplicate(SimulationState state, Node n) throws IOException {
+    for (SimilarBills.Match match : similarBills.find(state.bill)) {
+      NodeMemo.Entry entry = memo.lookupAlias(n, match.key());
+      if (entry == null) continue;
+      memo.restore(entry, state);
+      n.restored(state);
+      MetricsRegistry.global()
+          .counter("govsim_node_dedup_hits_total", "Node runs skipped because a near-duplicate bill ran them",
+              "node", n.name())
+          .inc();
+      SimulationLogger.log(String.format("[Dedup] %s: %s matches %s (similarity %.2f). Reused its outputs.",
+          n.name(), state.bill.id(), match.billId(), match.similarity()));
+      return true;
+    }
+    return false;
+  }
+
+  /** For each node, the earlier nodes it must wait for. */
+  private List<List<Integer>> buildDependencies() {
+    List<List<Integer>> deps = new ArrayList<>();
+    for (int i = 0; i < nodes.size(); i++) {
+      List<Integer> mine = new ArrayList<>();
+      for (int j = 0; j < i; j++) {
+        if (conflicts(nodes.get(i), nodes.get(j))) mine.add(j);
+      }
+      deps.add(mine);
+    }
+    return deps;
+  }
+
+  static boolean conflicts(Node a, Node b) {
+    return overlaps(a.writes(), b.writes()) || overlaps(a.writes(), b.reads()) || overlaps(a.reads(), b.writes());
+  }
+
+  private static boolean overlaps(Set<String> a, Set<String> b) {
+    if (a.isEmpty() || b.isEmpty()) return false;
+    if (a.contains(StateKeys.ALL) || b.contains(StateKeys.ALL)) return true;
+    for (String key : a) {
+      if (b.contains(key)) return true;
+    }
+    return false;
+  }
+
+  private static boolean ready(List<Integer> deps, boolean[] done) {
+    for (int dep : deps) {
+      if (!done[dep]) return false;
+    }
+    return true;
+  }
+
+  private void stageStarted(SimulationState state, String stage) {
+    Object storeObj = state.vars.get("statusStore");
+    if (storeObj instanceof govsim.web.StatusStore store) {
+      store.stageStarted(stage);
+    }
+  }
+
+  private void stageFinished(SimulationState state, String stage) {
+    Object storeObj = state.vars.get("statusStore");
+    if (storeObj instanceof govsim.web.StatusStore store) {
+      store.stageFinished(stage);
+    }
+  }
+
+  private void setStage(SimulationState state, String stage, boolean running) {
     Object storeObj = state.vars.get("statusStore");
     if (storeObj instanceof govsim.web.StatusStore store) {
       store.setStage(stage, running);
@@ -62,4 +340,19 @@ public class GraphRunner {
     spaced = spaced.replaceAll("([A-Z])([A-Z][a-z])", "$1 $2");
     return spaced.trim();
   }
+
+  /** A node run's outcome; runs never throw, so every one is accounted for. */
+  private record Finished(int index, Exception error) {}
+
+  private static class BackEdge {
+    final String from;
+    final String to;
+    final Predicate<SimulationState> condition;
+
+    BackEdge(String from, String to, Predicate<SimulationState> condition) {
+      this.from = from;
+      this.to = to;
+      this.condition = condition;
+    }
+  }
 }
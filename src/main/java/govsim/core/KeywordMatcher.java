@@ -0,0 +1,246 @@
+package govsim.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over many tagged keyword lists (e.g. each agency's scope keywords). One pass over
+ * a text scores every tag by how many of its distinct keywords occur, however many tags and keywords there
+ * are. Text and keywords are lowercased and runs of punctuation and whitespace collapse to one space, so
+ * "big-tech" matches "big tech".
+ */
+public final class KeywordMatcher {
+  /** How keywords match: anywhere (the old {@code contains} check), as whole words, or as stemmed words. */
+  public enum Mode { SUBSTRING, WORD, STEM }
+
+  private final Mode mode;
+  private final List<String> tags;
+  private final List<String> keywords = new ArrayList<>();
+  private final int[][] tagsByKeyword;
+  // Dense DFA: next state = delta[state * alphabet + classOf[c]]; class 0 is any char no keyword uses.
+  private final int[] classOf = new int[Character.MAX_VALUE + 1];
+  private final int alphabet;
+  private final int[] delta;
+  private final int[][] outputs;
+
+  public KeywordMatcher(Map<String, ? extends Collection<String>> keywordsByTag, Mode mode) {
+    this.mode = mode;
+    this.tags = List.copyOf(keywordsByTag.keySet());
+    Map<String, List<Integer>> tagIds = new LinkedHashMap<>();
+    for (int tag = 0; tag < tags.size(); tag++) {
+      for (String keyword : keywordsByTag.get(tags.get(tag))) {
+        String normalized = normalize(keyword);
+        if (normalized.isBlank()) continue;
+        tagIds.computeIfAbsent(normalized, k -> new ArrayList<>()).add(tag);
+      }
+    }
+    keywords.addAll(tagIds.keySet());
+    tagsByKeyword = new int[keywords.size()][];
+    for (int k = 0; k < keywords.size(); k++) {
+      tagsByKeyword[k] = tagIds.get(keywords.get(k)).stream().mapToInt(Integer::intValue).distinct().toArray();
+    }
+
+    int classes = 1;
+    for (String keyword : keywords) {
+      for (char c : keyword.toCharArray()) {
+        if (classOf[c] == 0) classOf[c] = classes++;
+      }
+    }
+    alphabet = classes;
+
+    // Trie edges go straight into the table (-1 = no edge), then a breadth-first pass over the failure links
+    // fills in every missing transition.
+    int maxStates = 1;
+    for (String keyword : keywords) {
+      maxStates += keyword.length();
+    }
+    int[] table = new int[maxStates * alphabet];
+    Arrays.fill(table, -1);
+    List<List<Integer>> ends = new ArrayList<>();
+    ends.add(new ArrayList<>());
+    for (int k = 0; k < keywords.size(); k++) {
+      int state = 0;
+      for (char c : keywords.get(k).toCharArray()) {
+        int edge = state * alphabet + classOf[c];
+        if (table[edge] < 0) {
+          table[edge] = ends.size();
+          ends.add(new ArrayList<>());
+        }
+        state = table[edge];
+      }
+      ends.get(state).add(k);
+    }
+    int states = ends.size();
+    delta = Arrays.copyOf(table, states * alphabet);
+    outputs = new int[states][];
+    int[] fail = new int[states];
+    int[] queue = new int[states];
+    int head = 0;
+    int tail = 0;
+    outputs[0] = new int[0];
+    for (int cls = 0; cls < alphabet; cls++) {
+      if (delta[cls] < 0) {
+        delta[cls] = 0;
+      } else {
+        queue[tail++] = delta[cls];
+      }
+    }
+    while (head < tail) {
+      int state = queue[head++];
+      List<Integer> out = ends.get(state);
+      int[] inherited = outputs[fail[state]];
+      int[] merged = new int[out.size() + inherited.length];
+      for (int i = 0; i < out.size(); i++) {
+        merged[i] = out.get(i);
+      }
+      System.arraycopy(inherited, 0, merged, out.size(), inherited.length);
+      outputs[state] = merged;
+      for (int cls = 0; cls < alphabet; cls++) {
+        int edge = state * alphabet + cls;
+        int fallback = delta[fail[state] * alphabet + cls];
+        if (delta[edge] < 0) {
+          delta[edge] = fallback;
+        } else {
+          fail[delta[edge]] = fallback;
+          queue[tail++] = delta[edge];
+        }
+      }
+    }
+  }
+
+  public List<String> tags() {
+    return tags;
+  }
+
+  /** Distinct keywords of each tag found in {@code text}, indexed like {@link #tags()}. */
+  public int[] score(CharSequence text) {
+    int[] scores = new int[tags.size()];
+    boolean[] seen = new boolean[keywords.size()];
+    Scan scan = new Scan(scores, seen);
+    boolean words = mode != Mode.SUBSTRING;
+    boolean stem = mode == Mode.STEM;
+    boolean space = true;
+    if (words) scan.feed(' ');
+    for (int i = 0, n = text.length(); i < n; i++) {
+      char c = text.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        c = Character.toLowerCase(c);
+        if (stem) {
+          scan.buffer(c);
+        } else {
+          scan.feed(c);
+        }
+        space = false;
+      } else if (!space) {
+        if (stem) scan.flush();
+        scan.feed(' ');
+        space = true;
+      }
+    }
+    if (stem) scan.flush();
+    if (words && !space) scan.feed(' ');
+    return scores;
+  }
+
+  /** {@link #score} keyed by tag, in tag order. */
+  public Map<String, Integer> scores(CharSequence text) {
+    int[] scores = score(text);
+    Map<String, Integer> byTag = new LinkedHashMap<>();
+    for (int tag = 0; tag < tags.size(); tag++) {
+      byTag.put(tags.get(tag), scores[tag]);
+    }
+    return byTag;
+  }
+
+  /**
+   * Light suffix stripping so "rights", "pricing" and "priced" meet "right" and "price": plural, "-ing" and
+   * "-ed" endings go, then a trailing "e".
+   */
+  public static String stem(String word) {
+    char[] w = word.toCharArray();
+    return new String(w, 0, stem(w, w.length));
+  }
+
+  /** Stems the first {@code n} chars of {@code w} in place and returns the stem's length. */
+  private static int stem(char[] w, int n) {
+    if (n > 4 && endsWith(w, n, "ies")) {
+      w[n - 3] = 'y';
+      n -= 2;
+    } else if (endsWith(w, n, "sses")) {
+      n -= 2;
+    } else if (n > 3 && w[n - 1] == 's'
+        && !endsWith(w, n, "ss") && !endsWith(w, n, "us") && !endsWith(w, n, "is")) {
+      n--;
+    }
+    if (n > 5 && endsWith(w, n, "ing")) {
+      n -= 3;
+    } else if (n > 4 && endsWith(w, n, "ed")) {
+      n -= 2;
+    }
+    if (n > 4 && w[n - 1] == 'e') n--;
+    return n;
+  }
+
+  private static boolean endsWith(char[] w, int n, String suffix) {
+    if (n < suffix.length()) return false;
+    for (int i = 0; i < suffix.length(); i++) {
+      if (w[n - suffix.length() + i] != suffix.charAt(i)) return false;
+    }
+    return true;
+  }
+
+  /** Keywords go through the same folding as text; word modes pad them with the separating spaces. */
+  private String normalize(String keyword) {
+    StringBuilder sb = new StringBuilder();
+    for (String token : keyword.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+      if (token.isEmpty()) continue;
+      if (sb.length() > 0) sb.append(' ');
+      sb.append(mode == Mode.STEM ? stem(token) : token);
+    }
+    if (sb.length() == 0 || mode == Mode.SUBSTRING) return sb.toString();
+    return " " + sb + " ";
+  }
+
+  private final class Scan {
+    private final int[] scores;
+    private final boolean[] seen;
+    private int state;
+    // The current word in STEM mode, fed once it ends and is stemmed.
+    private char[] word = new char[32];
+    private int length;
+
+    Scan(int[] scores, boolean[] seen) {
+      this.scores = scores;
+      this.seen = seen;
+    }
+
+    void feed(char c) {
+      state = delta[state * alphabet + classOf[c]];
+      for (int k : outputs[state]) {
+        if (seen[k]) continue;
+        seen[k] = true;
+        for (int tag : tagsByKeyword[k]) {
+          scores[tag]++;
+        }
+      }
+    }
+
+    void buffer(char c) {
+      if (length == word.length) word = Arrays.copyOf(word, length * 2);
+      word[length++] = c;
+    }
+
+    void flush() {
+      int n = stem(word, length);
+      for (int i = 0; i < n; i++) {
+        feed(word[i]);
+      }
+      length = 0;
+    }
+  }
+}
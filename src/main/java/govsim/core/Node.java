@@ -1,6 +1,34 @@
 package govsim.core;
 
+import java.util.Set;
+
 public interface Node {
+  Set<String> ALL = Set.of(StateKeys.ALL);
+
   String name();
   void run(SimulationState state) throws Exception;
+
+  /** State keys (see {@link StateKeys}) this node reads. Undeclared nodes read everything. */
+  default Set<String> reads() { return ALL; }
+
+  /** State keys this node writes. Undeclared nodes write everything and run as barriers. */
+  default Set<String> writes() { return ALL; }
+
+  /** Whether the live page should show this node as a pipeline stage. */
+  default boolean visibleStage() { return true; }
+
+  /**
+   * Whether the output depends only on the declared reads, so a run with an unchanged input fingerprint
+   * can be replaced by restoring the previous writes (see {@link NodeMemo}).
+   */
+  default boolean memoizable() { return false; }
+
+  /**
+   * Settings besides state that change this node's output (e.g. an analysis mode), folded into its memo
+   * fingerprint so changing them does not restore stale outputs. Empty for none.
+   */
+  default String memoVariant() { return ""; }
+
+  /** Called instead of {@link #run} when memoized outputs were restored; republish side effects here. */
+  default void restored(SimulationState state) {}
 }
@@ -0,0 +1,251 @@
+package govsim.core;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.NullNode;
+import govsim.agents.AgentOutput;
+import govsim.domain.Bill;
+import govsim.domain.Vote;
+import govsim.domain.VoteResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the outputs of memoizable nodes keyed by a SHA-256 fingerprint of the state keys they read.
+ * A node whose fingerprint matches an earlier run is skipped and its recorded writes are copied back.
+ * Entries live in memory for the current run and, when a directory is given, on disk for later runs.
+ */
+public class NodeMemo {
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  private final Path dir;
+  private final String salt;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  // "node|billKey" -> fingerprint, so a near-duplicate bill can find another bill's outputs.
+  private final Map<String, String> aliases = new ConcurrentHashMap<>();
+
+  /**
+   * @param dir  directory for persisted entries, or null to keep them in memory only
+   * @param salt folded into every fingerprint; anything besides state that changes node output (model, agent definitions)
+   */
+  public NodeMemo(Path dir, String salt) {
+    this.dir = dir;
+    this.salt = salt == null ? "" : salt;
+  }
+
+  public String fingerprint(Node node, SimulationState state) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    update(digest, salt);
+    update(digest, node.name());
+    // Only folded in when set, so nodes without variants keep the fingerprints they already recorded.
+    if (!node.memoVariant().isEmpty()) update(digest, node.memoVariant());
+    for (String key : new TreeSet<>(node.reads())) {
+      update(digest, key);
+      digest.update(MAPPER.writeValueAsBytes(read(state, key)));
+    }
+    StringBuilder hex = new StringBuilder();
+    for (byte b : digest.digest()) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+
+  /** @return the outputs recorded for {@code fingerprint}, or null on a miss */
+  public Entry lookup(String fingerprint) {
+    Entry entry = entries.get(fingerprint);
+    if (entry != null || dir == null) return entry;
+    Path file = dir.resolve(fingerprint + ".json");
+    if (!Files.exists(file)) return null;
+    try {
+      entry = MAPPER.readValue(Files.readString(file, StandardCharsets.UTF_8), Entry.class);
+    } catch (IOException e) {
+      SimulationLogger.log("[Memo] Ignoring unreadable entry " + file.getFileName() + ": " + e.getMessage());
+      return null;
+    }
+    entries.put(fingerprint, entry);
+    return entry;
+  }
+
+  /** Records what {@code node} wrote; {@code logSizeBefore} marks where its interaction log lines start. */
+  public void record(Node node, String fingerprint, SimulationState state, int logSizeBefore) {
+    Entry entry = new Entry();
+    entry.node = node.name();
+    try {
+      for (String key : node.writes()) {
+        entry.outputs.put(key, MAPPER.valueToTree(read(state, key)));
+      }
+    } catch (IllegalArgumentException e) {
+      SimulationLogger.log("[Memo] Not caching " + node.name() + ": " + e.getMessage());
+      return;
+    }
+    List<String> log = state.interactionLog.entries();
+    entry.logDelta = new ArrayList<>(log.subList(Math.min(logSizeBefore, log.size()), log.size()));
+    entries.put(fingerprint, entry);
+    if (dir == null) return;
+    try {
+      Files.createDirectories(dir);
+      Path file = dir.resolve(fingerprint + ".json");
+      Path tmp = dir.resolve(fingerprint + ".json.tmp");
+      Files.writeString(tmp, MAPPER.writeValueAsString(entry), StandardCharsets.UTF_8);
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      SimulationLogger.log("[Memo] Failed to persist " + node.name() + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Remembers that {@code node}'s outputs for the bill keyed {@code billKey} (see {@link SimilarBills}) are
+   * recorded under {@code fingerprint}.
+   */
+  public void alias(Node node, String billKey, String fingerprint) {
+    String previous = aliases.put(node.name() + "|" + billKey, fingerprint);
+    if (dir == null || fingerprint.equals(previous)) return;
+    try {
+      Path file = dir.resolve("bills").resolve(billKey + "." + node.name());
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, fingerprint, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      SimulationLogger.log("[Memo] Failed to persist alias for " + node.name() + ": " + e.getMessage());
+    }
+  }
+
+  /** @return {@code node}'s recorded outputs for the bill keyed {@code billKey}, or null if none */
+  public Entry lookupAlias(Node node, String billKey) {
+    String key = node.name() + "|" + billKey;
+    String fingerprint = aliases.get(key);
+    if (fingerprint == null && dir != null) {
+      Path file = dir.resolve("bills").resolve(billKey + "." + node.name());
+      if (!Files.exists(file)) return null;
+      try {
+        fingerprint = Files.readString(file, StandardCharsets.UTF_8).trim();
+      } catch (IOException e) {
+        return null;
+      }
+      aliases.put(key, fingerprint);
+    }
+    return fingerprint == null ? null : lookup(fingerprint);
+  }
+
+  /** Copies a recorded entry's outputs back onto {@code state}. */
+  public void restore(Entry entry, SimulationState state) throws IOException {
+    for (Map.Entry<String, JsonNode> output : entry.outputs.entrySet()) {
+      write(state, output.getKey(), output.getValue());
+    }
+    for (String line : entry.logDelta) {
+      state.interactionLog.add(line);
+    }
+  }
+
+  private static void update(MessageDigest digest, String text) {
+    digest.update(text.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static Object read(SimulationState state, String key) {
+    Bill bill = state.bill;
+    switch (key) {
+      case StateKeys.BILL:
+        if (bill == null) return null;
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", bill.id());
+        fields.put("title", bill.title());
+        fields.put("rawText", bill.rawText());
+        return fields;
+      case StateKeys.BILL_ANALYSIS:
+        if (bill == null) return null;
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        analysis.put("topics", bill.topics());
+        analysis.put("estimatedCost", bill.estimatedCost());
+        analysis.put("attributes", bill.attributes());
+        return analysis;
+      case StateKeys.ONE_PAGER:
+        return state.billOnePager;
+      case StateKeys.SELECTED_AGENCY:
+        return state.selectedAgencyId;
+      case StateKeys.FLOOR_SUMMARY:
+        return state.floorSummary;
+      case StateKeys.TURN_OUTPUTS:
+        return state.lastTurnOutputs;
+      case StateKeys.VOTE_RESULT:
+        return state.voteResult == null ? null : state.voteResult.votesByRepId();
+      case StateKeys.INTERACTION_LOG:
+        // Recorded as the lines a node appended (Entry.logDelta), not as a value.
+        return null;
+      default:
+        if (key.startsWith("vars.")) {
+          return state.vars.get(key.substring("vars.".length()));
+        }
+        throw new IllegalArgumentException("Unknown state key: " + key);
+    }
+  }
+
+  private static void write(SimulationState state, String key, JsonNode value) throws IOException {
+    boolean absent = value == null || value instanceof NullNode;
+    switch (key) {
+      case StateKeys.BILL -> {
+        if (absent) return;
+        Bill bill = new Bill(value.path("id").asText(), value.path("title").asText(), value.path("rawText").asText());
+        if (state.bill != null) {
+          if (state.bill.rawText().equals(bill.rawText())) bill.setSections(state.bill.sections());
+          bill.setTopics(state.bill.topics());
+          bill.setEstimatedCost(state.bill.estimatedCost());
+          bill.setAttributes(state.bill.attributes());
+        }
+        state.bill = bill;
+      }
+      case StateKeys.BILL_ANALYSIS -> {
+        if (absent || state.bill == null) return;
+        state.bill.setTopics(MAPPER.convertValue(value.path("topics"), new TypeReference<List<String>>() {}));
+        state.bill.setEstimatedCost(value.path("estimatedCost").asDouble());
+        state.bill.setAttributes(MAPPER.convertValue(value.path("attributes"), new TypeReference<Map<String, Object>>() {}));
+      }
+      case StateKeys.ONE_PAGER -> state.billOnePager = absent ? "" : value.asText();
+      case StateKeys.SELECTED_AGENCY -> state.selectedAgencyId = absent ? null : value.asText();
+      case StateKeys.FLOOR_SUMMARY -> state.floorSummary = absent ? "" : value.asText();
+      case StateKeys.TURN_OUTPUTS -> state.lastTurnOutputs = absent ? new HashMap<>()
+          : MAPPER.convertValue(value, new TypeReference<HashMap<String, AgentOutput>>() {});
+      case StateKeys.VOTE_RESULT -> state.voteResult = absent ? null
+          : new VoteResult(MAPPER.convertValue(value, new TypeReference<HashMap<String, Vote>>() {}));
+      case StateKeys.INTERACTION_LOG -> {
+        // Replayed from Entry.logDelta.
+      }
+      default -> {
+        String name = key.substring("vars.".length());
+        if (absent) {
+          state.vars.remove(name);
+        } else {
+          state.vars.put(name, MAPPER.treeToValue(value, Object.class));
+        }
+      }
+    }
+  }
+
+  public static class Entry {
+    public String node;
+    public Map<String, JsonNode> outputs = new LinkedHashMap<>();
+    public List<String> logDelta = new ArrayList<>();
+  }
+}
@@ -0,0 +1,19 @@
+package govsim.core;
+
+import govsim.domain.Bill;
+
+import java.util.List;
+
+/**
+ * Finds earlier bills whose text nearly matches the current one, so {@link GraphRunner} can reuse their
+ * memoized node outputs instead of calling the LLM again for a reintroduced or companion bill.
+ */
+public interface SimilarBills {
+  /** Key under which {@code bill}'s node outputs are remembered for later near-duplicates. */
+  String key(Bill bill);
+
+  /** Earlier bills similar enough to reuse, most similar first; never {@code bill} itself. */
+  List<Match> find(Bill bill);
+
+  record Match(String key, String billId, double similarity) {}
+}
@@ -1,6 +1,12 @@
 package govsim.core;
 
+import java.util.List;
+import java.util.concurrent.Callable;
+
 public final class SimulationLogger {
+  // Set while a bill is analysed in the background, so its lines stay off the live log until it is shown.
+  private static final ThreadLocal<List<String>> CAPTURE = new ThreadLocal<>();
+
   private SimulationLogger() {}
 
   public static void init(Object store) {
@@ -8,6 +14,34 @@ public final class SimulationLogger {
   }
 
   public static void log(String line) {
-    System.out.println(line);
+    List<String> sink = CAPTURE.get();
+    if (sink == null) {
+      System.out.println(line);
+      return;
+    }
+    synchronized (sink) {
+      sink.add(line);
+    }
+  }
+
+  /**
+   * Runs {@code task} with the lines it logs added to {@code sink} instead of printed. Work it hands to
+   * other threads is captured too when submitted through {@link #propagate}.
+   */
+  public static <T> T capture(List<String> sink, Callable<T> task) throws Exception {
+    List<String> previous = CAPTURE.get();
+    CAPTURE.set(sink);
+    try {
+      return task.call();
+    } finally {
+      if (previous == null) CAPTURE.remove();
+      else CAPTURE.set(previous);
+    }
+  }
+
+  /** Wraps {@code task} so it logs wherever the submitting thread does. */
+  public static <T> Callable<T> propagate(Callable<T> task) {
+    List<String> sink = CAPTURE.get();
+    return sink == null ? task : () -> capture(sink, task);
   }
 }
@@ -8,8 +8,11 @@ import govsim.web.LogStore;
 import govsim.web.PollingServer;
 import govsim.web.VoteBox;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SimulationState {
   public Bill bill;
@@ -26,5 +29,32 @@ public class SimulationState {
   public VoteBox voteBox;
   public PollingServer pollingServer;
   public ChatStore chatStore;
-  public Map<String, Object> vars = new HashMap<>();
+  // Concurrent: independent nodes may run in parallel. Values must be non-null.
+  public Map<String, Object> vars = new ConcurrentHashMap<>();
+
+  /**
+   * Copy for a replica run. Collections are copied one level deep so appends (interaction log, peer
+   * reasoning) stay private to the copy; the bill and services are shared.
+   */
+  public SimulationState copy() {
+    SimulationState copy = new SimulationState();
+    copy.bill = bill;
+    copy.selectedAgencyId = selectedAgencyId;
+    copy.billOnePager = billOnePager;
+    copy.floorSummary = floorSummary;
+    copy.lastTurnOutputs = new HashMap<>(lastTurnOutputs);
+    copy.voteResult = voteResult;
+    for (String entry : interactionLog.entries()) {
+      copy.interactionLog.add(entry);
+    }
+    copy.logStore = logStore;
+    copy.voteBox = voteBox;
+    copy.pollingServer = pollingServer;
+    copy.chatStore = chatStore;
+    for (Map.Entry<String, Object> entry : vars.entrySet()) {
+      Object value = entry.getValue();
+      copy.vars.put(entry.getKey(), value instanceof List<?> list ? new ArrayList<>(list) : value);
+    }
+    return copy;
+  }
 }
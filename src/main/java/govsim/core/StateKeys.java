@@ -0,0 +1,27 @@
+package govsim.core;
+
+/**
+ * Names for the parts of {@link SimulationState} a node reads or writes. {@link GraphRunner} orders
+ * nodes by these declarations; two nodes that share no written key may run at the same time.
+ * Service handles kept in {@code vars} (stores, paths) are wiring, not data, and are not declared.
+ */
+public final class StateKeys {
+  private StateKeys() {}
+
+  /** Wildcard: the node may touch anything, so it runs alone. */
+  public static final String ALL = "*";
+
+  public static final String BILL = "bill";
+  /** Parser output stored on the bill: topics, estimated cost and attributes. */
+  public static final String BILL_ANALYSIS = "bill.analysis";
+  public static final String ONE_PAGER = "billOnePager";
+  public static final String SELECTED_AGENCY = "selectedAgencyId";
+  public static final String FLOOR_SUMMARY = "floorSummary";
+  public static final String TURN_OUTPUTS = "lastTurnOutputs";
+  public static final String VOTE_RESULT = "voteResult";
+  public static final String INTERACTION_LOG = "interactionLog";
+
+  public static String var(String name) {
+    return "vars." + name;
+  }
+}
@@ -15,6 +15,9 @@ public class Bill {
   private double estimatedCost = 0.0;
   private Map<String, Object> attributes = new HashMap<>();
 
+  // Filled by ingest when the source text is structured; empty otherwise.
+  private List<BillSection> sections = new ArrayList<>();
+
   public Bill(String id, String title, String rawText) {
     this.id = id;
     this.title = title;
@@ -33,4 +36,7 @@ public class Bill {
 
   public Map<String, Object> attributes() { return attributes; }
   public void setAttributes(Map<String, Object> attributes) { this.attributes = attributes; }
+
+  public List<BillSection> sections() { return sections; }
+  public void setSections(List<BillSection> sections) { this.sections = sections; }
 }
@@ -0,0 +1,29 @@
+package govsim.domain;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * One section (or appropriations paragraph) of a bill's structured text.
+ *
+ * @param path enclosing divisions and titles, e.g. "TITLE II—HEALTH", or empty
+ * @param label the section's own number, e.g. "SEC. 2." or "2."
+ * @param heading the section heading, e.g. "Definitions", or empty
+ * @param text body text with whitespace collapsed
+ * @param amounts dollar amounts appearing in the text, in order
+ */
+public record BillSection(String path, String label, String heading, String text, List<Double> amounts) {
+  /**
+   * Where a "SEC. n." / "SECTION n." heading starts in plain bill text: at a line start, or inline when the
+   * number ends with a period, since stripped HTML is one long line.
+   */
+  public static final Pattern PLAIN_TEXT_START = Pattern.compile(
+      "(?m)^[ \\t]*(?:SEC\\.|SECTION)\\s+\\d+|(?<=\\s)(?:SEC\\.|SECTION)\\s+\\d+[A-Z]?\\.(?=\\s)");
+
+  /** Label and heading as one line, e.g. "SEC. 2. Definitions". */
+  public String displayHeading() {
+    if (label.isBlank()) return heading;
+    if (heading.isBlank()) return label;
+    return label + " " + heading;
+  }
+}
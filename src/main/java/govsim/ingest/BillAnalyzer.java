@@ -0,0 +1,415 @@
+package govsim.ingest;
+
+import govsim.domain.Bill;
+import govsim.domain.BillSection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extractive bill analysis without an LLM, in milliseconds: RAKE key phrases for topics, summed dollar
+ * amounts for the cost, TextRank sentences for the one-pager and a few regex facts for attributes. Each
+ * result carries a rough confidence so callers can decide whether an LLM pass is worth it.
+ */
+public final class BillAnalyzer {
+  private static final int MAX_PHRASE_WORDS = 3;
+  private static final int MAX_RANKED_SENTENCES = 300;
+  private static final int MIN_SENTENCE_CHARS = 40;
+  private static final int MAX_SENTENCE_CHARS = 400;
+  private static final double DAMPING = 0.85;
+  private static final int ITERATIONS = 30;
+  // Flattened bill pages run the front matter into "A BILL To ..." without punctuation.
+  private static final Pattern SENTENCE_END = Pattern.compile(
+      "(?<=[.;:!?])\\s+(?=[A-Z(\"“])|\\n\\s*\\n|\\s+(?=(?:A BILL|AN ACT) To\\b)");
+  // Front matter every bill has; never one-pager material.
+  private static final Pattern BOILERPLATE = Pattern.compile("introduced the following bill"
+      + "|referred to the Committee|may be cited as|not subject to copyright|Be it enacted|in the public domain"
+      + "|(?-i:IN THE (?:HOUSE OF REPRESENTATIVES|SENATE OF THE UNITED STATES))", Pattern.CASE_INSENSITIVE);
+  private static final Pattern FISCAL_YEAR = Pattern.compile(
+      "fiscal years? (\\d{4})(?:\\s+(?:through|and|to)\\s+(\\d{4}))?", Pattern.CASE_INSENSITIVE);
+  private static final Pattern OFFICIAL = Pattern.compile("\\b(Attorney General"
+      + "|Secretary of (?:the )?[A-Z][a-z]+(?: [A-Z][a-z]+)*"
+      + "|(?:Administrator|Director) of the [A-Z][a-z]+(?: [A-Z][a-z]+)*)");
+  private static final Pattern SPENDING = Pattern.compile("appropriat|authoriz|made available|grant|expenses",
+      Pattern.CASE_INSENSITIVE);
+  // A share of an amount already counted, e.g. "of which $5,000,000 shall be for ...".
+  private static final Pattern SUB_ALLOCATION = Pattern.compile("of which|not to exceed|not more than|up to",
+      Pattern.CASE_INSENSITIVE);
+  private static final Set<String> STOP = Set.of(
+      "a", "about", "above", "after", "again", "against", "all", "also", "an", "and", "any", "are", "as",
+      "at", "be", "been", "before", "being", "between", "both", "but", "by", "can", "could", "did", "do",
+      "does", "during", "each", "either", "for", "from", "further", "had", "has", "have", "he", "her", "his",
+      "how", "i", "if", "in", "into", "is", "it", "its", "may", "more", "most", "must", "no", "nor", "not",
+      "of", "on", "only", "or", "other", "our", "out", "over", "own", "same", "shall", "she", "should", "so",
+      "some", "such", "than", "that", "the", "their", "them", "then", "there", "these", "they", "this",
+      "those", "through", "to", "under", "until", "up", "upon", "very", "was", "we", "were", "what", "when",
+      "where", "whether", "which", "while", "who", "whom", "will", "with", "within", "without", "would",
+      "you",
+      // Drafting boilerplate shared by nearly every bill.
+      "act", "acts", "amend", "amended", "amending", "amendment", "amendments", "amount", "amounts",
+      "appropriated", "appropriation", "appropriations", "authorized", "available", "bill", "billion",
+      "carry", "clause", "code", "committee", "congress", "date", "described", "effective", "enactment", "et",
+      "except", "fiscal", "following", "general", "hereby", "herein", "house", "including", "inserting",
+      "introduced", "made", "means", "million", "mr", "mrs", "ms", "necessary", "new", "paragraph",
+      "paragraphs", "provided", "provision", "provisions", "purpose", "purposes", "pursuant", "referred",
+      "representatives", "respect", "sec", "secretary", "section", "sections", "senate", "seq", "short",
+      "states", "striking", "subparagraph", "subsection", "subsections", "sums", "term", "thereafter",
+      "thereof", "thousand", "title", "titles", "u.s.c", "united", "usc", "year", "years");
+
+  private BillAnalyzer() {}
+
+  /**
+   * @param topics five key phrases, best first
+   * @param estimatedCost spending found in the text, in USD millions
+   * @param onePager the three top-ranked sentences in document order
+   * @param keySentences top-ranked sentences, best first, for a prompt that refines this result
+   * @param confidence 0..1; low when the text gave little to go on
+   */
+  public record Analysis(List<String> topics, double estimatedCost, Map<String, Object> attributes,
+                         String onePager, List<String> keySentences, double confidence) {}
+
+  public static Analysis analyze(Bill bill) {
+    String text = bill.rawText() == null ? "" : bill.rawText();
+    List<Phrase> phrases = rake(text);
+    List<String> topics = new ArrayList<>();
+    for (Phrase phrase : phrases) {
+      if (topics.size() >= 5) break;
+      boolean overlaps = topics.stream().anyMatch(t -> t.contains(phrase.text) || phrase.text.contains(t));
+      if (!overlaps) topics.add(phrase.text);
+    }
+    for (String word : titleWords(bill.title())) {
+      if (topics.size() >= 5) break;
+      if (topics.stream().noneMatch(t -> t.contains(word))) topics.add(word);
+    }
+    while (topics.size() < 5) topics.add("general");
+
+    List<String> sentences = sentences(text);
+    Spending spending = spending(sentences);
+    List<String> ranked = textRank(sentences);
+    List<String> summary = new ArrayList<>(ranked.subList(0, Math.min(3, ranked.size())));
+    summary.sort((a, b) -> Integer.compare(sentences.indexOf(a), sentences.indexOf(b)));
+    String onePager = summary.isEmpty()
+        ? (text.length() > 240 ? text.substring(0, 240).trim() + "..." : text.trim())
+        : String.join(" ", summary);
+    if (onePager.isBlank()) onePager = "No summary available.";
+
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    String official = mostFrequent(OFFICIAL, text);
+    if (official != null) attributes.put("leadOfficial", official);
+    String years = fiscalYears(text);
+    if (years != null) attributes.put("fiscalYears", years);
+    if (spending.largest > 0) attributes.put("largestAmountUsd", spending.largest);
+    attributes.put("dollarAmounts", spending.count);
+    int sectionCount = bill.sections().isEmpty() ? countSections(text) : bill.sections().size();
+    if (sectionCount > 0) attributes.put("sections", sectionCount);
+
+    double topicSignal = phrases.isEmpty() ? 0 : Math.min(1, phrases.get(0).occurrences / 3.0);
+    double sentenceSignal = Math.min(1, ranked.size() / 5.0);
+    // A bill that never mentions money has an honest cost of zero; one that talks about funding but
+    // yielded no amounts probably states them in a form the regex missed.
+    double costSignal = spending.count > 0 ? 1 : SPENDING.matcher(text).find() ? 0.3 : 0.8;
+    double confidence = 0.4 * topicSignal + 0.3 * sentenceSignal + 0.3 * costSignal;
+    return new Analysis(topics, spending.total / 1e6, attributes, onePager,
+        ranked.subList(0, Math.min(8, ranked.size())), confidence);
+  }
+
+  /**
+   * RAKE: candidate phrases are runs of content words; a word scores degree / frequency. Words are scored
+   * by stem, and each phrase is reported in the surface form it most often takes in the text.
+   */
+  static List<Phrase> rake(String text) {
+    List<List<String>> candidates = new ArrayList<>();
+    List<String> current = new ArrayList<>();
+    for (String token : tokens(text)) {
+      boolean word = isContentWord(token);
+      if (word && current.size() < MAX_PHRASE_WORDS) {
+        current.add(token);
+      } else {
+        if (!current.isEmpty()) candidates.add(current);
+        current = new ArrayList<>();
+        if (word) current.add(token);
+      }
+    }
+    if (!current.isEmpty()) candidates.add(current);
+
+    Map<String, Integer> frequency = new HashMap<>();
+    Map<String, Integer> degree = new HashMap<>();
+    Map<String, Integer> occurrences = new HashMap<>();
+    Map<String, Map<String, Integer>> surfaces = new HashMap<>();
+    for (List<String> candidate : candidates) {
+      List<String> stems = new ArrayList<>();
+      for (String word : candidate) {
+        String stem = stem(word);
+        stems.add(stem);
+        frequency.merge(stem, 1, Integer::sum);
+        degree.merge(stem, candidate.size(), Integer::sum);
+      }
+      String key = String.join(" ", stems);
+      occurrences.merge(key, 1, Integer::sum);
+      surfaces.computeIfAbsent(key, k -> new HashMap<>()).merge(String.join(" ", candidate), 1, Integer::sum);
+    }
+    List<Phrase> phrases = new ArrayList<>();
+    for (Map.Entry<String, Integer> entry : occurrences.entrySet()) {
+      double score = 0;
+      for (String word : entry.getKey().split(" ")) {
+        score += degree.get(word) / (double) frequency.get(word);
+      }
+      // Plain RAKE favours long one-off phrases; weight by how often the phrase recurs.
+      score *= Math.log(1 + entry.getValue()) / Math.log(2);
+      phrases.add(new Phrase(commonest(surfaces.get(entry.getKey())), entry.getValue(), score));
+    }
+    phrases.sort((a, b) -> Double.compare(b.score, a.score));
+    return phrases;
+  }
+
+  /**
+   * Sums amounts in spending sentences, skipping sub-allocations of an amount already counted. Bills
+   * without spending language fall back to every distinct amount.
+   */
+  static Spending spending(List<String> sentences) {
+    Spending spending = new Spending();
+    double anyTotal = 0;
+    Set<Double> distinct = new HashSet<>();
+    for (String sentence : sentences) {
+      if (sentence.indexOf('$') < 0) continue;
+      List<Double> amounts = BillXmlParser.amounts(sentence);
+      if (amounts.isEmpty()) continue;
+      for (double amount : amounts) {
+        spending.count++;
+        spending.largest = Math.max(spending.largest, amount);
+        if (distinct.add(amount)) anyTotal += amount;
+      }
+      if (!SPENDING.matcher(sentence).find()) continue;
+      Matcher sub = SUB_ALLOCATION.matcher(sentence);
+      // Only the amounts before "of which" are new money.
+      String counted = sub.find() ? sentence.substring(0, sub.start()) : sentence;
+      for (double amount : BillXmlParser.amounts(counted)) {
+        spending.total += amount;
+      }
+    }
+    if (spending.total == 0) spending.total = anyTotal;
+    return spending;
+  }
+
+  /**
+   * TextRank over sentences: edges weighted by shared content words, normalised by sentence length, with
+   * the random jump biased toward the opening, where bills state their purpose.
+   */
+  static List<String> textRank(List<String> sentences) {
+    List<String> candidates = new ArrayList<>();
+    for (String sentence : sentences) {
+      int length = sentence.length();
+      if (length < MIN_SENTENCE_CHARS || length > MAX_SENTENCE_CHARS) continue;
+      if (!BOILERPLATE.matcher(sentence).find()) candidates.add(sentence);
+    }
+    if (candidates.size() > MAX_RANKED_SENTENCES) {
+      List<String> sampled = new ArrayList<>();
+      double step = candidates.size() / (double) MAX_RANKED_SENTENCES;
+      for (int i = 0; i < MAX_RANKED_SENTENCES; i++) {
+        sampled.add(candidates.get((int) (i * step)));
+      }
+      candidates = sampled;
+    }
+    int n = candidates.size();
+    if (n == 0) return List.of();
+
+    Map<String, Integer> ids = new HashMap<>();
+    int[][] words = new int[n][];
+    for (int i = 0; i < n; i++) {
+      List<Integer> own = new ArrayList<>();
+      for (String token : tokens(candidates.get(i))) {
+        if (!isContentWord(token)) continue;
+        int id = ids.computeIfAbsent(stem(token), k -> ids.size());
+        if (!own.contains(id)) own.add(id);
+      }
+      words[i] = own.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    double[][] weight = new double[n][n];
+    double[] outWeight = new double[n];
+    for (int i = 0; i < n; i++) {
+      for (int j = i + 1; j < n; j++) {
+        int shared = overlap(words[i], words[j]);
+        if (shared == 0 || words[i].length < 2 || words[j].length < 2) continue;
+        double w = shared / (Math.log(words[i].length) + Math.log(words[j].length));
+        weight[i][j] = w;
+        weight[j][i] = w;
+        outWeight[i] += w;
+        outWeight[j] += w;
+      }
+    }
+    double[] jump = new double[n];
+    double jumpTotal = 0;
+    for (int i = 0; i < n; i++) {
+      jump[i] = 1.0 / (1 + i / 10.0);
+      jumpTotal += jump[i];
+    }
+    double[] rank = new double[n];
+    Arrays.fill(rank, 1.0 / n);
+    for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+      double[] next = new double[n];
+      for (int i = 0; i < n; i++) {
+        double sum = 0;
+        for (int j = 0; j < n; j++) {
+          if (weight[j][i] > 0) sum += weight[j][i] / outWeight[j] * rank[j];
+        }
+        next[i] = (1 - DAMPING) * jump[i] / jumpTotal + DAMPING * sum;
+      }
+      rank = next;
+    }
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      order[i] = i;
+    }
+    double[] finalRank = rank;
+    Arrays.sort(order, (a, b) -> Double.compare(finalRank[b], finalRank[a]));
+    List<String> ranked = new ArrayList<>();
+    for (int i : order) {
+      ranked.add(candidates.get(i));
+    }
+    return ranked;
+  }
+
+  static List<String> sentences(String text) {
+    List<String> sentences = new ArrayList<>();
+    for (String sentence : SENTENCE_END.split(text)) {
+      String collapsed = sentence.replaceAll("\\s+", " ").trim();
+      if (!collapsed.isEmpty()) sentences.add(collapsed);
+    }
+    return sentences;
+  }
+
+  /** Content words of {@code text} with plurals folded, and how often each occurs. */
+  public static Map<String, Integer> termCounts(String text) {
+    Map<String, Integer> counts = new HashMap<>();
+    for (String token : tokens(text == null ? "" : text)) {
+      if (isContentWord(token)) counts.merge(stem(token), 1, Integer::sum);
+    }
+    return counts;
+  }
+
+  /** Lowercased words, with "" standing for each run of punctuation or digits, which breaks a phrase. */
+  private static List<String> tokens(String text) {
+    List<String> tokens = new ArrayList<>();
+    int n = text.length();
+    int i = 0;
+    while (i < n) {
+      char c = text.charAt(i);
+      if (Character.isLetter(c)) {
+        int start = i;
+        while (i < n && (Character.isLetter(text.charAt(i)) || "'-".indexOf(text.charAt(i)) >= 0)) {
+          i++;
+        }
+        tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+      } else {
+        if (!Character.isWhitespace(c) && !tokens.isEmpty() && !tokens.get(tokens.size() - 1).isEmpty()) {
+          tokens.add("");
+        }
+        i++;
+      }
+    }
+    return tokens;
+  }
+
+  private static boolean isContentWord(String token) {
+    return token.length() > 2 && !STOP.contains(token);
+  }
+
+  private static int overlap(int[] a, int[] b) {
+    int shared = 0;
+    for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+      if (a[i] == b[j]) {
+        shared++;
+        i++;
+        j++;
+      } else if (a[i] < b[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return shared;
+  }
+
+  /** The most frequent form, ties going to the alphabetically first so results are deterministic. */
+  private static String commonest(Map<String, Integer> forms) {
+    String best = null;
+    for (Map.Entry<String, Integer> form : forms.entrySet()) {
+      if (best == null || form.getValue() > forms.get(best)
+          || (form.getValue().equals(forms.get(best)) && form.getKey().compareTo(best) < 0)) {
+        best = form.getKey();
+      }
+    }
+    return best;
+  }
+
+  /** Folds plurals so "grants" and "grant" count as one word. */
+  private static String stem(String word) {
+    if (word.length() > 4 && word.endsWith("ies")) return word.substring(0, word.length() - 3) + "y";
+    if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")
+        && !word.endsWith("is")) {
+      return word.substring(0, word.length() - 1);
+    }
+    return word;
+  }
+
+  private static List<String> titleWords(String title) {
+    List<String> words = new ArrayList<>();
+    if (title == null) return words;
+    for (String token : tokens(title)) {
+      if (isContentWord(token)) words.add(token);
+    }
+    return words;
+  }
+
+  private static String mostFrequent(Pattern pattern, String text) {
+    Map<String, Integer> counts = new HashMap<>();
+    Matcher m = pattern.matcher(text);
+    while (m.find()) {
+      counts.merge(m.group(1), 1, Integer::sum);
+    }
+    return counts.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(null);
+  }
+
+  private static String fiscalYears(String text) {
+    int first = Integer.MAX_VALUE;
+    int last = Integer.MIN_VALUE;
+    Matcher m = FISCAL_YEAR.matcher(text);
+    while (m.find()) {
+      for (int group = 1; group <= 2; group++) {
+        if (m.group(group) == null) continue;
+        int year = Integer.parseInt(m.group(group));
+        first = Math.min(first, year);
+        last = Math.max(last, year);
+      }
+    }
+    if (first == Integer.MAX_VALUE) return null;
+    return first == last ? String.valueOf(first) : first + "-" + last;
+  }
+
+  private static int countSections(String text) {
+    Matcher m = BillSection.PLAIN_TEXT_START.matcher(text);
+    int count = 0;
+    while (m.find()) {
+      count++;
+    }
+    return count;
+  }
+
+  record Phrase(String text, int occurrences, double score) {}
+
+  static final class Spending {
+    double total;
+    double largest;
+    int count;
+  }
+}
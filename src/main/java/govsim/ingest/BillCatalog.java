@@ -0,0 +1,316 @@
+package govsim.ingest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.core.SimilarBills;
+import govsim.core.SimulationLogger;
+import govsim.domain.Bill;
+import govsim.domain.BillSection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every bill this machine has seen, keyed by a hash of its text. {@code catalog.jsonl} is an append-only
+ * log of "add" and "status" records, replayed into an in-memory index on load, so lookups by hash or bill
+ * id are O(1) and a crash can lose at most the last line. Texts live beside it in {@code texts/<hash>.json}.
+ * Pulls and offline ingest skip bills the catalog knows; runs can pick a bill that was never simulated.
+ * Each bill also gets a {@link MinHash} signature, indexed by LSH band, for near-duplicate lookups.
+ */
+public class BillCatalog {
+  public static final Path DEFAULT_DIR = Path.of(".govsim_catalog");
+  public static final String NEW = "new";
+  public static final String SIMULATED = "simulated";
+  private static final Map<Path, BillCatalog> SHARED = new HashMap<>();
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+      .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+  private final Path dir;
+  private final Map<String, Entry> byHash = new LinkedHashMap<>();
+  private final Map<String, String> hashById = new HashMap<>();
+  private final Set<String> unseen = new LinkedHashSet<>();
+  private final Map<String, int[]> signatures = new HashMap<>();
+  private final Map<Long, List<String>> bands = new HashMap<>();
+  // Handed to a run but not finished yet; not persisted, so a crash puts them back in the pool.
+  private final Set<String> claimed = new HashSet<>();
+  private BufferedWriter log;
+
+  private BillCatalog(Path dir) {
+    this.dir = dir;
+    load();
+  }
+
+  /** One instance per directory, so the puller, the prefetcher and Finalize share an index. */
+  public static synchronized BillCatalog shared(Path dir) {
+    return SHARED.computeIfAbsent(dir.toAbsolutePath().normalize(), BillCatalog::new);
+  }
+
+  /** SHA-256 of the text with whitespace collapsed, so re-wrapped copies of a bill match. */
+  public static String hash(String rawText) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      StringBuilder hex = new StringBuilder();
+      String normalized = rawText == null ? "" : rawText.replaceAll("\\s+", " ").trim();
+      for (byte b : digest.digest(normalized.getBytes(StandardCharsets.UTF_8))) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public synchronized int size() {
+    return byHash.size();
+  }
+
+  public synchronized boolean contains(String hash) {
+    return byHash.containsKey(hash);
+  }
+
+  public synchronized boolean containsId(String id) {
+    return hashById.containsKey(id);
+  }
+
+  public synchronized Entry get(String hash) {
+    return byHash.get(hash);
+  }
+
+  /**
+   * Records {@code bill} unless its text is already catalogued.
+   *
+   * @return the catalog entry, new or existing
+   */
+  public Entry add(Bill bill, String source) throws IOException {
+    String hash = hash(bill.rawText());
+    synchronized (this) {
+      Entry known = byHash.get(hash);
+      if (known != null) return known;
+    }
+    // Text first, so an "add" record never points at a missing file.
+    Path textFile = dir.resolve("texts").resolve(hash + ".json");
+    StoredText stored = new StoredText();
+    stored.id = bill.id();
+    stored.title = bill.title();
+    stored.rawText = bill.rawText();
+    stored.sections = new ArrayList<>(bill.sections());
+    Files.createDirectories(textFile.getParent());
+    Path tmp = textFile.resolveSibling(hash + ".json.tmp");
+    Files.writeString(tmp, MAPPER.writeValueAsString(stored), StandardCharsets.UTF_8);
+    Files.move(tmp, textFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    String signature = MinHash.encode(MinHash.signature(bill.rawText()));
+
+    synchronized (this) {
+      Entry known = byHash.get(hash);
+      if (known != null) return known;
+      Record record = new Record();
+      record.op = "add";
+      record.hash = hash;
+      record.id = bill.id();
+      record.title = bill.title();
+      record.source = source;
+      record.text = dir.relativize(textFile).toString();
+      record.minhash = signature;
+      record.at = Instant.now().toString();
+      append(record);
+      return apply(record);
+    }
+  }
+
+  /** Near-duplicate lookups against this catalog; a threshold above 1 turns them off. */
+  public SimilarBills similarBills(double threshold) {
+    return new SimilarBills() {
+      @Override
+      public String key(Bill bill) {
+        return hash(bill.rawText());
+      }
+
+      @Override
+      public List<SimilarBills.Match> find(Bill bill) {
+        return similar(bill, threshold);
+      }
+    };
+  }
+
+  /** Catalogued bills other than {@code bill} whose estimated similarity is at least {@code threshold}. */
+  public List<SimilarBills.Match> similar(Bill bill, double threshold) {
+    if (threshold > 1 || bill == null) return List.of();
+    String hash = hash(bill.rawText());
+    int[] signature;
+    synchronized (this) {
+      signature = signatures.get(hash);
+    }
+    if (signature == null) signature = MinHash.signature(bill.rawText());
+    List<SimilarBills.Match> matches = new ArrayList<>();
+    synchronized (this) {
+      Set<String> candidates = new HashSet<>();
+      for (long key : MinHash.bandKeys(signature)) {
+        candidates.addAll(bands.getOrDefault(key, List.of()));
+      }
+      for (String candidate : candidates) {
+        Entry entry = byHash.get(candidate);
+        if (entry.id != null && entry.id.equals(bill.id())) continue;
+        double similarity = MinHash.similarity(signature, signatures.get(candidate));
+        if (similarity >= threshold) matches.add(new SimilarBills.Match(candidate, entry.id, similarity));
+      }
+    }
+    matches.sort(Comparator.comparingDouble(SimilarBills.Match::similarity).reversed());
+    return matches;
+  }
+
+  public Bill load(Entry entry) throws IOException {
+    StoredText stored = MAPPER.readValue(Files.readString(dir.resolve(entry.text), StandardCharsets.UTF_8),
+        StoredText.class);
+    Bill bill = new Bill(stored.id, stored.title, stored.rawText);
+    if (stored.sections != null) bill.setSections(stored.sections);
+    return bill;
+  }
+
+  /** Marks {@code hash} as taken by a run so a second caller gets a different bill. */
+  public synchronized void claim(String hash) {
+    claimed.add(hash);
+  }
+
+  /** The oldest bill never simulated and not already taken by a run, now claimed; null if none. */
+  public synchronized Entry claimUnseen() {
+    for (String hash : unseen) {
+      if (claimed.add(hash)) return byHash.get(hash);
+    }
+    return null;
+  }
+
+  public synchronized void markSimulated(String hash, String outcome) throws IOException {
+    if (!byHash.containsKey(hash)) return;
+    Record record = new Record();
+    record.op = "status";
+    record.hash = hash;
+    record.status = SIMULATED;
+    record.outcome = outcome;
+    record.at = Instant.now().toString();
+    append(record);
+    apply(record);
+    claimed.remove(hash);
+  }
+
+  private Entry apply(Record record) {
+    if ("add".equals(record.op)) {
+      Entry entry = new Entry();
+      entry.hash = record.hash;
+      entry.id = record.id;
+      entry.title = record.title;
+      entry.source = record.source;
+      entry.text = record.text;
+      entry.ingestedAt = record.at;
+      entry.status = NEW;
+      if (byHash.putIfAbsent(entry.hash, entry) == null) {
+        unseen.add(entry.hash);
+        index(entry.hash, MinHash.decode(record.minhash));
+      }
+      if (entry.id != null) hashById.put(entry.id, entry.hash);
+      return byHash.get(entry.hash);
+    }
+    Entry entry = byHash.get(record.hash);
+    if (entry != null && "status".equals(record.op)) {
+      entry.status = record.status;
+      entry.outcome = record.outcome;
+      entry.simulatedAt = record.at;
+      entry.runs++;
+      if (!NEW.equals(entry.status)) unseen.remove(entry.hash);
+    }
+    return entry;
+  }
+
+  private void index(String hash, int[] signature) {
+    // Records written before signatures existed are simply not candidates.
+    if (signature == null) return;
+    signatures.put(hash, signature);
+    for (long key : MinHash.bandKeys(signature)) {
+      bands.computeIfAbsent(key, k -> new ArrayList<>(1)).add(hash);
+    }
+  }
+
+  private void append(Record record) throws IOException {
+    if (log == null) {
+      Files.createDirectories(dir);
+      log = Files.newBufferedWriter(dir.resolve("catalog.jsonl"), StandardCharsets.UTF_8,
+          StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    log.write(MAPPER.writeValueAsString(record));
+    log.newLine();
+    log.flush();
+  }
+
+  private void load() {
+    Path file = dir.resolve("catalog.jsonl");
+    if (!Files.exists(file)) return;
+    int skipped = 0;
+    try {
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        if (line.isBlank()) continue;
+        try {
+          apply(MAPPER.readValue(line, Record.class));
+        } catch (IOException e) {
+          skipped++;
+        }
+      }
+    } catch (IOException e) {
+      SimulationLogger.log("[Catalog] Ignoring unreadable " + file + ": " + e.getMessage());
+    }
+    if (skipped > 0) SimulationLogger.log("[Catalog] Skipped " + skipped + " damaged line(s) in " + file + ".");
+  }
+
+  /** Index view of one bill. */
+  public static class Entry {
+    public String hash;
+    public String id;
+    public String title;
+    public String source;
+    /** Text file, relative to the catalog directory. */
+    public String text;
+    public String ingestedAt;
+    public String status;
+    public String outcome;
+    public String simulatedAt;
+    public int runs;
+  }
+
+  private static class Record {
+    public String op;
+    public String hash;
+    public String id;
+    public String title;
+    public String source;
+    public String text;
+    /** Base64 {@link MinHash} signature of the text. */
+    public String minhash;
+    public String status;
+    public String outcome;
+    public String at;
+  }
+
+  private static class StoredText {
+    public String id;
+    public String title;
+    public String rawText;
+    public List<BillSection> sections = new ArrayList<>();
+  }
+}
@@ -0,0 +1,241 @@
+package govsim.ingest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.core.SimulationLogger;
+import govsim.domain.Bill;
+import govsim.domain.BillSection;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bills whose text is already fetched and stripped, kept in a file so they survive restarts. A background
+ * thread tops the queue up to a target size; {@link #next} pops one instantly and only fetches inline
+ * when the queue is empty. Fetching takes a page of the Congress.gov bill list at a time, downloads the
+ * page's texts concurrently and queues every usable bill the {@link BillCatalog} has not seen, recording
+ * it there. The file also holds the cursor into the list, which stops at the first bill whose fetch failed
+ * in a way that may pass (rate limiting, timeouts), so that bill is tried again on the next fetch.
+ */
+public class BillQueue {
+  public static final Path DEFAULT_FILE = Path.of(".govsim_bill_queue.json");
+  private static final Path LEGACY_OFFSET_FILE = Path.of(".govsim_bill_offset");
+  private static final int PAGE_SIZE = 20;
+  private static final long RETRY_DELAY_MS = 30_000;
+  /** Fetch attempts before a bill that keeps failing is skipped like one without usable text. */
+  private static final int MAX_FETCH_ATTEMPTS = 3;
+  private static final Map<Path, BillQueue> SHARED = new HashMap<>();
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  private final Path file;
+  private final Deque<StoredBill> bills = new ArrayDeque<>();
+  private final Object fetchLock = new Object();
+  private final BillCatalog catalog = BillCatalog.shared(BillCatalog.DEFAULT_DIR);
+  private final Map<String, Integer> failedAttempts = new HashMap<>();
+  private int cursor;
+  private Thread prefetchThread;
+
+  private BillQueue(Path file) {
+    this.file = file;
+    load();
+  }
+
+  /** One instance per file, so PullBill and the prefetcher share a queue and cursor. */
+  public static synchronized BillQueue shared(Path file) {
+    return SHARED.computeIfAbsent(file.toAbsolutePath().normalize(), BillQueue::new);
+  }
+
+  public synchronized int size() {
+    return bills.size();
+  }
+
+  /** Pops a queued bill, or fetches one now if the queue is empty. Returns null if none is found. */
+  public Bill next(CongressClient client) throws Exception {
+    Bill queued = poll();
+    if (queued != null) return queued;
+    synchronized (fetchLock) {
+      queued = poll();
+      if (queued != null) return queued;
+      fetchPage(client);
+      return poll();
+    }
+  }
+
+  /** Keeps up to {@code target} bills ready, fetching in the background. Later calls are ignored. */
+  public synchronized void startPrefetch(CongressClient client, int target) {
+    if (prefetchThread != null || client == null || target <= 0) return;
+    prefetchThread = new Thread(() -> prefetchLoop(client, target), "bill-queue");
+    prefetchThread.setDaemon(true);
+    prefetchThread.start();
+  }
+
+  private synchronized Bill poll() {
+    StoredBill stored = bills.pollFirst();
+    if (stored == null) return null;
+    save();
+    notifyAll();
+    return stored.toBill();
+  }
+
+  private void prefetchLoop(CongressClient client, int target) {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        synchronized (this) {
+          while (bills.size() >= target) {
+            wait();
+          }
+        }
+        int added;
+        synchronized (fetchLock) {
+          added = fetchPage(client);
+        }
+        SimulationLogger.log("[BillQueue] Queued " + added + " bill(s) (" + size() + "/" + target + " ready).");
+        if (added == 0) {
+          Thread.sleep(RETRY_DELAY_MS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (Exception e) {
+        SimulationLogger.log("[BillQueue] Prefetch failed: " + e.getMessage());
+        try {
+          Thread.sleep(RETRY_DELAY_MS);
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  /**
+   * Fetches pages from the cursor until one yields a bill the catalog has not seen, a fetch fails and is
+   * left for a retry, or the whole list has been walked once, and queues the new bills. Known bills are
+   * skipped without fetching their text. Caller holds fetchLock.
+   */
+  private int fetchPage(CongressClient client) throws Exception {
+    int origin = currentCursor();
+    int start = origin;
+    boolean wrapped = false;
+    while (!wrapped || start < origin) {
+      List<CongressClient.Candidate> page = client.listBills(start, PAGE_SIZE);
+      if (page.isEmpty()) {
+        if (start == 0 || wrapped) return 0;
+        SimulationLogger.log("[BillQueue] Bill list exhausted. Restarting from the first page.");
+        start = 0;
+        wrapped = true;
+        continue;
+      }
+      List<CongressClient.Candidate> fresh = new ArrayList<>();
+      for (CongressClient.Candidate candidate : page) {
+        if (!isQueued(candidate.id()) && !catalog.containsId(candidate.id())) fresh.add(candidate);
+      }
+      int resumeAt = page.size();
+      int added = 0;
+      for (CongressClient.Fetched fetched : client.fetchBills(fresh)) {
+        String id = fetched.candidate().id();
+        if (fetched.failed()) {
+          int attempts = failedAttempts.merge(id, 1, Integer::sum);
+          if (attempts < MAX_FETCH_ATTEMPTS) {
+            resumeAt = Math.min(resumeAt, page.indexOf(fetched.candidate()));
+            continue;
+          }
+          SimulationLogger.log("[BillQueue] Giving up on " + id + " after " + attempts + " failed fetches.");
+        }
+        failedAttempts.remove(id);
+        Bill bill = fetched.bill();
+        if (bill == null) continue;
+        try {
+          catalog.add(bill, "congress.gov");
+        } catch (IOException e) {
+          SimulationLogger.log("[BillQueue] Failed to catalog " + bill.id() + ": " + e.getMessage());
+        }
+        synchronized (this) {
+          bills.addLast(StoredBill.of(bill));
+        }
+        added++;
+      }
+      synchronized (this) {
+        cursor = start + resumeAt;
+        save();
+      }
+      // After a failure, wait for the caller's retry delay rather than hammering the same page.
+      if (added > 0 || resumeAt < page.size()) return added;
+      start = currentCursor();
+    }
+    return 0;
+  }
+
+  private synchronized int currentCursor() {
+    return cursor;
+  }
+
+  private synchronized boolean isQueued(String id) {
+    for (StoredBill stored : bills) {
+      if (stored.id.equals(id)) return true;
+    }
+    return false;
+  }
+
+  private synchronized void load() {
+    try {
+      if (Files.exists(file)) {
+        QueueFile saved = MAPPER.readValue(Files.readString(file, StandardCharsets.UTF_8), QueueFile.class);
+        cursor = Math.max(0, saved.cursor);
+        if (saved.bills != null) bills.addAll(saved.bills);
+      } else if (Files.exists(LEGACY_OFFSET_FILE)) {
+        cursor = Math.max(0, Integer.parseInt(Files.readString(LEGACY_OFFSET_FILE, StandardCharsets.UTF_8).trim()));
+      }
+    } catch (Exception e) {
+      SimulationLogger.log("[BillQueue] Ignoring unreadable " + file + ": " + e.getMessage());
+    }
+  }
+
+  private synchronized void save() {
+    QueueFile out = new QueueFile();
+    out.cursor = cursor;
+    out.bills = new ArrayList<>(bills);
+    try {
+      Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+      Files.writeString(tmp, MAPPER.writeValueAsString(out), StandardCharsets.UTF_8);
+      Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      SimulationLogger.log("[BillQueue] Failed to save queue: " + e.getMessage());
+    }
+  }
+
+  private static class QueueFile {
+    public int cursor;
+    public List<StoredBill> bills = new ArrayList<>();
+  }
+
+  private static class StoredBill {
+    public String id;
+    public String title;
+    public String rawText;
+    public List<BillSection> sections = new ArrayList<>();
+
+    static StoredBill of(Bill bill) {
+      StoredBill stored = new StoredBill();
+      stored.id = bill.id();
+      stored.title = bill.title();
+      stored.rawText = bill.rawText();
+      stored.sections = new ArrayList<>(bill.sections());
+      return stored;
+    }
+
+    Bill toBill() {
+      Bill bill = new Bill(id, title, rawText);
+      if (sections != null) bill.setSections(sections);
+      return bill;
+    }
+  }
+}
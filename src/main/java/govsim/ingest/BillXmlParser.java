@@ -0,0 +1,285 @@
+package govsim.ingest;
+
+import govsim.domain.BillSection;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming StAX reader for Congress.gov "Formatted XML" bill text: the House/Senate bill DTD
+ * ({@code <section><enum><header>}) and USLM ({@code <section><num><heading>}). Each section or
+ * appropriations paragraph goes to the callback as soon as its end tag is read, so memory is bounded by
+ * the largest section rather than the bill. Titles, subtitles and divisions become each section's path.
+ */
+public final class BillXmlParser {
+  private static final Set<String> UNITS = Set.of(
+      "section", "appropriations-major", "appropriations-intermediate", "appropriations-small");
+  private static final Set<String> DIVISIONS = Set.of("division", "title", "subtitle", "part", "chapter");
+  private static final Set<String> LABELS = Set.of("enum", "num");
+  private static final Set<String> HEADINGS = Set.of("header", "heading");
+  private static final Set<String> SKIPPED = Set.of("metadata", "meta", "toc", "endorsement");
+  // Elements that sit inside a sentence; every other boundary separates words.
+  private static final Set<String> INLINE = Set.of("quote", "term", "external-xref", "internal-xref", "italic",
+      "bold", "superscript", "subscript", "fraction", "short-title", "act-name", "ref", "i", "b");
+  private static final Pattern AMOUNT = Pattern.compile(
+      "\\$\\s?(\\d[\\d,]*(?:\\.\\d+)?)(?:\\s+(thousand|million|billion|trillion))?", Pattern.CASE_INSENSITIVE);
+  private static final XMLInputFactory FACTORY = newFactory();
+
+  private final Consumer<BillSection> sink;
+  private final Deque<Frame> frames = new ArrayDeque<>();
+  private final StringBuilder captured = new StringBuilder();
+  private final StringBuilder title = new StringBuilder();
+  private int titleDepth = -1;
+  private Frame captureFrame;
+  private boolean captureHeading;
+  private int captureDepth = -1;
+  private int skipDepth = -1;
+  private int depth;
+
+  private BillXmlParser(Consumer<BillSection> sink) {
+    this.sink = sink;
+  }
+
+  /**
+   * Reads the whole document, handing sections to {@code sink} in document order.
+   *
+   * @return the bill's title from its metadata (e.g. "Clean Water Act"), else its official title, else ""
+   */
+  public static String parse(InputStream in, Consumer<BillSection> sink) throws IOException {
+    try {
+      XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+      try {
+        BillXmlParser parser = new BillXmlParser(sink);
+        parser.run(reader);
+        String title = collapse(parser.title);
+        // Metadata titles read "119 HR 144 IH: Short Title".
+        int colon = title.indexOf(": ");
+        return colon >= 0 && colon < 40 ? title.substring(colon + 2) : title;
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new IOException("Malformed bill XML: " + e.getMessage(), e);
+    }
+  }
+
+  public static List<BillSection> parse(InputStream in) throws IOException {
+    List<BillSection> sections = new ArrayList<>();
+    parse(in, sections::add);
+    return sections;
+  }
+
+  /** Flattens sections back into prompt text, one section per paragraph. */
+  public static String toText(List<BillSection> sections) {
+    StringBuilder sb = new StringBuilder();
+    for (BillSection section : sections) {
+      if (sb.length() > 0) sb.append("\n\n");
+      String heading = section.displayHeading();
+      if (!heading.isBlank()) sb.append(heading).append('\n');
+      sb.append(section.text());
+    }
+    return sb.toString();
+  }
+
+  /** Dollar amounts in {@code text}, with "million"/"billion" multipliers applied. */
+  public static List<Double> amounts(String text) {
+    List<Double> amounts = new ArrayList<>();
+    Matcher m = AMOUNT.matcher(text);
+    while (m.find()) {
+      double value;
+      try {
+        value = Double.parseDouble(m.group(1).replace(",", ""));
+      } catch (NumberFormatException e) {
+        continue;
+      }
+      String scale = m.group(2) == null ? "" : m.group(2).toLowerCase(Locale.ROOT);
+      switch (scale) {
+        case "thousand" -> value *= 1e3;
+        case "million" -> value *= 1e6;
+        case "billion" -> value *= 1e9;
+        case "trillion" -> value *= 1e12;
+        default -> { }
+      }
+      amounts.add(value);
+    }
+    return amounts;
+  }
+
+  private void run(XMLStreamReader reader) throws XMLStreamException {
+    while (reader.hasNext()) {
+      switch (reader.next()) {
+        case XMLStreamConstants.START_ELEMENT -> start(reader.getLocalName());
+        case XMLStreamConstants.END_ELEMENT -> end(reader.getLocalName());
+        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+            text(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+        case XMLStreamConstants.ENTITY_REFERENCE -> {
+          String decoded = HtmlStripper.strip("&" + reader.getLocalName() + ";");
+          text(decoded.toCharArray(), 0, decoded.length());
+        }
+        default -> { }
+      }
+    }
+  }
+
+  private void start(String name) {
+    depth++;
+    if (titleDepth < 0 && title.length() == 0
+        && (skipDepth >= 0 ? name.equals("title") : name.equals("official-title"))) {
+      titleDepth = depth;
+    }
+    if (skipDepth >= 0) return;
+    if (SKIPPED.contains(name)) {
+      skipDepth = depth;
+      return;
+    }
+    Frame parent = frames.peek();
+    if (UNITS.contains(name)) {
+      // Text a parent paragraph had before its first nested paragraph stands on its own.
+      if (parent != null && parent.unit) flush(parent);
+      frames.push(new Frame(name, depth, true));
+      return;
+    }
+    if (DIVISIONS.contains(name) && (parent == null || !parent.unit)) {
+      frames.push(new Frame(name, depth, false));
+      return;
+    }
+    boolean label = LABELS.contains(name);
+    if ((label || HEADINGS.contains(name)) && parent != null && depth == parent.depth + 1
+        && (label ? parent.label.isEmpty() : parent.heading.isEmpty())) {
+      captureFrame = parent;
+      captureHeading = !label;
+      captureDepth = depth;
+      captured.setLength(0);
+      return;
+    }
+    if (!INLINE.contains(name)) separate();
+  }
+
+  private void end(String name) {
+    try {
+      if (depth == titleDepth) titleDepth = -1;
+      if (skipDepth >= 0) {
+        if (depth == skipDepth) skipDepth = -1;
+        return;
+      }
+      if (depth == captureDepth) {
+        String value = collapse(captured);
+        if (captureHeading) captureFrame.heading = value;
+        else captureFrame.label = value;
+        captureFrame = null;
+        captureDepth = -1;
+        return;
+      }
+      Frame top = frames.peek();
+      if (top != null && top.depth == depth) {
+        frames.pop();
+        if (top.unit) flush(top);
+        return;
+      }
+      if (!INLINE.contains(name)) separate();
+    } finally {
+      depth--;
+    }
+  }
+
+  private void text(char[] chars, int start, int length) {
+    if (titleDepth >= 0) title.append(chars, start, length);
+    if (skipDepth >= 0) return;
+    if (captureDepth >= 0) {
+      captured.append(chars, start, length);
+      return;
+    }
+    Frame unit = frames.peek();
+    if (unit == null || !unit.unit) return;
+    for (int i = start; i < start + length; i++) {
+      char c = chars[i];
+      if (Character.isWhitespace(c) || c == '\u00a0') {
+        unit.pendingSpace = true;
+      } else {
+        if (unit.pendingSpace && unit.text.length() > 0) unit.text.append(' ');
+        unit.pendingSpace = false;
+        unit.text.append(c);
+      }
+    }
+  }
+
+  private void separate() {
+    Frame unit = frames.peek();
+    if (unit != null && unit.unit) unit.pendingSpace = true;
+  }
+
+  private void flush(Frame unit) {
+    if (unit.text.length() == 0 && (unit.emitted || (unit.label.isEmpty() && unit.heading.isEmpty()))) return;
+    String text = unit.text.toString();
+    String heading = unit.heading;
+    for (Frame frame : frames) {
+      // An untitled appropriations paragraph belongs under the nearest enclosing heading.
+      if (!heading.isEmpty() || !frame.unit) break;
+      if (frame != unit) heading = frame.heading;
+    }
+    sink.accept(new BillSection(path(), unit.label, heading, text, amounts(text)));
+    unit.text.setLength(0);
+    unit.pendingSpace = false;
+    unit.emitted = true;
+  }
+
+  private String path() {
+    StringBuilder sb = new StringBuilder();
+    for (var it = frames.descendingIterator(); it.hasNext(); ) {
+      Frame frame = it.next();
+      if (frame.unit) continue;
+      if (frame.label.isEmpty() && frame.heading.isEmpty()) continue;
+      // Bill XML numbers a title "I"; readers know it as "TITLE I".
+      String label = frame.label.isEmpty() || frame.label.toLowerCase(Locale.ROOT).startsWith(frame.name)
+          ? frame.label : frame.name.toUpperCase(Locale.ROOT) + " " + frame.label;
+      String heading = label.isEmpty() ? frame.heading
+          : frame.heading.isEmpty() ? label : label + "—" + frame.heading;
+      if (sb.length() > 0) sb.append(" / ");
+      sb.append(heading);
+    }
+    return sb.toString();
+  }
+
+  private static String collapse(CharSequence text) {
+    return text.toString().replace('\u00a0', ' ').replaceAll("\\s+", " ").trim();
+  }
+
+  private static XMLInputFactory newFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    // Bill files name a DTD we neither have nor need; never fetch it or expand external entities.
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
+  }
+
+  private static final class Frame {
+    final String name;
+    final int depth;
+    final boolean unit;
+    final StringBuilder text = new StringBuilder();
+    String label = "";
+    String heading = "";
+    boolean pendingSpace;
+    boolean emitted;
+
+    Frame(String name, int depth, boolean unit) {
+      this.name = name;
+      this.depth = depth;
+      this.unit = unit;
+    }
+  }
+}
@@ -0,0 +1,332 @@
+package govsim.ingest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.config.SimulationConfig;
+import govsim.core.SimulationLogger;
+import govsim.domain.Bill;
+import govsim.domain.BillSection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Builds a local bill corpus without the Congress.gov API, for machines with no network access. Reads
+ * govinfo bulk zips of bill XML, directories of bill XML, and the web app's {@code src/db/bills-cache.json}.
+ * Archives are decompressed as they stream and each document is parsed by a bounded worker pool, so only
+ * a few documents are in memory at once. Bills are appended to a JSONL corpus that
+ * {@code BatchRunner} reads directly, and recorded in the {@link BillCatalog} so daemon runs can draw
+ * unseen bills from it offline; ids already in the corpus are skipped. Bulk archives hold every printed
+ * version of a bill; file names are scanned first so only the latest version across all inputs is parsed.
+ *
+ * <p>Usage: {@code java -cp target/govsim-0.1.0-all.jar govsim.ingest.BulkIngest <corpus.jsonl> <zip|dir|bills-cache.json>...}.
+ */
+public class BulkIngest {
+  // govinfo file names: BILLS-119hr144ih.xml is H.R. 144 of the 119th Congress, introduced version.
+  private static final Pattern BULK_NAME = Pattern.compile("BILLS-(\\d+)([a-z]+?)(\\d+)([a-z]+)\\.xml");
+  private static final Pattern TEXT_PREFIX = Pattern.compile("^(\\d{2,3}) ([A-Z]+) (\\d+)\\b");
+  private static final long PROGRESS_EVERY = 500;
+  // govinfo version codes, earliest stage first: introduced, reported, passed one chamber, then the other,
+  // enrolled. Unknown codes rank below all of them; ties go to the later file name.
+  private static final List<String> STAGES = List.of("ih", "is", "rch", "rcs", "rh", "rs", "rth", "rts",
+      "pch", "pcs", "cph", "cps", "eh", "es", "rdh", "rds", "rfh", "rfs", "eah", "eas", "ath", "ats", "enr");
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final BillCatalog catalog = BillCatalog.shared(BillCatalog.DEFAULT_DIR);
+  private final Set<String> seen = ConcurrentHashMap.newKeySet();
+  // Bill id -> file name of its latest version in the inputs.
+  private final Map<String, String> latest = new HashMap<>();
+  private final AtomicInteger written = new AtomicInteger();
+  private final AtomicInteger skipped = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+  private final ThreadPoolExecutor workers;
+  private final BufferedWriter out;
+  private final long start = System.nanoTime();
+
+  public BulkIngest(Path corpus, int workerCount) throws IOException {
+    int threads = Math.max(1, workerCount);
+    // A full queue makes the reading thread parse the next document itself, which keeps at most
+    // 2 * threads + 1 documents buffered however large the archive.
+    this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(threads * 2), r -> {
+          Thread t = new Thread(r, "bulk-ingest");
+          t.setDaemon(true);
+          return t;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    if (Files.exists(corpus)) {
+      try (Stream<String> lines = Files.lines(corpus, StandardCharsets.UTF_8)) {
+        for (String line : (Iterable<String>) lines::iterator) {
+          if (!line.isBlank()) seen.add(mapper.readTree(line).path("id").asText());
+        }
+      }
+    }
+    if (corpus.getParent() != null) Files.createDirectories(corpus.getParent());
+    this.out = Files.newBufferedWriter(corpus, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND);
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println("Usage: BulkIngest <corpus.jsonl> <zip|dir|bills-cache.json>...");
+      System.exit(2);
+    }
+    SimulationConfig config = SimulationConfig.load();
+    BulkIngest ingest = new BulkIngest(Path.of(args[0]), config.ingestWorkers());
+    SimulationLogger.log("[Ingest] " + Math.max(1, config.ingestWorkers()) + " worker(s), "
+        + ingest.seen.size() + " bill(s) already in " + args[0] + ".");
+    List<Path> inputs = new ArrayList<>();
+    for (int i = 1; i < args.length; i++) {
+      inputs.add(Path.of(args[i]));
+    }
+    ingest.add(inputs);
+    ingest.finish();
+    System.exit(0);
+  }
+
+  public void add(Path input) throws IOException {
+    add(List.of(input));
+  }
+
+  /** Streams archives, directories and cache files through the worker pool, after picking bill versions. */
+  public void add(List<Path> inputs) throws IOException {
+    for (Path input : inputs) {
+      plan(input);
+    }
+    for (Path input : inputs) {
+      stream(input);
+    }
+  }
+
+  private void stream(Path input) throws IOException {
+    String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+    if (Files.isDirectory(input)) {
+      try (Stream<Path> files = Files.walk(input)) {
+        for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile).sorted()::iterator) {
+          String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+          if (fileName.endsWith(".xml")) {
+            String id = claim(file.getFileName().toString());
+            if (id != null) submitXml(id, file.getFileName().toString(), Files.readAllBytes(file));
+          } else if (fileName.endsWith(".zip")) {
+            addZip(file);
+          }
+        }
+      }
+    } else if (name.endsWith(".zip")) {
+      addZip(input);
+    } else if (name.endsWith(".xml")) {
+      String id = claim(input.getFileName().toString());
+      if (id != null) submitXml(id, input.getFileName().toString(), Files.readAllBytes(input));
+    } else if (name.endsWith(".json")) {
+      addCache(input);
+    } else {
+      throw new IOException("Don't know how to ingest " + input);
+    }
+  }
+
+  public void finish() throws InterruptedException, IOException {
+    workers.shutdown();
+    workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    synchronized (out) {
+      out.close();
+    }
+    double minutes = (System.nanoTime() - start) / 6e10;
+    SimulationLogger.log(String.format("[Ingest] Done: %d written, %d skipped (duplicate or too short), "
+        + "%d failed in %.1f s (%.0f bills/min).", written.get(), skipped.get(), failed.get(), minutes * 60,
+        minutes > 0 ? (written.get() + skipped.get()) / minutes : 0.0));
+  }
+
+  /** Records which version of each bill in {@code input} is the latest, from file names alone. */
+  private void plan(Path input) throws IOException {
+    String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+    if (Files.isDirectory(input)) {
+      try (Stream<Path> files = Files.walk(input)) {
+        for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+          String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+          if (fileName.endsWith(".xml")) {
+            consider(file.getFileName().toString());
+          } else if (fileName.endsWith(".zip")) {
+            planZip(file);
+          }
+        }
+      }
+    } else if (name.endsWith(".zip")) {
+      planZip(input);
+    } else if (name.endsWith(".xml")) {
+      consider(input.getFileName().toString());
+    }
+  }
+
+  /** Reads only the archive's central directory. */
+  private void planZip(Path zip) throws IOException {
+    try (ZipFile file = new ZipFile(zip.toFile())) {
+      Enumeration<? extends ZipEntry> entries = file.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        if (!entry.isDirectory()) consider(entryFileName(entry));
+      }
+    }
+  }
+
+  private void consider(String fileName) {
+    Matcher m = BULK_NAME.matcher(fileName);
+    if (!m.matches()) return;
+    latest.merge(billId(m.group(1), m.group(2), m.group(3)), fileName,
+        (current, candidate) -> later(candidate, current) ? candidate : current);
+  }
+
+  private static boolean later(String fileName, String than) {
+    int rank = stageRank(fileName);
+    int thanRank = stageRank(than);
+    return rank != thanRank ? rank > thanRank : fileName.compareTo(than) > 0;
+  }
+
+  private static int stageRank(String fileName) {
+    Matcher m = BULK_NAME.matcher(fileName);
+    return m.matches() ? STAGES.indexOf(m.group(4)) : -1;
+  }
+
+  /**
+   * Claims the bill {@code fileName} holds, on the reading thread so the outcome doesn't depend on worker
+   * timing. Returns its id, or null (counted as skipped) for an older version or a bill already taken.
+   */
+  private String claim(String fileName) {
+    Matcher m = BULK_NAME.matcher(fileName);
+    String id = m.matches() ? billId(m.group(1), m.group(2), m.group(3))
+        : fileName.substring(0, fileName.length() - ".xml".length());
+    String wanted = latest.get(id);
+    if ((wanted != null && !wanted.equals(fileName)) || !seen.add(id)) {
+      skipped.incrementAndGet();
+      return null;
+    }
+    return id;
+  }
+
+  private void addZip(Path zip) throws IOException {
+    try (ZipInputStream in = new ZipInputStream(new BufferedInputStream(Files.newInputStream(zip)))) {
+      ZipEntry entry;
+      while ((entry = in.getNextEntry()) != null) {
+        if (entry.isDirectory() || !entry.getName().toLowerCase(Locale.ROOT).endsWith(".xml")) continue;
+        String fileName = entryFileName(entry);
+        String id = claim(fileName);
+        if (id != null) submitXml(id, fileName, in.readAllBytes());
+      }
+    }
+  }
+
+  private static String entryFileName(ZipEntry entry) {
+    return entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+  }
+
+  /** The web app's cache is a JSON array of {id, title, rawText}; it is read one element at a time. */
+  private void addCache(Path file) throws IOException {
+    try (JsonParser parser = mapper.getFactory().createParser(Files.newInputStream(file))) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new IOException(file + " is not a JSON array");
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        JsonNode node = parser.readValueAsTree();
+        String rawText = node.path("rawText").asText("").trim();
+        Matcher m = TEXT_PREFIX.matcher(rawText);
+        String id = m.find() ? billId(m.group(1), m.group(2), m.group(3))
+            : "cache-" + node.path("id").asText();
+        // The first entry for an id wins, claimed here in file order.
+        if (!seen.add(id)) {
+          skipped.incrementAndGet();
+          continue;
+        }
+        String source = file.getFileName().toString();
+        submit(source, () -> write(id, node.path("title").asText(""), rawText, List.of(), source));
+      }
+    }
+  }
+
+  private void submitXml(String id, String fileName, byte[] xml) {
+    submit(fileName, () -> {
+      try (InputStream in = new ByteArrayInputStream(xml)) {
+        List<BillSection> sections = new ArrayList<>();
+        String title = BillXmlParser.parse(in, sections::add);
+        write(id, title.isBlank() ? id : title, BillXmlParser.toText(sections), sections, fileName);
+      }
+    });
+  }
+
+  /**
+   * Runs {@code task} on the pool. Any exception is counted as failed and logged, never thrown: a full queue
+   * runs the task on the reading thread, where a throw would abort the whole ingest.
+   */
+  private void submit(String source, Task task) {
+    workers.execute(() -> {
+      try {
+        task.run();
+      } catch (Exception e) {
+        failed.incrementAndGet();
+        SimulationLogger.log("[Ingest] " + source + ": " + e);
+      }
+    });
+  }
+
+  private interface Task {
+    void run() throws Exception;
+  }
+
+  /** Writes a claimed bill; see {@link #claim}. */
+  private void write(String id, String title, String rawText, List<BillSection> sections, String source)
+      throws IOException {
+    if (rawText.length() < CongressClient.MIN_TEXT_LEN) {
+      skipped.incrementAndGet();
+      return;
+    }
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("id", id);
+    row.put("title", title);
+    row.put("rawText", rawText);
+    row.put("sections", sections);
+    row.put("source", source);
+    String line = mapper.writeValueAsString(row);
+    synchronized (out) {
+      out.write(line);
+      out.newLine();
+    }
+    Bill bill = new Bill(id, title, rawText);
+    bill.setSections(sections);
+    catalog.add(bill, source);
+    int count = written.incrementAndGet();
+    if (count % PROGRESS_EVERY == 0) {
+      double minutes = (System.nanoTime() - start) / 6e10;
+      SimulationLogger.log(String.format("[Ingest] %d bill(s) written (%.0f/min).", count, count / minutes));
+    }
+  }
+
+  /** Same form as {@link CongressClient.Candidate#id()}, so corpus and API bills share ids. */
+  private static String billId(String congress, String type, String number) {
+    return congress + "-" + type.toLowerCase(Locale.ROOT) + "-" + number;
+  }
+}
@@ -0,0 +1,384 @@
+package govsim.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.config.SimulationConfig;
+import govsim.core.SimulationLogger;
+import govsim.domain.Bill;
+import govsim.domain.BillSection;
+import govsim.metrics.Counter;
+import govsim.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Congress.gov API calls used to find bills with usable text. Requests go out through
+ * {@link HttpClient#sendAsync} with at most {@code maxConcurrent} in flight and a token bucket for the
+ * API rate limit; responses with validators are cached on disk and revalidated with conditional GETs.
+ * Bill text is taken from the "Formatted XML" version when there is one, parsed into sections by
+ * {@link BillXmlParser}; otherwise the HTML is stripped by {@link HtmlStripper}. Both decode the body as it
+ * streams in, and the cache holds the decoded form.
+ * The base URL comes from CONGRESS_API_BASE, so a local stand-in server can replace the real API.
+ */
+public class CongressClient {
+  public static final int MIN_TEXT_LEN = 500;
+  private static final String DEFAULT_BASE = "https://api.congress.gov/v3";
+  private static final String BILL_ENDPOINT = "/bill/119";
+  private static final Counter CACHE_HITS = MetricsRegistry.global()
+      .counter("govsim_congress_requests_total", "Congress.gov requests by result", "result", "not_modified");
+  private static final Counter FETCHED = MetricsRegistry.global()
+      .counter("govsim_congress_requests_total", "Congress.gov requests by result", "result", "fetched");
+  private static final TypeReference<List<BillSection>> SECTION_LIST = new TypeReference<>() {};
+  private static final BodyCodec<String> RAW = text(CongressClient::readString);
+  private final HttpClient http = HttpClient.newBuilder()
+      .connectTimeout(Duration.ofSeconds(10))
+      .build();
+  private final ObjectMapper mapper = new ObjectMapper();
+  /** Formatted XML parsed straight into sections; only the cache copy is written as JSON. */
+  private final BodyCodec<List<BillSection>> sectionsCodec = new BodyCodec<>() {
+    @Override
+    public List<BillSection> read(InputStream in, long length) throws IOException {
+      return BillXmlParser.parse(in);
+    }
+
+    @Override
+    public String encode(List<BillSection> body) throws IOException {
+      return mapper.writeValueAsString(body);
+    }
+
+    @Override
+    public List<BillSection> decode(String cached) throws IOException {
+      return mapper.readValue(cached, SECTION_LIST);
+    }
+  };
+  private final ExecutorService gate = Executors.newCachedThreadPool(r -> {
+    Thread t = new Thread(r, "congress-fetch");
+    t.setDaemon(true);
+    return t;
+  });
+  private final String baseUrl;
+  private final String apiKey;
+  private final Semaphore permits;
+  private final TokenBucket bucket;
+  private final HttpCache cache;
+
+  public CongressClient(String baseUrl, String apiKey, int maxConcurrent, double requestsPerSecond, HttpCache cache) {
+    this.baseUrl = baseUrl;
+    this.apiKey = apiKey;
+    this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    this.bucket = new TokenBucket(requestsPerSecond, Math.max(1, maxConcurrent));
+    this.cache = cache;
+  }
+
+  /** @return a client configured from CONGRESS_API_KEY / CONGRESS_API_BASE, or null without an API key */
+  public static CongressClient fromEnvironment(SimulationConfig config) {
+    String apiKey = readEnv("CONGRESS_API_KEY");
+    if (apiKey == null || apiKey.isBlank()) return null;
+    String baseUrl = readEnv("CONGRESS_API_BASE");
+    if (baseUrl == null || baseUrl.isBlank()) {
+      baseUrl = DEFAULT_BASE;
+    }
+    HttpCache cache = "off".equalsIgnoreCase(config.httpCachePath())
+        ? null : new HttpCache(Path.of(config.httpCachePath()));
+    return new CongressClient(baseUrl, apiKey, config.congressConcurrency(), config.congressRatePerSecond(), cache);
+  }
+
+  public List<Candidate> listBills(int offset, int limit) throws Exception {
+    int safeOffset = Math.max(0, offset);
+    String listUrl = baseUrl + BILL_ENDPOINT + "?limit=" + limit + "&offset=" + safeOffset +
+        "&format=json&api_key=" + apiKey;
+    // The list changes as bills are introduced, so it is never served from cache.
+    String body = get(listUrl, Duration.ofSeconds(30), false, RAW).get();
+    JsonNode bills = mapper.readTree(body).path("bills");
+    List<Candidate> candidates = new ArrayList<>();
+    if (!bills.isArray()) return candidates;
+    for (JsonNode billNode : bills) {
+      candidates.add(new Candidate(
+          billNode.path("congress").asText(""),
+          billNode.path("type").asText(""),
+          billNode.path("number").asText(""),
+          billNode.path("title").asText("")));
+    }
+    return candidates;
+  }
+
+  /**
+   * Fetches every candidate's text concurrently.
+   *
+   * @return one result per candidate, in candidate order
+   */
+  public List<Fetched> fetchBills(List<Candidate> candidates) {
+    List<CompletableFuture<Fetched>> futures = new ArrayList<>();
+    for (Candidate candidate : candidates) {
+      futures.add(fetchBillAsync(candidate)
+          .thenApply(bill -> new Fetched(candidate, bill, false))
+          .exceptionally(e -> {
+            boolean transientError = isTransient(e);
+            SimulationLogger.log("[Congress] " + candidate.id() + " failed"
+                + (transientError ? " (will retry)" : "") + ": " + rootMessage(e));
+            return new Fetched(candidate, null, transientError);
+          }));
+    }
+    List<Fetched> results = new ArrayList<>();
+    for (CompletableFuture<Fetched> future : futures) {
+      results.add(future.join());
+    }
+    return results;
+  }
+
+  public CompletableFuture<Bill> fetchBillAsync(Candidate candidate) {
+    if (candidate.congress().isBlank() || candidate.type().isBlank() || candidate.number().isBlank()
+        || candidate.title().isBlank()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    String url = baseUrl + "/bill/" + candidate.congress() + "/" + candidate.type().toLowerCase() + "/"
+        + candidate.number() + "/text?format=json&api_key=" + apiKey;
+    return get(url, Duration.ofSeconds(30), true, RAW)
+        .thenCompose(body -> {
+          TextUrls urls;
+          try {
+            urls = pickTextUrls(mapper.readTree(body));
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+          if (urls.xml() == null) return fetchHtml(candidate, urls.html());
+          return fetchXml(candidate, urls.xml())
+              .handle((bill, error) -> {
+                if (error != null) {
+                  SimulationLogger.log("[Congress] " + candidate.id() + " XML unusable: " + rootMessage(error));
+                }
+                return bill;
+              })
+              .thenCompose(bill -> bill != null ? CompletableFuture.completedFuture(bill)
+                  : fetchHtml(candidate, urls.html()));
+        });
+  }
+
+  /** Structured text: sections with headings and amounts, flattened once more for the prompt text. */
+  private CompletableFuture<Bill> fetchXml(Candidate candidate, String url) {
+    return get(url, Duration.ofSeconds(60), true, sectionsCodec)
+        .thenApply(sections -> {
+          String text = BillXmlParser.toText(sections);
+          if (text.length() < MIN_TEXT_LEN) return null;
+          Bill bill = new Bill(candidate.id(), candidate.title(), text);
+          bill.setSections(sections);
+          return bill;
+        });
+  }
+
+  private CompletableFuture<Bill> fetchHtml(Candidate candidate, String url) {
+    if (url == null) return CompletableFuture.completedFuture(null);
+    return get(url, Duration.ofSeconds(60), true,
+        text((in, length) -> HtmlStripper.strip(new InputStreamReader(in, StandardCharsets.UTF_8), length)))
+        .thenApply(text -> text.length() < MIN_TEXT_LEN
+            ? null : new Bill(candidate.id(), candidate.title(), text));
+  }
+
+  private TextUrls pickTextUrls(JsonNode root) {
+    JsonNode versions = root.path("textVersions");
+    if (!versions.isArray() || versions.isEmpty()) return new TextUrls(null, null);
+    JsonNode latest = versions.get(0);
+    JsonNode formats = latest.path("formats");
+    if (!formats.isArray()) return new TextUrls(null, null);
+
+    String html = null;
+    String xml = null;
+    String any = null;
+    for (JsonNode fmt : formats) {
+      String fmtType = fmt.path("type").asText("");
+      String fmtUrl = fmt.path("url").asText("");
+      if (fmtUrl.isBlank()) continue;
+      if ("Formatted Text (HTML)".equals(fmtType)) html = fmtUrl;
+      if ("Formatted XML".equals(fmtType)) xml = fmtUrl;
+      if (any == null) any = fmtUrl;
+    }
+    // Any other format is stripped like HTML.
+    return new TextUrls(xml, html != null ? html : xml == null ? any : null);
+  }
+
+  /**
+   * Rate-limited GET; with {@code cacheable}, revalidates a cached copy instead of downloading it again.
+   * The body is decoded by {@code codec} as it streams in, and the decoded form is what gets cached.
+   */
+  private <T> CompletableFuture<T> get(String url, Duration timeout, boolean cacheable, BodyCodec<T> codec) {
+    HttpCache.Entry cached = cacheable && cache != null ? cache.get(url) : null;
+    HttpRequest.Builder builder = HttpRequest.newBuilder()
+        .uri(URI.create(url))
+        .timeout(timeout)
+        .GET();
+    if (cached != null && cached.etag != null) builder.header("If-None-Match", cached.etag);
+    if (cached != null && cached.lastModified != null) builder.header("If-Modified-Since", cached.lastModified);
+    HttpRequest request = builder.build();
+
+    return CompletableFuture.runAsync(() -> {
+      try {
+        permits.acquire();
+        try {
+          bucket.acquire();
+        } catch (InterruptedException e) {
+          permits.release();
+          throw e;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CompletionException(e);
+      }
+    }, gate).thenCompose(ignored -> http.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+        .whenComplete((response, error) -> {
+          // On success the permit is held until the body has been read below.
+          if (error != null) permits.release();
+        }))
+        .thenApplyAsync(response -> {
+          try (InputStream in = response.body()) {
+            if (response.statusCode() == 304 && cached != null) {
+              CACHE_HITS.inc();
+              return codec.decode(cached.body);
+            }
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+              throw new HttpStatusException(response.statusCode(), url);
+            }
+            T body = codec.read(in, response.headers().firstValueAsLong("Content-Length").orElse(-1));
+            FETCHED.inc();
+            if (cacheable && cache != null) {
+              cache.put(url, response.headers().firstValue("ETag").orElse(null),
+                  response.headers().firstValue("Last-Modified").orElse(null), codec.encode(body));
+            }
+            return body;
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          } finally {
+            permits.release();
+          }
+        }, gate);
+  }
+
+  private static String readString(InputStream in, long length) throws IOException {
+    return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+  }
+
+  private static String rootMessage(Throwable e) {
+    return rootCause(e).getMessage();
+  }
+
+  private static Throwable rootCause(Throwable e) {
+    Throwable cause = e;
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
+  /** Rate limiting, server errors and network trouble may pass; other client errors and bad bodies won't. */
+  private static boolean isTransient(Throwable e) {
+    Throwable cause = rootCause(e);
+    if (cause instanceof HttpStatusException status) {
+      return status.status == 408 || status.status == 429 || status.status >= 500;
+    }
+    return cause instanceof IOException && !(cause instanceof JsonProcessingException);
+  }
+
+  private static String readEnv(String key) {
+    String env = System.getenv(key);
+    if (env != null && !env.isBlank()) return env;
+    String val = readEnvFile(Path.of(".env"), key);
+    if (val != null) return val;
+    return readEnvFile(Path.of(".env.local"), key);
+  }
+
+  private static String readEnvFile(Path path, String key) {
+    if (!Files.exists(path)) return null;
+    try {
+      for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+        int idx = trimmed.indexOf('=');
+        if (idx <= 0) continue;
+        String k = trimmed.substring(0, idx).trim();
+        if (!k.equals(key)) continue;
+        return trimmed.substring(idx + 1).trim();
+      }
+    } catch (IOException ignored) {
+    }
+    return null;
+  }
+
+  private interface BodyReader {
+    String read(InputStream in, long length) throws IOException;
+  }
+
+  /** Decodes a body as it streams in, and turns the decoded form into the text kept in the cache and back. */
+  private interface BodyCodec<T> {
+    T read(InputStream in, long length) throws IOException;
+
+    String encode(T body) throws IOException;
+
+    T decode(String cached) throws IOException;
+  }
+
+  /** A text body, cached as read. */
+  private static BodyCodec<String> text(BodyReader reader) {
+    return new BodyCodec<>() {
+      @Override
+      public String read(InputStream in, long length) throws IOException {
+        return reader.read(in, length);
+      }
+
+      @Override
+      public String encode(String body) {
+        return body;
+      }
+
+      @Override
+      public String decode(String cached) {
+        return cached;
+      }
+    };
+  }
+
+  private record TextUrls(String xml, String html) {}
+
+  private static final class HttpStatusException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+    final int status;
+
+    HttpStatusException(int status, String url) {
+      super("HTTP " + status + " for " + HttpCache.stripApiKey(url));
+      this.status = status;
+    }
+  }
+
+  /**
+   * One candidate's fetch.
+   *
+   * @param bill   the bill, or null when it has no text of at least MIN_TEXT_LEN or its requests failed
+   * @param failed whether a request failed in a way a later attempt may not
+   */
+  public record Fetched(Candidate candidate, Bill bill, boolean failed) {}
+
+  /** One row of the bill list. */
+  public record Candidate(String congress, String type, String number, String title) {
+    public String id() {
+      return congress + "-" + type.toLowerCase() + "-" + number;
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package govsim.ingest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
+
+/**
+ * Turns bill HTML or XML into plain text in a single pass over a {@link Reader}. Tags become whitespace,
+ * {@code <script>}, {@code <style>} and comment contents are dropped, character references are decoded
+ * and whitespace runs collapse to one space, all written straight into one pre-sized buffer.
+ */
+public final class HtmlStripper {
+  private static final int TEXT = 0;
+  private static final int TAG_OPEN = 1;
+  private static final int TAG_NAME = 2;
+  private static final int TAG_BODY = 3;
+  private static final int COMMENT = 4;
+  private static final int RAW = 5;
+  private static final int ENTITY = 6;
+  private static final int MAX_ENTITY = 10;
+  private static final Map<String, Character> NAMED = Map.ofEntries(
+      Map.entry("amp", '&'), Map.entry("lt", '<'), Map.entry("gt", '>'), Map.entry("quot", '"'),
+      Map.entry("apos", '\''), Map.entry("nbsp", ' '), Map.entry("sect", '§'), Map.entry("para", '¶'),
+      Map.entry("ndash", '–'), Map.entry("mdash", '—'), Map.entry("lsquo", '‘'),
+      Map.entry("rsquo", '’'), Map.entry("ldquo", '“'), Map.entry("rdquo", '”'),
+      Map.entry("hellip", '…'));
+
+  private final StringBuilder out;
+  private final StringBuilder name = new StringBuilder();
+  private final StringBuilder entity = new StringBuilder();
+  private int state = TEXT;
+  private boolean pendingSpace;
+  private char quote;
+  private int dashes;
+  private String rawEnd;
+  private int rawMatched;
+
+  private HtmlStripper(int capacity) {
+    this.out = new StringBuilder(capacity);
+  }
+
+  public static String strip(String html) {
+    try {
+      return strip(new StringReader(html), html.length());
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @param sizeHint input length (e.g. Content-Length), or -1 if unknown; the output can be no longer, so
+   *     the buffer is allocated at that size once instead of being copied as it grows
+   */
+  public static String strip(Reader in, long sizeHint) throws IOException {
+    int capacity = sizeHint > 0 ? (int) Math.min(Integer.MAX_VALUE - 8, sizeHint) : 8192;
+    HtmlStripper stripper = new HtmlStripper(capacity);
+    char[] buf = new char[8192];
+    int n;
+    while ((n = in.read(buf)) != -1) {
+      for (int i = 0; i < n; i++) {
+        stripper.accept(buf[i]);
+      }
+    }
+    stripper.finish();
+    return stripper.out.toString();
+  }
+
+  private void accept(char c) {
+    switch (state) {
+      case TEXT -> text(c);
+      case TAG_OPEN -> {
+        if (Character.isLetter(c) || c == '/' || c == '!' || c == '?') {
+          name.setLength(0);
+          name.append(Character.toLowerCase(c));
+          state = TAG_NAME;
+        } else {
+          // A bare '<' in running text, as in "a < b".
+          state = TEXT;
+          emit('<');
+          text(c);
+        }
+      }
+      case TAG_NAME -> {
+        if (c == '>') {
+          endTag();
+        } else if (Character.isWhitespace(c)) {
+          state = TAG_BODY;
+        } else {
+          name.append(Character.toLowerCase(c));
+          if (name.length() == 3 && "!--".contentEquals(name)) {
+            dashes = 0;
+            state = COMMENT;
+          }
+        }
+      }
+      case TAG_BODY -> {
+        if (quote != 0) {
+          if (c == quote) quote = 0;
+        } else if (c == '"' || c == '\'') {
+          quote = c;
+        } else if (c == '>') {
+          endTag();
+        }
+      }
+      case COMMENT -> {
+        if (c == '-') {
+          dashes++;
+        } else if (c == '>' && dashes >= 2) {
+          pendingSpace = true;
+          state = TEXT;
+        } else {
+          dashes = 0;
+        }
+      }
+      case RAW -> {
+        if (Character.toLowerCase(c) == rawEnd.charAt(rawMatched)) {
+          rawMatched++;
+          if (rawMatched == rawEnd.length()) {
+            // Matched "</script"; the rest of the closing tag is consumed like any other tag.
+            name.setLength(0);
+            state = TAG_BODY;
+          }
+        } else {
+          rawMatched = c == '<' ? 1 : 0;
+        }
+      }
+      case ENTITY -> {
+        if (c == ';') {
+          decodeEntity();
+          state = TEXT;
+        } else if ((Character.isLetterOrDigit(c) || c == '#') && entity.length() < MAX_ENTITY) {
+          entity.append(c);
+        } else {
+          emitLiteralEntity();
+          state = TEXT;
+          text(c);
+        }
+      }
+      default -> throw new IllegalStateException("state " + state);
+    }
+  }
+
+  private void text(char c) {
+    if (c == '<') {
+      state = TAG_OPEN;
+    } else if (c == '&') {
+      entity.setLength(0);
+      state = ENTITY;
+    } else {
+      emit(c);
+    }
+  }
+
+  private void endTag() {
+    pendingSpace = true;
+    if ("script".contentEquals(name) || "style".contentEquals(name)) {
+      rawEnd = "</" + name;
+      rawMatched = 0;
+      state = RAW;
+    } else {
+      state = TEXT;
+    }
+  }
+
+  private void decodeEntity() {
+    if (entity.length() > 1 && entity.charAt(0) == '#') {
+      try {
+        boolean hex = entity.charAt(1) == 'x' || entity.charAt(1) == 'X';
+        int codePoint = Integer.parseInt(entity, hex ? 2 : 1, entity.length(), hex ? 16 : 10);
+        if (Character.isValidCodePoint(codePoint)) {
+          for (char ch : Character.toChars(codePoint)) {
+            emit(ch);
+          }
+          return;
+        }
+      } catch (NumberFormatException ignored) {
+        // Fall through to the literal text.
+      }
+    } else {
+      Character named = NAMED.get(entity.toString());
+      if (named != null) {
+        emit(named);
+        return;
+      }
+    }
+    emitLiteralEntity();
+    emit(';');
+  }
+
+  private void emitLiteralEntity() {
+    emit('&');
+    for (int i = 0; i < entity.length(); i++) {
+      emit(entity.charAt(i));
+    }
+  }
+
+  private void emit(char c) {
+    if (Character.isWhitespace(c) || c == '\u00a0') {
+      pendingSpace = true;
+      return;
+    }
+    if (pendingSpace && out.length() > 0) out.append(' ');
+    pendingSpace = false;
+    out.append(c);
+  }
+
+  private void finish() {
+    if (state == ENTITY) emitLiteralEntity();
+    if (state == TAG_OPEN) emit('<');
+  }
+}
@@ -0,0 +1,82 @@
+package govsim.ingest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import govsim.core.SimulationLogger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * On-disk cache of GET responses that carry an {@code ETag} or {@code Last-Modified} validator, so a
+ * later request can be made conditional and a {@code 304} answered from disk. The {@code api_key} query
+ * parameter is dropped from keys and stored URLs.
+ */
+public class HttpCache {
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private final Path dir;
+
+  public HttpCache(Path dir) {
+    this.dir = dir;
+  }
+
+  /** @return the cached entry for {@code url}, or null */
+  public Entry get(String url) {
+    Path file = dir.resolve(key(url) + ".json");
+    if (!Files.exists(file)) return null;
+    try {
+      return MAPPER.readValue(Files.readString(file, StandardCharsets.UTF_8), Entry.class);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** Stores a 200 response; ignored when it has no validator to revalidate with. */
+  public void put(String url, String etag, String lastModified, String body) {
+    if (etag == null && lastModified == null) return;
+    Entry entry = new Entry();
+    entry.url = stripApiKey(url);
+    entry.etag = etag;
+    entry.lastModified = lastModified;
+    entry.body = body;
+    try {
+      Files.createDirectories(dir);
+      String key = key(url);
+      Path tmp = dir.resolve(key + ".json.tmp");
+      Files.writeString(tmp, MAPPER.writeValueAsString(entry), StandardCharsets.UTF_8);
+      Files.move(tmp, dir.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      SimulationLogger.log("[HttpCache] Failed to store " + entry.url + ": " + e.getMessage());
+    }
+  }
+
+  static String stripApiKey(String url) {
+    return url.replaceAll("([?&])api_key=[^&]*&?", "$1").replaceAll("[?&]$", "");
+  }
+
+  private static String key(String url) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      StringBuilder hex = new StringBuilder();
+      for (byte b : digest.digest(stripApiKey(url).getBytes(StandardCharsets.UTF_8))) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static class Entry {
+    public String url;
+    public String etag;
+    public String lastModified;
+    public String body;
+  }
+}
@@ -0,0 +1,125 @@
+package govsim.ingest;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * MinHash signatures over five-word shingles, for spotting reintroduced and companion bills whose text is
+ * nearly identical. The fraction of equal slots in two signatures estimates the Jaccard similarity of the
+ * bills' shingle sets; {@link #bandKeys} splits a signature into LSH bands so candidates are found without
+ * comparing against every bill.
+ */
+public final class MinHash {
+  public static final int SIZE = 128;
+  /** 16 bands of 8 rows: a pair at 0.85 similarity shares a band 99% of the time, a pair at 0.5 about 6%. */
+  public static final int BANDS = 16;
+  private static final int ROWS = SIZE / BANDS;
+  private static final int SHINGLE_WORDS = 5;
+  private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+  private static final long FNV_PRIME = 0x100000001B3L;
+  private static final long[] SEEDS = new long[SIZE];
+
+  static {
+    long seed = 0x9E3779B97F4A7C15L;
+    for (int i = 0; i < SIZE; i++) {
+      seed = mix(seed + i);
+      SEEDS[i] = seed;
+    }
+  }
+
+  private MinHash() {}
+
+  public static int[] signature(String text) {
+    int[] signature = new int[SIZE];
+    Arrays.fill(signature, Integer.MAX_VALUE);
+    // Rolling window of the last SHINGLE_WORDS word hashes; words are lowercased letters and digits.
+    long[] window = new long[SHINGLE_WORDS];
+    int words = 0;
+    long word = FNV_OFFSET;
+    boolean inWord = false;
+    String lower = text == null ? "" : text.toLowerCase(Locale.ROOT);
+    for (int i = 0; i <= lower.length(); i++) {
+      char c = i < lower.length() ? lower.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        word = (word ^ c) * FNV_PRIME;
+        inWord = true;
+      } else if (inWord) {
+        window[words % SHINGLE_WORDS] = word;
+        words++;
+        if (words >= SHINGLE_WORDS) add(signature, shingle(window, words));
+        word = FNV_OFFSET;
+        inWord = false;
+      }
+    }
+    // Bills shorter than one shingle still get a signature from the words they have.
+    if (words > 0 && words < SHINGLE_WORDS) add(signature, shingle(window, words));
+    return signature;
+  }
+
+  /** Estimated Jaccard similarity: the fraction of slots where the signatures agree. */
+  public static double similarity(int[] a, int[] b) {
+    if (a == null || b == null || a.length != b.length || a.length == 0) return 0;
+    int equal = 0;
+    for (int i = 0; i < a.length; i++) {
+      if (a[i] == b[i]) equal++;
+    }
+    return equal / (double) a.length;
+  }
+
+  /** One key per band; two signatures are LSH candidates when any band key matches. */
+  public static long[] bandKeys(int[] signature) {
+    long[] keys = new long[BANDS];
+    for (int band = 0; band < BANDS; band++) {
+      long h = band;
+      for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+        h = mix(h * 31 + signature[row]);
+      }
+      keys[band] = h;
+    }
+    return keys;
+  }
+
+  /** Signatures are stored in the catalog log as base64 rather than 128 JSON numbers. */
+  public static String encode(int[] signature) {
+    ByteBuffer buf = ByteBuffer.allocate(signature.length * Integer.BYTES);
+    buf.asIntBuffer().put(signature);
+    return Base64.getEncoder().encodeToString(buf.array());
+  }
+
+  public static int[] decode(String encoded) {
+    if (encoded == null || encoded.isEmpty()) return null;
+    try {
+      ByteBuffer buf = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+      int[] signature = new int[buf.remaining() / Integer.BYTES];
+      buf.asIntBuffer().get(signature);
+      return signature.length == SIZE ? signature : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static long shingle(long[] window, int words) {
+    long h = 0;
+    int count = Math.min(words, SHINGLE_WORDS);
+    for (int k = count; k > 0; k--) {
+      h = h * FNV_PRIME + window[(words - k) % SHINGLE_WORDS];
+    }
+    return h;
+  }
+
+  private static void add(int[] signature, long shingle) {
+    for (int i = 0; i < SIZE; i++) {
+      int h = (int) (mix(shingle ^ SEEDS[i]) >>> 32);
+      if (h < signature[i]) signature[i] = h;
+    }
+  }
+
+  /** SplitMix64 finalizer: a cheap, well-distributed 64-bit hash, seeded per slot above. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
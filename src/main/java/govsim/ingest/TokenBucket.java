@@ -0,0 +1,33 @@
+package govsim.ingest;
+
+/** Blocking token bucket: {@code ratePerSecond} sustained, with bursts up to {@code capacity}. */
+public class TokenBucket {
+  private final double ratePerSecond;
+  private final double capacity;
+  private double tokens;
+  private long lastRefill = System.nanoTime();
+
+  public TokenBucket(double ratePerSecond, double capacity) {
+    this.ratePerSecond = Math.max(0.001, ratePerSecond);
+    this.capacity = Math.max(1, capacity);
+    this.tokens = this.capacity;
+  }
+
+  public synchronized void acquire() throws InterruptedException {
+    while (true) {
+      refill();
+      if (tokens >= 1) {
+        tokens -= 1;
+        return;
+      }
+      long waitMs = (long) Math.ceil((1 - tokens) / ratePerSecond * 1000);
+      wait(Math.max(1, waitMs));
+    }
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(capacity, tokens + (now - lastRefill) / 1e9 * ratePerSecond);
+    lastRefill = now;
+  }
+}
@@ -0,0 +1,82 @@
+package govsim.llm;
+
+import govsim.domain.Bill;
+import govsim.domain.BillSection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Splits a long bill into prompt-sized pieces on section boundaries. Parsed {@link BillSection}s are used
+ * when ingest produced them; plain text is split before "SEC. n." / "SECTION n." headings, at a line start
+ * or, since stripped HTML is one long line, inline when the number ends with a period. Consecutive
+ * sections are packed into one chunk up to the limit, and a single section longer than the limit is cut
+ * at paragraph, then sentence, boundaries.
+ */
+public final class BillChunker {
+  private BillChunker() {}
+
+  /** @param label the first section's heading, for progress lines and the map prompt */
+  public record Chunk(int index, String label, String text) {}
+
+  /** @return one chunk holding the whole text when it already fits in {@code maxChars} */
+  public static List<Chunk> split(Bill bill, int maxChars) {
+    List<String[]> units = new ArrayList<>();
+    if (!bill.sections().isEmpty()) {
+      for (BillSection section : bill.sections()) {
+        String heading = section.displayHeading();
+        units.add(new String[] {heading, heading.isBlank() ? section.text() : heading + "\n" + section.text()});
+      }
+    } else {
+      String text = bill.rawText() == null ? "" : bill.rawText();
+      Matcher m = BillSection.PLAIN_TEXT_START.matcher(text);
+      int start = 0;
+      while (m.find()) {
+        if (m.start() > start) units.add(unit(text.substring(start, m.start())));
+        start = m.start();
+      }
+      units.add(unit(text.substring(start)));
+    }
+
+    List<Chunk> chunks = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    String label = "";
+    for (String[] unit : units) {
+      for (String piece : cut(unit[1], maxChars)) {
+        if (current.length() > 0 && current.length() + 2 + piece.length() > maxChars) {
+          chunks.add(new Chunk(chunks.size(), label, current.toString()));
+          current.setLength(0);
+        }
+        if (current.length() == 0) label = unit[0];
+        else current.append("\n\n");
+        current.append(piece);
+      }
+    }
+    if (current.length() > 0 || chunks.isEmpty()) chunks.add(new Chunk(chunks.size(), label, current.toString()));
+    return chunks;
+  }
+
+  private static String[] unit(String text) {
+    String trimmed = text.strip();
+    int newline = trimmed.indexOf('\n');
+    String firstLine = newline < 0 ? trimmed : trimmed.substring(0, newline);
+    return new String[] {firstLine.length() > 80 ? firstLine.substring(0, 80) : firstLine, trimmed};
+  }
+
+  /** Cuts text longer than {@code maxChars} at the last paragraph or sentence break that fits. */
+  private static List<String> cut(String text, int maxChars) {
+    List<String> pieces = new ArrayList<>();
+    String rest = text.strip();
+    while (rest.length() > maxChars) {
+      int at = rest.lastIndexOf("\n\n", maxChars);
+      if (at < maxChars / 2) at = Math.max(rest.lastIndexOf(". ", maxChars - 1) + 1, 0);
+      if (at < maxChars / 2) at = rest.lastIndexOf(' ', maxChars);
+      if (at <= 0) at = maxChars;
+      pieces.add(rest.substring(0, at).strip());
+      rest = rest.substring(at).strip();
+    }
+    if (!rest.isEmpty()) pieces.add(rest);
+    return pieces;
+  }
+}
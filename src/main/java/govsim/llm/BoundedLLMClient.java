@@ -0,0 +1,29 @@
+package govsim.llm;
+
+import java.util.concurrent.Semaphore;
+
+/** Caps how many requests are in flight to the wrapped client, shared by every caller holding it. */
+public class BoundedLLMClient implements LLMClient {
+  private final LLMClient delegate;
+  private final Semaphore permits;
+
+  public BoundedLLMClient(LLMClient delegate, int maxConcurrent) {
+    this.delegate = delegate;
+    this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+  }
+
+  @Override
+  public String generateJson(String prompt) throws Exception {
+    return generateJson(prompt, null);
+  }
+
+  @Override
+  public String generateJson(String prompt, LLMRequestOptions options) throws Exception {
+    permits.acquire();
+    try {
+      return delegate.generateJson(prompt, options);
+    } finally {
+      permits.release();
+    }
+  }
+}
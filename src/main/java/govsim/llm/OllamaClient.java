@@ -3,6 +3,9 @@ package govsim.llm;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import govsim.metrics.Counter;
+import govsim.metrics.Histogram;
+import govsim.metrics.MetricsRegistry;
 
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -11,6 +14,14 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 
 public class OllamaClient implements LLMClient {
+  private static final Histogram LATENCY = MetricsRegistry.global()
+      .histogram("govsim_llm_request_seconds", "Ollama generate request latency");
+  private static final Counter REQUESTS_OK = MetricsRegistry.global()
+      .counter("govsim_llm_requests_total", "Ollama generate requests by result", "result", "ok");
+  private static final Counter REQUESTS_FAILED = MetricsRegistry.global()
+      .counter("govsim_llm_requests_total", "Ollama generate requests by result", "result", "error");
+  private static final Counter PROMPT_CHARS = MetricsRegistry.global()
+      .counter("govsim_llm_prompt_chars_total", "Characters of prompt text sent to Ollama");
   private final HttpClient http = HttpClient.newBuilder()
       .connectTimeout(Duration.ofSeconds(10))
       .build();
@@ -18,11 +29,36 @@ public class OllamaClient implements LLMClient {
   private final String baseUrl; // e.g. http://localhost:11434
   private final String model;   // e.g. "gemma2:2b"
   private final int numPredict;
+  private final String keepAlive; // e.g. "30m"; null leaves Ollama's default
 
   public OllamaClient(String baseUrl, String model, int numPredict) {
+    this(baseUrl, model, numPredict, null);
+  }
+
+  public OllamaClient(String baseUrl, String model, int numPredict, String keepAlive) {
     this.baseUrl = baseUrl;
     this.model = model;
     this.numPredict = numPredict;
+    this.keepAlive = keepAlive == null || keepAlive.isBlank() ? null : keepAlive;
+  }
+
+  /** Loads the model and opens a connection ahead of the first real prompt. */
+  public void warmUp() throws Exception {
+    ObjectNode body = mapper.createObjectNode();
+    body.put("model", model);
+    if (keepAlive != null) {
+      body.put("keep_alive", keepAlive);
+    }
+    HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create(baseUrl + "/api/generate"))
+        .header("Content-Type", "application/json")
+        .timeout(Duration.ofSeconds(300))
+        .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+        .build();
+    HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+      throw new IllegalStateException("Ollama error " + response.statusCode() + ": " + response.body());
+    }
   }
 
   @Override
@@ -42,6 +78,9 @@ public class OllamaClient implements LLMClient {
     body.put("prompt", prompt);
     body.put("stream", false);
     body.put("format", "json");
+    if (keepAlive != null) {
+      body.put("keep_alive", keepAlive);
+    }
     if (effectiveNumPredict > 0) {
       ObjectNode options = body.putObject("options");
       options.put("num_predict", effectiveNumPredict);
@@ -54,10 +93,22 @@ public class OllamaClient implements LLMClient {
         .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
         .build();
 
-    HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+    PROMPT_CHARS.add(prompt.length());
+    long start = System.nanoTime();
+    HttpResponse<String> response;
+    try {
+      response = http.send(request, HttpResponse.BodyHandlers.ofString());
+    } catch (Exception e) {
+      REQUESTS_FAILED.inc();
+      throw e;
+    } finally {
+      LATENCY.recordSince(start);
+    }
     if (response.statusCode() < 200 || response.statusCode() >= 300) {
+      REQUESTS_FAILED.inc();
       throw new IllegalStateException("Ollama error " + response.statusCode() + ": " + response.body());
     }
+    REQUESTS_OK.inc();
     JsonNode root = mapper.readTree(response.body());
     JsonNode respNode = root.get("response");
     if (respNode == null || respNode.isNull()) {
@@ -0,0 +1,63 @@
+package govsim.llm;
+
+/**
+ * Shares a fixed number of inference slots between foreground work (the debate people are watching)
+ * and background work (analysing the next bill). A background request only takes a slot when one is free
+ * and no foreground request is waiting, so background work fills gaps but never delays the debate by
+ * more than the one request already in flight.
+ */
+public class PriorityLLMClient {
+  private final LLMClient delegate;
+  private final int slots;
+  private int inUse;
+  private int foregroundWaiting;
+
+  public PriorityLLMClient(LLMClient delegate, int slots) {
+    this.delegate = delegate;
+    this.slots = Math.max(1, slots);
+  }
+
+  public LLMClient foreground() {
+    return lane(true);
+  }
+
+  public LLMClient background() {
+    return lane(false);
+  }
+
+  private LLMClient lane(boolean foreground) {
+    return new LLMClient() {
+      @Override
+      public String generateJson(String prompt) throws Exception {
+        return generateJson(prompt, null);
+      }
+
+      @Override
+      public String generateJson(String prompt, LLMRequestOptions options) throws Exception {
+        acquire(foreground);
+        try {
+          return delegate.generateJson(prompt, options);
+        } finally {
+          release();
+        }
+      }
+    };
+  }
+
+  private synchronized void acquire(boolean foreground) throws InterruptedException {
+    if (foreground) foregroundWaiting++;
+    try {
+      while (inUse >= slots || (!foreground && foregroundWaiting > 0)) {
+        wait();
+      }
+      inUse++;
+    } finally {
+      if (foreground) foregroundWaiting--;
+    }
+  }
+
+  private synchronized void release() {
+    inUse--;
+    notifyAll();
+  }
+}
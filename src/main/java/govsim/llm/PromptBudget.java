@@ -0,0 +1,160 @@
+package govsim.llm;
+
+import govsim.core.SimulationLogger;
+import govsim.metrics.Counter;
+import govsim.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps prompts inside the model's context window. A prompt is its fixed instructions plus named sections
+ * (bill text, facts, memory, ...). Sections are filled in priority order, and each one still waiting gets a
+ * small reserve so it is never dropped outright. A section that doesn't fit is replaced by its summary when
+ * it has one, then cut at a line or sentence boundary, keeping its start or its end.
+ *
+ * <p>Token counts are estimates: roughly four characters per token for words, three for numbers and one per
+ * punctuation mark, which tracks common BPE tokenizers closely enough to size prompts. Requested and kept
+ * tokens per section are counted in {@code govsim_prompt_section_tokens_total} for tuning the budget.
+ */
+public final class PromptBudget {
+  /** Tokens held back for each lower-priority section while higher ones are placed. */
+  private static final int RESERVE_TOKENS = 48;
+  private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+  /** Prompt kinds whose first trim has been logged; later trims show only in the metrics. */
+  private static final Set<String> LOGGED = ConcurrentHashMap.newKeySet();
+
+  /** Which end of an over-long section survives: the opening (bill text, facts) or the latest (logs). */
+  public enum Keep { HEAD, TAIL }
+
+  /**
+   * @param priority lower is placed first
+   * @param summary  shorter stand-in tried before cutting {@code text}, or null
+   */
+  public record Section(String name, int priority, String text, Keep keep, String summary) {
+    public Section(String name, int priority, String text, Keep keep) {
+      this(name, priority, text, keep, null);
+    }
+  }
+
+  private final int maxTokens;
+
+  /** @param maxTokens prompt budget in estimated tokens; 0 or less leaves every prompt as it is */
+  public PromptBudget(int maxTokens) {
+    this.maxTokens = maxTokens;
+  }
+
+  public int maxTokens() {
+    return maxTokens;
+  }
+
+  /**
+   * @param prompt which prompt this is, for the metrics and the log line written on its first trim
+   * @param fixed  the prompt with every section left empty
+   * @return each section's text to use, keyed by name
+   */
+  public Map<String, String> fit(String prompt, String fixed, List<Section> sections) {
+    Map<String, String> fitted = new LinkedHashMap<>();
+    List<Section> ordered = new ArrayList<>(sections);
+    ordered.sort(Comparator.comparingInt(Section::priority));
+    int[] needs = new int[ordered.size()];
+    for (int i = 0; i < ordered.size(); i++) {
+      needs[i] = estimateTokens(ordered.get(i).text());
+    }
+    int available = maxTokens - estimateTokens(fixed);
+    List<String> trimmed = new ArrayList<>();
+    for (int i = 0; i < ordered.size(); i++) {
+      Section section = ordered.get(i);
+      String text = section.text() == null ? "" : section.text();
+      int need = needs[i];
+      String kept = text;
+      int keptTokens = need;
+      if (maxTokens > 0) {
+        int reserve = 0;
+        for (int j = i + 1; j < ordered.size(); j++) {
+          reserve += Math.min(needs[j], RESERVE_TOKENS);
+        }
+        int allowance = Math.max(0, available - reserve);
+        if (need > allowance) {
+          boolean summarized = section.summary() != null && !section.summary().isBlank();
+          kept = cut(summarized ? section.summary() : text, allowance, section.keep());
+          keptTokens = estimateTokens(kept);
+          trimmed.add(section.name() + " " + need + "->" + keptTokens + (summarized ? " (summary)" : ""));
+        }
+        available -= keptTokens;
+      }
+      fitted.put(section.name(), kept);
+      counter(prompt, section.name(), "requested").add(need);
+      counter(prompt, section.name(), "kept").add(keptTokens);
+    }
+    if (!trimmed.isEmpty() && LOGGED.add(prompt)) {
+      SimulationLogger.log("[Prompt] " + prompt + " over " + maxTokens + " tokens; trimmed "
+          + String.join(", ", trimmed) + ". Further trims of " + prompt + " prompts are only counted in "
+          + "govsim_prompt_section_tokens_total.");
+    }
+    return fitted;
+  }
+
+  /** Estimated BPE tokens in {@code text}. */
+  public static int estimateTokens(CharSequence text) {
+    if (text == null) return 0;
+    int tokens = 0;
+    int n = text.length();
+    int i = 0;
+    while (i < n) {
+      char c = text.charAt(i);
+      if (Character.isLetter(c)) {
+        int start = i;
+        while (i < n && Character.isLetter(text.charAt(i))) i++;
+        tokens += (i - start + 3) / 4;
+      } else if (Character.isDigit(c)) {
+        int start = i;
+        while (i < n && Character.isDigit(text.charAt(i))) i++;
+        tokens += (i - start + 2) / 3;
+      } else {
+        if (!Character.isWhitespace(c)) tokens++;
+        i++;
+      }
+    }
+    return tokens;
+  }
+
+  /** Shortens {@code text} to about {@code tokens}, at a line or sentence boundary when one is near. */
+  static String cut(String text, int tokens, Keep keep) {
+    if (estimateTokens(text) <= tokens) return text;
+    String marker = keep == Keep.HEAD ? "\n[... cut to fit the prompt]" : "[... earlier entries cut]\n";
+    int room = tokens - estimateTokens(marker);
+    if (room <= 0) return "(omitted to fit the prompt)";
+    // Start from the proportional length and shrink until the estimate fits.
+    int length = (int) ((long) text.length() * room / Math.max(1, estimateTokens(text)));
+    String piece;
+    while (true) {
+      piece = keep == Keep.HEAD ? text.substring(0, length) : text.substring(text.length() - length);
+      if (estimateTokens(piece) <= room || length == 0) break;
+      length = length * 9 / 10;
+    }
+    piece = keep == Keep.HEAD ? toBoundaryFromEnd(piece) : toBoundaryFromStart(piece);
+    return keep == Keep.HEAD ? piece + marker : marker + piece;
+  }
+
+  private static String toBoundaryFromEnd(String piece) {
+    int at = Math.max(piece.lastIndexOf('\n'), piece.lastIndexOf(". ") + 1);
+    return at >= piece.length() / 2 ? piece.substring(0, at).strip() : piece.strip();
+  }
+
+  private static String toBoundaryFromStart(String piece) {
+    int at = piece.indexOf('\n');
+    return at >= 0 && at <= piece.length() / 2 ? piece.substring(at + 1).strip() : piece.strip();
+  }
+
+  private static Counter counter(String prompt, String section, String kind) {
+    return COUNTERS.computeIfAbsent(prompt + "|" + section + "|" + kind, k -> MetricsRegistry.global()
+        .counter("govsim_prompt_section_tokens_total", "Estimated prompt tokens per section",
+            "prompt", prompt, "section", section, "kind", kind));
+  }
+}
@@ -3,16 +3,19 @@ package govsim.llm;
 import govsim.agents.AgentContext;
 import govsim.agents.PoliticianAgent;
 import govsim.agents.PoliticianProfile;
+import govsim.config.FactsIndex;
+import govsim.config.FactsLoader;
 import govsim.domain.Agency;
+import govsim.llm.PromptBudget.Keep;
+import govsim.llm.PromptBudget.Section;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class PromptBuilder {
-  public String buildPoliticianTurnPrompt(PoliticianAgent agent, PoliticianProfile profile,
-                                         AgentContext ctx, String memory) {
-    String factsPack = factsPack(ctx);
-    return """
+  private static final String POLITICIAN_TURN = """
 You are %s, a government representative.
 
 PERSONA:
@@ -50,14 +53,9 @@ Include at least one concrete statistic in the speech or reasons if possible.
 When you use a fact, explicitly mention its source and add 1-2 sentences of context or impact.
 When relevant, reference other representatives by name and their stated reasons.
 No extra keys. No markdown.
-""".formatted(agent.name(), profile.party, profile.ideology, profile.redLines, profile.petIssues, profile.speakingStyle,
-              ctx.billOnePager, ctx.floorSummary, memory, factsPack, peerReasoning(ctx), debateTarget(ctx));
-  }
+""";
 
-  public String buildAdvocatePrompt(PoliticianAgent agent, PoliticianProfile profile,
-                                    AgentContext ctx, String memory) {
-    String factsPack = factsPack(ctx);
-    return """
+  private static final String ADVOCATE = """
 You are %s, the bill advocate on the primary floor. Your job is to clearly explain the bill,
 highlight its strongest benefits, and persuade others to support it.
 
@@ -96,16 +94,9 @@ Include at least one concrete statistic in the speech or reasons if possible.
 When you use a fact, explicitly mention its source and add 1-2 sentences of context or impact.
 When relevant, reference other representatives by name and their stated reasons.
 No extra keys. No markdown.
-""".formatted(agent.name(), profile.party, profile.ideology, profile.redLines, profile.petIssues, profile.speakingStyle,
-        ctx.billOnePager, ctx.floorSummary, memory, factsPack, peerReasoning(ctx), debateTarget(ctx));
-  }
+""";
 
-  public String buildJudgePrompt(AgentContext ctx, Collection<Agency> agencies) {
-    String agencyList = agencies.stream()
-        .map(a -> a.id() + ": " + a.name() + " (keywords: " + String.join(", ", a.scopeKeywords()) + ")")
-        .collect(Collectors.joining("\n"));
-
-    return """
+  private static final String JUDGE = """
 You are the LLM Judge. Assign this bill to the best agency.
 Evaluate every agency before choosing. Score each agency based on fit.
 
@@ -126,7 +117,88 @@ Return STRICT JSON:
 - selectedAgencyId must be the highest score (break ties with best rationale).
 - If uncertain, set confidence to 0.5. rationale must be a short string.
 - Use selectedAgencyId exactly as listed above. No extra keys.
-""".formatted(agencyList, ctx.bill.rawText());
+""";
+
+  private final PromptBudget budget;
+  private final int factsTopK;
+
+  public PromptBuilder() {
+    this(new PromptBudget(0), 0);
+  }
+
+  /**
+   * @param budget    fits the variable sections of every prompt into the model's context window
+   * @param factsTopK facts retrieved per representative turn when a {@link FactsIndex} is loaded; 0 includes
+   *                  the whole facts pack
+   */
+  public PromptBuilder(PromptBudget budget, int factsTopK) {
+    this.budget = budget;
+    this.factsTopK = factsTopK;
+  }
+
+  public String buildPoliticianTurnPrompt(PoliticianAgent agent, PoliticianProfile profile,
+                                         AgentContext ctx, String memory) {
+    return politicianPrompt("politician", POLITICIAN_TURN, agent, profile, ctx, memory);
+  }
+
+  public String buildAdvocatePrompt(PoliticianAgent agent, PoliticianProfile profile,
+                                    AgentContext ctx, String memory) {
+    return politicianPrompt("advocate", ADVOCATE, agent, profile, ctx, memory);
+  }
+
+  public String buildJudgePrompt(AgentContext ctx, Collection<Agency> agencies) {
+    String agencyList = agencies.stream()
+        .map(a -> a.id() + ": " + a.name() + " (keywords: " + String.join(", ", a.scopeKeywords()) + ")")
+        .collect(Collectors.joining("\n"));
+    String billText = ctx.bill.rawText();
+    // A bill too long for the budget is shown as its one-pager followed by as much of its opening as fits.
+    String summary = ctx.billOnePager == null || ctx.billOnePager.isBlank() ? null
+        : "ONE-PAGER:\n" + ctx.billOnePager + "\n\nOPENING OF THE TEXT:\n" + billText;
+    Map<String, String> fitted = budget.fit("judge", JUDGE.formatted("", ""), List.of(
+        new Section("agencies", 1, agencyList, Keep.HEAD),
+        new Section("bill", 2, billText, Keep.HEAD, summary)));
+    return JUDGE.formatted(fitted.get("agencies"), fitted.get("bill"));
+  }
+
+  /**
+   * Places the bill one-pager first, then the debate target and floor summary. After those come the facts,
+   * the latest peer statements, and the representative's memory, which is cut from its oldest end.
+   */
+  private String politicianPrompt(String kind, String template, PoliticianAgent agent,
+                                  PoliticianProfile profile, AgentContext ctx, String memory) {
+    String fixed = template.formatted(agent.name(), profile.party, profile.ideology, profile.redLines,
+        profile.petIssues, profile.speakingStyle, "", "", "", "", "", "");
+    Map<String, String> fitted = budget.fit(kind, fixed, List.of(
+        new Section("onePager", 1, String.valueOf(ctx.billOnePager), Keep.HEAD),
+        new Section("debateTarget", 2, debateTarget(ctx), Keep.HEAD),
+        new Section("floorSummary", 3, String.valueOf(ctx.floorSummary), Keep.HEAD),
+        new Section("facts", 4, factsPack(ctx, profile), Keep.HEAD),
+        new Section("peers", 5, peerReasoning(ctx), Keep.TAIL),
+        new Section("memory", 6, memory, Keep.TAIL)));
+    return template.formatted(agent.name(), profile.party, profile.ideology, profile.redLines,
+        profile.petIssues, profile.speakingStyle, fitted.get("onePager"), fitted.get("floorSummary"),
+        fitted.get("memory"), fitted.get("facts"), fitted.get("peers"), fitted.get("debateTarget"));
+  }
+
+  /** The facts best matching the bill's title and topics and the speaker's pet issues and red lines. */
+  private String factsPack(AgentContext ctx, PoliticianProfile profile) {
+    Object indexed = ctx.runtime.get("factsIndex");
+    if (factsTopK > 0 && indexed instanceof FactsIndex index && index.size() > factsTopK) {
+      StringBuilder query = new StringBuilder();
+      if (ctx.bill != null) {
+        query.append(ctx.bill.title()).append('\n');
+        query.append(String.join("\n", ctx.bill.topics())).append('\n');
+        // Without parsed topics the one-pager is the best description of the bill.
+        if (ctx.bill.topics().isEmpty() && ctx.billOnePager != null) {
+          query.append(ctx.billOnePager).append('\n');
+        }
+      }
+      if (profile.petIssues != null) query.append(String.join("\n", profile.petIssues)).append('\n');
+      if (profile.redLines != null) query.append(String.join("\n", profile.redLines));
+      List<FactsLoader.Fact> hits = index.search(query.toString(), factsTopK);
+      if (!hits.isEmpty()) return FactsLoader.toPromptBlock(hits);
+    }
+    return factsPack(ctx);
   }
 
   private String factsPack(AgentContext ctx) {
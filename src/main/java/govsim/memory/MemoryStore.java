@@ -3,7 +3,18 @@ package govsim.memory;
 import govsim.agents.AgentContext;
 import govsim.agents.AgentOutput;
 
+import java.util.Map;
+
 public interface MemoryStore {
   String retrieveRelevant(AgentContext ctx);
   void updateFromTurn(AgentContext ctx, AgentOutput out);
+
+  /** Independent copy, so forked simulations do not share what agents remember. */
+  MemoryStore copy();
+
+  /** Plain JSON values (strings, numbers, lists, maps) that {@link #restore} can rebuild this memory from. */
+  Map<String, Object> snapshot();
+
+  /** Replaces what is remembered with a {@link #snapshot}. */
+  void restore(Map<String, Object> snapshot);
 }
@@ -4,7 +4,9 @@ import govsim.agents.AgentContext;
 import govsim.agents.AgentOutput;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SimpleMemoryStore implements MemoryStore {
   private final List<String> longTermFacts = new ArrayList<>();
@@ -24,5 +26,30 @@ public class SimpleMemoryStore implements MemoryStore {
     rollingSummary = (rollingSummary + "\n- " + out.stance + ": " + firstReason).trim();
   }
 
+  @Override
+  public MemoryStore copy() {
+    SimpleMemoryStore copy = new SimpleMemoryStore();
+    copy.longTermFacts.addAll(longTermFacts);
+    copy.rollingSummary = rollingSummary;
+    return copy;
+  }
+
+  @Override
+  public Map<String, Object> snapshot() {
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("longTermFacts", new ArrayList<>(longTermFacts));
+    snapshot.put("rollingSummary", rollingSummary);
+    return snapshot;
+  }
+
+  @Override
+  public void restore(Map<String, Object> snapshot) {
+    longTermFacts.clear();
+    if (snapshot.get("longTermFacts") instanceof List<?> facts) {
+      facts.forEach(fact -> longTermFacts.add(String.valueOf(fact)));
+    }
+    rollingSummary = snapshot.get("rollingSummary") instanceof String summary ? summary : "";
+  }
+
   public void addFact(String fact) { longTermFacts.add(fact); }
 }
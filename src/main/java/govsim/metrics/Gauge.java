@@ -0,0 +1,20 @@
+package govsim.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/** A value sampled at scrape time, so the owner never pays to keep it current. */
+public class Gauge {
+  private volatile DoubleSupplier supplier;
+
+  Gauge(DoubleSupplier supplier) {
+    this.supplier = supplier;
+  }
+
+  void rebind(DoubleSupplier supplier) {
+    this.supplier = supplier;
+  }
+
+  public double get() {
+    return supplier.getAsDouble();
+  }
+}
@@ -0,0 +1,85 @@
+package govsim.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram: each power of two between ~1 us and
+ * ~18 min is split into four linear sub-buckets, so any recorded value is within 25% of its bucket
+ * bound. Recording is a couple of shifts and one atomic increment; nothing is allocated.
+ */
+public class Histogram {
+  private static final int MIN_SHIFT = 10;
+  private static final int MAJOR_BUCKETS = 31;
+  private static final int SUB_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int BUCKETS = 1 + MAJOR_BUCKETS * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sumNanos = new LongAdder();
+
+  public void recordNanos(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(indexFor(value));
+    count.increment();
+    sumNanos.add(value);
+  }
+
+  public void recordSince(long startNanos) {
+    recordNanos(System.nanoTime() - startNanos);
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  public double sumSeconds() {
+    return sumNanos.sum() / 1e9;
+  }
+
+  /** Upper bound, in seconds, of the bucket holding the given quantile. */
+  public double quantileSeconds(double q) {
+    long total = count.sum();
+    if (total == 0) return 0.0;
+    long target = (long) Math.ceil(Math.max(0.0, Math.min(1.0, q)) * total);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= Math.max(1, target)) return upperBoundNanos(i) / 1e9;
+    }
+    return upperBoundNanos(BUCKETS - 1) / 1e9;
+  }
+
+  /** Cumulative counts at each power-of-two boundary, as (upper bound seconds, count) pairs. */
+  double[][] cumulativeByMajor() {
+    double[][] out = new double[MAJOR_BUCKETS + 1][2];
+    long running = counts.get(0);
+    out[0][0] = upperBoundNanos(0) / 1e9;
+    out[0][1] = running;
+    for (int major = 0; major < MAJOR_BUCKETS; major++) {
+      for (int sub = 0; sub < SUB_BUCKETS; sub++) {
+        running += counts.get(1 + major * SUB_BUCKETS + sub);
+      }
+      out[major + 1][0] = upperBoundNanos(major * SUB_BUCKETS + SUB_BUCKETS) / 1e9;
+      out[major + 1][1] = running;
+    }
+    return out;
+  }
+
+  static int indexFor(long value) {
+    if (value < (1L << MIN_SHIFT)) return 0;
+    int msb = 63 - Long.numberOfLeadingZeros(value);
+    int major = msb - MIN_SHIFT;
+    if (major >= MAJOR_BUCKETS) return BUCKETS - 1;
+    int sub = (int) ((value >>> (msb - SUB_BITS)) & (SUB_BUCKETS - 1));
+    return 1 + major * SUB_BUCKETS + sub;
+  }
+
+  static long upperBoundNanos(int index) {
+    if (index == 0) return 1L << MIN_SHIFT;
+    int major = (index - 1) / SUB_BUCKETS;
+    int sub = (index - 1) % SUB_BUCKETS;
+    return (long) (SUB_BUCKETS + sub + 1) << (major + MIN_SHIFT - SUB_BITS);
+  }
+}
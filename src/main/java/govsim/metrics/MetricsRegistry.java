@@ -0,0 +1,124 @@
+package govsim.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Process-wide metric registry rendered in Prometheus text format at {@code /metrics}. Lookups are
+ * keyed by name and label values; hot paths should look a metric up once and keep the instance.
+ */
+public class MetricsRegistry {
+  private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+  private final Map<String, Family> families = new ConcurrentHashMap<>();
+
+  public static MetricsRegistry global() {
+    return GLOBAL;
+  }
+
+  /** Labels are alternating name/value pairs. */
+  public Counter counter(String name, String help, String... labels) {
+    return (Counter) family(name, help, "counter").series.computeIfAbsent(labelKey(labels), k -> new Counter());
+  }
+
+  public Histogram histogram(String name, String help, String... labels) {
+    return (Histogram) family(name, help, "histogram").series.computeIfAbsent(labelKey(labels), k -> new Histogram());
+  }
+
+  /** Registers a gauge, or rebinds an existing one to a new supplier. */
+  public Gauge gauge(String name, String help, DoubleSupplier supplier, String... labels) {
+    Gauge gauge = (Gauge) family(name, help, "gauge").series.computeIfAbsent(labelKey(labels), k -> new Gauge(supplier));
+    gauge.rebind(supplier);
+    return gauge;
+  }
+
+  public String scrape() {
+    StringBuilder sb = new StringBuilder(4096);
+    for (Family family : new TreeMap<>(families).values()) {
+      sb.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+      sb.append("# TYPE ").append(family.name).append(' ').append(family.type).append('\n');
+      for (var entry : new TreeMap<>(family.series).entrySet()) {
+        String labels = entry.getKey();
+        Object metric = entry.getValue();
+        if (metric instanceof Counter counter) {
+          line(sb, family.name, labels, counter.get());
+        } else if (metric instanceof Gauge gauge) {
+          line(sb, family.name, labels, gauge.get());
+        } else if (metric instanceof Histogram histogram) {
+          writeHistogram(sb, family.name, labels, histogram);
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  private void writeHistogram(StringBuilder sb, String name, String labels, Histogram histogram) {
+    long total = histogram.count();
+    for (double[] bucket : histogram.cumulativeByMajor()) {
+      String le = "le=\"" + formatDouble(bucket[0]) + "\"";
+      line(sb, name + "_bucket", joinLabels(labels, le), bucket[1]);
+    }
+    line(sb, name + "_bucket", joinLabels(labels, "le=\"+Inf\""), total);
+    line(sb, name + "_sum", labels, histogram.sumSeconds());
+    line(sb, name + "_count", labels, total);
+  }
+
+  private Family family(String name, String help, String type) {
+    Family family = families.computeIfAbsent(name, n -> new Family(n, help, type));
+    if (!family.type.equals(type)) {
+      throw new IllegalArgumentException("Metric " + name + " already registered as " + family.type);
+    }
+    return family;
+  }
+
+  private static void line(StringBuilder sb, String name, String labels, double value) {
+    sb.append(name);
+    if (!labels.isEmpty()) sb.append('{').append(labels).append('}');
+    sb.append(' ').append(formatDouble(value)).append('\n');
+  }
+
+  private static String joinLabels(String labels, String extra) {
+    return labels.isEmpty() ? extra : labels + "," + extra;
+  }
+
+  private static String labelKey(String... labels) {
+    if (labels == null || labels.length == 0) return "";
+    if (labels.length % 2 != 0) {
+      throw new IllegalArgumentException("Labels must be name/value pairs");
+    }
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < labels.length; i += 2) {
+      if (sb.length() > 0) sb.append(',');
+      sb.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+    }
+    return sb.toString();
+  }
+
+  private static String escape(String value) {
+    if (value == null) return "";
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String formatDouble(double value) {
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return String.valueOf((long) value);
+    }
+    return String.format(Locale.ROOT, "%.9g", value);
+  }
+
+  private static class Family {
+    final String name;
+    final String help;
+    final String type;
+    final Map<String, Object> series = new ConcurrentHashMap<>();
+
+    Family(String name, String help, String type) {
+      this.name = name;
+      this.help = help;
+      this.type = type;
+    }
+  }
+}
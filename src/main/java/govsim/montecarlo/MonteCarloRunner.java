@@ -0,0 +1,150 @@
+package govsim.montecarlo;
+
+import govsim.config.AgentFactory;
+import govsim.config.AgentRegistry;
+import govsim.config.BillLoader;
+import govsim.config.FactsIndex;
+import govsim.config.FactsLoader;
+import govsim.config.SimulationConfig;
+import govsim.core.GraphRunner;
+import govsim.core.NodeMemo;
+import govsim.core.SimulationLogger;
+import govsim.core.SimulationState;
+import govsim.domain.Vote;
+import govsim.llm.BoundedLLMClient;
+import govsim.llm.LLMClient;
+import govsim.llm.OllamaClient;
+import govsim.nodes.CommitteeDeliberationNode;
+import govsim.nodes.JudgeAssignAgencyNode;
+import govsim.nodes.ParseBillNode;
+import govsim.nodes.PrimaryFloorDebateNode;
+import govsim.nodes.ThresholdDecisionNode;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Estimates how likely a bill is to pass the floor. Parse, agency assignment and committee run once;
+ * the floor stage (advocate, sampled agencies, debate targets) then runs as N replicas in parallel, each
+ * seeded from its own {@link SplittableRandom#split()} stream so a given base seed reproduces the same
+ * replicas.
+ *
+ * <p>Usage: {@code java -cp target/govsim-0.1.0-all.jar govsim.montecarlo.MonteCarloRunner <replicas> [bill-path] [seed]}.
+ */
+public class MonteCarloRunner {
+  private static final double Z_95 = 1.959964;
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1) {
+      System.err.println("Usage: MonteCarloRunner <replicas> [bill-path] [seed]");
+      System.exit(2);
+    }
+    SimulationConfig config = SimulationConfig.load();
+    int replicas = Math.max(1, Integer.parseInt(args[0]));
+    String billPath = args.length > 1 ? args[1] : config.billPath();
+
+    LLMClient llm = new BoundedLLMClient(new OllamaClient(config.ollamaUrl(), config.model(), config.numPredict()),
+        config.llmConcurrency());
+    AgentFactory.Definitions definitions = AgentFactory.loadDefinitions(config);
+    AgentRegistry registry = AgentFactory.buildAgents(definitions, llm);
+    NodeMemo memo = new NodeMemo("off".equalsIgnoreCase(config.memoPath()) ? null : Path.of(config.memoPath()),
+        definitions.memoSalt());
+
+    SimulationState base = new SimulationState();
+    base.bill = BillLoader.fromFile(billPath);
+    List<FactsLoader.Fact> facts = new FactsLoader().load(config.factsPath());
+    base.vars.put("factsPack", FactsLoader.toPromptBlock(facts));
+    base.vars.put("factsIndex", new FactsIndex(facts));
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : base.bill.id().hashCode();
+
+    new GraphRunner(List.of(
+        ParseBillNode.fromConfig(llm, config),
+        new JudgeAssignAgencyNode(registry, config.judgeSkipMargin()),
+        new CommitteeDeliberationNode(registry)
+    ), 0).memoize(memo).run(base);
+
+    SplittableRandom root = new SplittableRandom(seed);
+    List<Long> seeds = new ArrayList<>();
+    for (int i = 0; i < replicas; i++) {
+      seeds.add(root.split().nextLong());
+    }
+    SimulationLogger.log("[MonteCarlo] Running " + replicas + " floor replica(s) from seed " + seed + ".");
+
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, config.batchConcurrency()));
+    List<Future<SimulationState>> futures = new ArrayList<>();
+    for (long replicaSeed : seeds) {
+      futures.add(pool.submit(() -> {
+        SimulationState replica = base.copy();
+        replica.vars.put("seed", replicaSeed);
+        AgentRegistry forked = registry.fork();
+        new GraphRunner(List.of(
+            new PrimaryFloorDebateNode(forked),
+            new ThresholdDecisionNode(false)
+        ), 0).memoize(memo).run(replica);
+        return replica;
+      }));
+    }
+
+    int passed = 0;
+    int ties = 0;
+    int failed = 0;
+    Map<String, Map<Vote, Integer>> votesByRep = new TreeMap<>();
+    for (Future<SimulationState> future : futures) {
+      SimulationState replica;
+      try {
+        replica = future.get();
+      } catch (Exception e) {
+        failed++;
+        SimulationLogger.log("[MonteCarlo] Replica failed: " + e.getMessage());
+        continue;
+      }
+      Object outcome = replica.vars.get("finalOutcome");
+      if ("PASS".equals(outcome)) passed++;
+      if ("POPULAR_VOTE_REQUIRED".equals(outcome)) ties++;
+      if (replica.voteResult == null) continue;
+      for (Map.Entry<String, Vote> vote : replica.voteResult.votesByRepId().entrySet()) {
+        votesByRep.computeIfAbsent(vote.getKey(), k -> new EnumMap<>(Vote.class)).merge(vote.getValue(), 1, Integer::sum);
+      }
+    }
+    pool.shutdown();
+
+    int completed = replicas - failed;
+    double[] interval = wilsonInterval(passed, completed);
+    SimulationLogger.log(String.format("[MonteCarlo] Pass probability: %.3f (95%% CI %.3f-%.3f) over %d replica(s); "
+        + "ties %d, failed %d.", completed == 0 ? 0.0 : (double) passed / completed, interval[0], interval[1],
+        completed, ties, failed));
+    for (Map.Entry<String, Map<Vote, Integer>> entry : votesByRep.entrySet()) {
+      Map<Vote, Integer> counts = entry.getValue();
+      int seated = counts.values().stream().mapToInt(Integer::intValue).sum();
+      var rep = registry.repById(entry.getKey());
+      String name = rep == null ? entry.getKey() : rep.name();
+      SimulationLogger.log(String.format("[MonteCarlo] %s: seated %d/%d, yes %.2f, no %.2f, abstain %.2f", name,
+          seated, completed, share(counts, Vote.YES, seated), share(counts, Vote.NO, seated),
+          share(counts, Vote.ABSTAIN, seated)));
+    }
+    System.exit(0);
+  }
+
+  /** Wilson score interval for {@code successes} out of {@code trials} at 95% confidence. */
+  static double[] wilsonInterval(int successes, int trials) {
+    if (trials == 0) return new double[] {0.0, 1.0};
+    double p = (double) successes / trials;
+    double z2 = Z_95 * Z_95;
+    double denom = 1 + z2 / trials;
+    double center = (p + z2 / (2.0 * trials)) / denom;
+    double half = Z_95 * Math.sqrt(p * (1 - p) / trials + z2 / (4.0 * trials * trials)) / denom;
+    return new double[] {Math.max(0.0, center - half), Math.min(1.0, center + half)};
+  }
+
+  private static double share(Map<Vote, Integer> counts, Vote vote, int total) {
+    return total == 0 ? 0.0 : counts.getOrDefault(vote, 0) / (double) total;
+  }
+}
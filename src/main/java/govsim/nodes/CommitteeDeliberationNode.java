@@ -3,27 +3,39 @@ package govsim.nodes;
 import govsim.agents.AgentContext;
 import govsim.agents.AgentOutput;
 import govsim.config.AgentRegistry;
-import govsim.core.Node;
 import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.core.StateKeys;
 import govsim.domain.Agency;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-
-public class CommitteeDeliberationNode implements Node {
-  private final AgentRegistry registry;
+import java.util.Set;
+import java.util.random.RandomGenerator;
 
+public class CommitteeDeliberationNode extends RepTurnNode {
   public CommitteeDeliberationNode(AgentRegistry registry) {
-    this.registry = registry;
+    super(registry);
   }
 
   @Override
   public String name() { return "CommitteeDeliberation"; }
 
+  @Override
+  public Set<String> reads() {
+    return Set.of(StateKeys.BILL, StateKeys.ONE_PAGER, StateKeys.FLOOR_SUMMARY, StateKeys.SELECTED_AGENCY,
+        StateKeys.var("factsPack"), StateKeys.var("peerReasoningLog"),
+        StateKeys.var("seed"));
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.TURN_OUTPUTS, StateKeys.FLOOR_SUMMARY, StateKeys.INTERACTION_LOG,
+        StateKeys.var("committeeSummary"), StateKeys.var("peerReasoningLog"), StateKeys.var("repMemories"));
+  }
+
   @Override
   public void run(SimulationState state) throws Exception {
     if (state.selectedAgencyId == null) {
@@ -35,7 +47,7 @@ public class CommitteeDeliberationNode implements Node {
     }
 
     Map<String, AgentOutput> outputs = new LinkedHashMap<>();
-    Random rng = new Random(seedFromState(state));
+    RandomGenerator rng = random(state);
     for (String repId : agency.representativeIds()) {
       var rep = registry.repById(repId);
       SimulationLogger.log("[Committee] " + agency.name() + " -> " + rep.name());
@@ -64,6 +76,7 @@ public class CommitteeDeliberationNode implements Node {
     String summary = buildCommitteeSummary(agency, outputs);
     state.vars.put("committeeSummary", summary);
     state.floorSummary = summary;
+    saveMemories(state);
   }
 
   private String buildCommitteeSummary(Agency agency, Map<String, AgentOutput> outputs) {
@@ -106,12 +119,7 @@ public class CommitteeDeliberationNode implements Node {
     }
   }
 
-  private long seedFromState(SimulationState state) {
-    if (state.bill == null || state.bill.id() == null) return 0L;
-    return state.bill.id().hashCode();
-  }
-
-  private String pickDebateTarget(Map<String, Object> runtime, Random rng) {
+  private String pickDebateTarget(Map<String, Object> runtime, RandomGenerator rng) {
     Object existing = runtime.get("peerReasoningLog");
     if (!(existing instanceof List<?> list) || list.isEmpty()) {
       return null;
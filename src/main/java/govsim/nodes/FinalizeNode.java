@@ -1,27 +1,52 @@
 package govsim.nodes;
 
 import govsim.core.Node;
+import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.ingest.BillCatalog;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 public class FinalizeNode implements Node {
+  private final Path logPath;
+
+  public FinalizeNode() {
+    this(Path.of("interaction.log"));
+  }
+
+  public FinalizeNode(Path logPath) {
+    this.logPath = logPath;
+  }
+
   @Override
   public String name() { return "Finalize"; }
 
   @Override
   public void run(SimulationState state) {
     writeInteractionLog(state);
+    markSimulated(state);
+  }
+
+  /** Bills taken from the catalog are recorded as simulated so later runs pick unseen ones. */
+  private void markSimulated(SimulationState state) {
+    Object hash = state.vars.get(PullBillNode.CATALOG_HASH);
+    if (hash == null) return;
+    try {
+      BillCatalog.shared(BillCatalog.DEFAULT_DIR)
+          .markSimulated(hash.toString(), String.valueOf(state.vars.getOrDefault("finalOutcome", "UNKNOWN")));
+    } catch (IOException e) {
+      SimulationLogger.log("[Finalize] Failed to update the bill catalog: " + e.getMessage());
+    }
   }
 
   private void writeInteractionLog(SimulationState state) {
     try {
       String content = String.join("\n", state.interactionLog.entries());
-      Files.writeString(Path.of("interaction.log"), content);
+      Files.writeString(logPath, content);
     } catch (IOException e) {
-      throw new IllegalStateException("Failed to write interaction.log", e);
+      throw new IllegalStateException("Failed to write " + logPath, e);
     }
   }
 }
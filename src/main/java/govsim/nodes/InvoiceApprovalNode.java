@@ -8,32 +8,70 @@ import govsim.config.InvoiceLoader;
 import govsim.core.Node;
 import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.core.StateKeys;
 import govsim.llm.LLMClient;
 import govsim.llm.LLMRequestOptions;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class InvoiceApprovalNode implements Node {
+  /** Where crypto/submit-invoices.js looks for decisions unless given --decisions. */
+  public static final Path DEFAULT_DECISIONS_FILE = Path.of("crypto", "out", "invoice-decisions.json");
   private static final int NUM_PREDICT = 350;
   private final LLMClient llm;
   private final String invoicesPath;
+  private final Path decisionsFile;
   private final InvoiceLoader loader = new InvoiceLoader();
   private final ObjectMapper mapper = new ObjectMapper();
 
   public InvoiceApprovalNode(LLMClient llm, String invoicesPath) {
+    this(llm, invoicesPath, DEFAULT_DECISIONS_FILE);
+  }
+
+  /** @param decisionsFile where the approved bill's decisions are written for the escrow script */
+  public InvoiceApprovalNode(LLMClient llm, String invoicesPath, Path decisionsFile) {
     this.llm = llm;
     this.invoicesPath = invoicesPath;
+    this.decisionsFile = decisionsFile;
   }
 
   @Override
   public String name() { return "InvoiceApproval"; }
 
+  @Override
+  public Set<String> reads() {
+    return Set.of(StateKeys.BILL, StateKeys.var("finalOutcome"), StateKeys.var("invoices"),
+        StateKeys.var("revisedBillText"));
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.var("invoiceDecisions"));
+  }
+
+  @Override
+  public boolean memoizable() { return true; }
+
+  /** The decisions file is what the escrow script submits, so a memo restore must rewrite it for this bill. */
+  @Override
+  @SuppressWarnings("unchecked")
+  public void restored(SimulationState state) {
+    if (!(state.vars.get("invoiceDecisions") instanceof List<?> decisions) || decisions.isEmpty()) return;
+    try {
+      writeDecisions(state, preloadedInvoices(state), (List<Map<String, Object>>) decisions);
+    } catch (IOException e) {
+      SimulationLogger.log("[Invoice] Failed to reload invoices for the decision file: " + e.getMessage());
+    }
+  }
+
   @Override
   public void run(SimulationState state) throws Exception {
     String outcome = String.valueOf(state.vars.getOrDefault("finalOutcome", ""));
@@ -42,7 +80,7 @@ public class InvoiceApprovalNode implements Node {
       return;
     }
 
-    List<InvoiceLoader.Invoice> invoices = loader.load(invoicesPath);
+    List<InvoiceLoader.Invoice> invoices = preloadedInvoices(state);
     if (invoices.isEmpty()) {
       SimulationLogger.log("[Invoice] No invoices found. Skipping blockchain step.");
       return;
@@ -70,6 +108,15 @@ public class InvoiceApprovalNode implements Node {
     writeDecisions(state, invoices, decisions);
   }
 
+  @SuppressWarnings("unchecked")
+  private List<InvoiceLoader.Invoice> preloadedInvoices(SimulationState state) throws IOException {
+    Object preloaded = state.vars.get("invoices");
+    if (preloaded instanceof List<?> list) {
+      return (List<InvoiceLoader.Invoice>) list;
+    }
+    return loader.load(invoicesPath);
+  }
+
   private String resolveBillText(SimulationState state) {
     Object revised = state.vars.get("revisedBillText");
     if (revised instanceof String revisedText && !revisedText.isBlank()) {
@@ -131,17 +178,19 @@ No extra keys. No markdown.
                               List<InvoiceLoader.Invoice> invoices,
                               List<Map<String, Object>> decisions) {
     try {
-      Path outDir = Path.of("crypto", "out");
+      Path outDir = decisionsFile.toAbsolutePath().getParent();
       Files.createDirectories(outDir);
-      Path outFile = outDir.resolve("invoice-decisions.json");
       Map<String, Object> payload = Map.of(
           "billId", state.bill == null ? "" : state.bill.id(),
           "billTitle", state.bill == null ? "" : state.bill.title(),
           "decisions", decisions,
           "invoices", invoices
       );
-      Files.writeString(outFile, mapper.writerWithDefaultPrettyPrinter().writeValueAsString(payload));
-      SimulationLogger.log("[Invoice] Wrote decisions to " + outFile + ".");
+      // Written whole and moved into place, so the escrow script never reads a half-written file.
+      Path tmp = Files.createTempFile(outDir, decisionsFile.getFileName().toString(), ".tmp");
+      Files.writeString(tmp, mapper.writerWithDefaultPrettyPrinter().writeValueAsString(payload));
+      Files.move(tmp, decisionsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      SimulationLogger.log("[Invoice] Wrote decisions to " + decisionsFile + ".");
     } catch (IOException e) {
       SimulationLogger.log("[Invoice] Failed to write decision file: " + e.getMessage());
     }
@@ -1,37 +1,101 @@
 package govsim.nodes;
 
+import govsim.agents.AgencyClassifier;
 import govsim.agents.AgentContext;
 import govsim.agents.JudgeDecision;
 import govsim.config.AgentRegistry;
 import govsim.core.Node;
 import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.core.StateKeys;
 import govsim.domain.Agency;
+import govsim.metrics.Counter;
+import govsim.metrics.MetricsRegistry;
 
-import java.util.Comparator;
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class JudgeAssignAgencyNode implements Node {
+  /** A leader with fewer scope keyword hits than this always goes to the LLM, however lopsided the shares. */
+  private static final int MIN_KEYWORD_HITS = 2;
+  private static final Counter LOCAL_DECISIONS = MetricsRegistry.global()
+      .counter("govsim_judge_decisions_total", "Agency assignments by who decided", "path", "local");
+  private static final Counter LLM_DECISIONS = MetricsRegistry.global()
+      .counter("govsim_judge_decisions_total", "Agency assignments by who decided", "path", "llm");
+
   private final AgentRegistry registry;
+  private final double skipMargin;
 
   public JudgeAssignAgencyNode(AgentRegistry registry) {
+    this(registry, Double.POSITIVE_INFINITY);
+  }
+
+  /**
+   * @param skipMargin the LLM judge is skipped when the local classifier's lead over the runner-up is at
+   *                   least this (0 to 1); above 1 always asks the LLM
+   */
+  public JudgeAssignAgencyNode(AgentRegistry registry, double skipMargin) {
     this.registry = registry;
+    this.skipMargin = skipMargin;
   }
 
   @Override
   public String name() { return "JudgeAssignAgency"; }
 
+  @Override
+  public Set<String> reads() {
+    // The LLM prompt falls back to the one-pager for long bills, so ParseBill must finish first.
+    return Set.of(StateKeys.BILL, StateKeys.ONE_PAGER);
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.SELECTED_AGENCY, StateKeys.var("judgeDecision"));
+  }
+
+  @Override
+  public boolean memoizable() { return true; }
+
+  @Override
+  public String memoVariant() {
+    return skipMargin > 1 ? "" : "local|" + skipMargin;
+  }
+
   @Override
   public void run(SimulationState state) throws Exception {
     if (state.bill == null) {
       throw new IllegalStateException("Missing bill in state");
     }
     SimulationLogger.log("[Judge] Selecting agency...");
+    AgencyClassifier classifier = registry.agencyClassifier();
+    if (skipMargin <= 1) {
+      AgencyClassifier.Result local = classifier.classify(state.bill.rawText());
+      Agency leader = local.agencyId() == null ? null : registry.agencyById(local.agencyId());
+      if (leader != null && local.margin() >= skipMargin && local.keywordHits() >= MIN_KEYWORD_HITS) {
+        JudgeDecision decision = new JudgeDecision();
+        decision.selectedAgencyId = leader.id();
+        decision.rationale = String.format("Local classifier: %d scope keyword(s) matched, a lead of %.2f.",
+            local.keywordHits(), local.margin());
+        decision.confidence = local.shares().get(leader.id());
+        decision.scores = local.shares();
+        LOCAL_DECISIONS.inc();
+        state.selectedAgencyId = leader.id();
+        state.vars.put("judgeDecision", decision);
+        SimulationLogger.log(String.format("[Judge] Clear lead of %.2f; skipped the LLM. %s",
+            local.margin(), skipRate()));
+        SimulationLogger.log("[Judge] Selected agency: " + leader.name() + " (" + leader.id() + ")");
+        return;
+      }
+      SimulationLogger.log(String.format("[Judge] Local lead %.2f is below %.2f; asking the LLM.",
+          local.margin(), skipMargin));
+    }
+
     AgentContext ctx = new AgentContext(state.bill, state.billOnePager, state.floorSummary, Map.of(), state.vars);
     JudgeDecision decision;
+    boolean judged = false;
     try {
       decision = registry.judge().decide(ctx, registry.agencies());
+      judged = true;
     } catch (Exception e) {
       SimulationLogger.log("[Judge] LLM decision invalid. Falling back to keyword match.");
       Agency fallback = fallbackAgency(state.bill.rawText());
@@ -47,28 +111,40 @@ public class JudgeAssignAgencyNode implements Node {
     }
     if (selected == null) {
       selected = fallbackAgency(state.bill.rawText());
+      judged = false;
       SimulationLogger.log("[Judge] LLM returned unknown agency. Falling back to keyword match.");
     }
+    // Only the LLM's own routings are learned, so the classifier never reinforces its own or the fallback's.
+    if (judged) classifier.learn(state.bill.id(), state.bill.rawText(), selected.id());
 
+    LLM_DECISIONS.inc();
     state.selectedAgencyId = selected.id();
     state.vars.put("judgeDecision", decision);
+    if (skipMargin <= 1) SimulationLogger.log("[Judge] " + skipRate());
     SimulationLogger.log("[Judge] Selected agency: " + selected.name() + " (" + selected.id() + ")");
   }
 
-  private Agency fallbackAgency(String billText) {
-    String text = billText.toLowerCase();
-    List<Agency> agencies = registry.agencies().stream().toList();
-    return agencies.stream()
-        .max(Comparator.comparingInt(a -> scoreAgency(a, text)))
-        .orElseThrow(() -> new IllegalStateException("No agencies configured"));
+  private static String skipRate() {
+    long local = LOCAL_DECISIONS.get();
+    long total = local + LLM_DECISIONS.get();
+    return String.format("Judge skip rate: %d of %d bill(s) (%.0f%%).", local, total,
+        total == 0 ? 0.0 : 100.0 * local / total);
   }
 
-  private int scoreAgency(Agency agency, String text) {
-    int score = 0;
-    for (String keyword : agency.scopeKeywords()) {
-      if (text.contains(keyword.toLowerCase())) score++;
+  /** Agency whose scope keywords the bill mentions most; one automaton pass scores them all. */
+  private Agency fallbackAgency(String billText) {
+    Map<String, Integer> scores = registry.agencyMatcher().scores(billText == null ? "" : billText);
+    Agency best = null;
+    int bestScore = -1;
+    for (Agency agency : registry.agencies()) {
+      int score = scores.getOrDefault(agency.id(), 0);
+      if (score > bestScore) {
+        best = agency;
+        bestScore = score;
+      }
     }
-    return score;
+    if (best == null) throw new IllegalStateException("No agencies configured");
+    return best;
   }
 
   private Agency resolveFromScores(JudgeDecision decision) {
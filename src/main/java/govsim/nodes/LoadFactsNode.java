@@ -0,0 +1,78 @@
+package govsim.nodes;
+
+import govsim.config.FactsIndex;
+import govsim.config.FactsLoader;
+import govsim.core.Node;
+import govsim.core.SimulationLogger;
+import govsim.core.SimulationState;
+import govsim.core.StateKeys;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+public class LoadFactsNode implements Node {
+  // The facts file is read and indexed once per version, not once per bill.
+  private static Loaded cached;
+
+  private final String factsPath;
+  private final FactsLoader loader = new FactsLoader();
+
+  public LoadFactsNode(String factsPath) {
+    this.factsPath = factsPath;
+  }
+
+  @Override
+  public String name() { return "LoadFacts"; }
+
+  @Override
+  public Set<String> reads() {
+    return Set.of();
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.var("factsPack"));
+  }
+
+  @Override
+  public boolean visibleStage() { return false; }
+
+  @Override
+  public void run(SimulationState state) throws Exception {
+    Loaded loaded = load();
+    state.vars.put("factsPack", loaded.block);
+    state.vars.put("factsIndex", loaded.index);
+    SimulationLogger.log("[Facts] Loaded " + loaded.index.size() + " facts.");
+  }
+
+  /**
+   * Puts the facts index back after a checkpoint restore. The index is a service handle, not saved data,
+   * so a resumed run that skips this node would otherwise rank no facts.
+   */
+  public void republish(SimulationState state) {
+    try {
+      state.vars.put("factsIndex", load().index);
+    } catch (IOException e) {
+      SimulationLogger.log("[Facts] Could not index facts: " + e.getMessage());
+    }
+  }
+
+  private Loaded load() throws IOException {
+    Path path = Path.of(factsPath);
+    String version = Files.exists(path) ? Files.getLastModifiedTime(path) + "|" + Files.size(path) : "";
+    synchronized (LoadFactsNode.class) {
+      if (cached != null && cached.path.equals(factsPath) && cached.version.equals(version)) return cached;
+    }
+    List<FactsLoader.Fact> facts = loader.load(factsPath);
+    Loaded loaded = new Loaded(factsPath, version, FactsLoader.toPromptBlock(facts), new FactsIndex(facts));
+    synchronized (LoadFactsNode.class) {
+      cached = loaded;
+    }
+    return loaded;
+  }
+
+  private record Loaded(String path, String version, String block, FactsIndex index) {}
+}
@@ -4,59 +4,140 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import govsim.config.SimulationConfig;
 import govsim.core.Node;
 import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.core.StateKeys;
+import govsim.domain.Bill;
+import govsim.ingest.BillAnalyzer;
+import govsim.llm.BillChunker;
 import govsim.llm.LLMClient;
 import govsim.llm.LLMRequestOptions;
+import govsim.metrics.Counter;
+import govsim.metrics.MetricsRegistry;
 import govsim.web.BillStore;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ParseBillNode implements Node {
   private final LLMClient llm;
   private final ObjectMapper mapper = new ObjectMapper();
   private static final int NUM_PREDICT_PARSE = 400;
   private static final int NUM_PREDICT_PARSE_RETRY = 600;
+  private static final int NUM_PREDICT_CHUNK = 250;
+  private static final Counter JSON_RETRIES = MetricsRegistry.global()
+      .counter("govsim_llm_invalid_json_retries_total", "LLM calls retried after invalid JSON", "caller", "parse");
+
+  private static final Counter LOCAL_RESULTS = MetricsRegistry.global()
+      .counter("govsim_parse_local_total", "Bill analyses answered locally", "result", "accepted");
+  private static final Counter REFINED_RESULTS = MetricsRegistry.global()
+      .counter("govsim_parse_local_total", "Bill analyses answered locally", "result", "refined");
+
+  /** Who analyses the bill: the LLM, {@link BillAnalyzer} alone, or the analyzer with the LLM as backup. */
+  public enum Mode { LLM, LOCAL, HYBRID }
+
+  private final Mode mode;
+  private final double minConfidence;
+  private final int chunkChars;
+  private final int parallelism;
 
   public ParseBillNode(LLMClient llm) {
+    this(llm, Mode.LLM, 0, 0, 1);
+  }
+
+  /**
+   * @param minConfidence in hybrid mode, local results below this confidence are refined by the LLM
+   * @param chunkChars    bills longer than this are analysed in parts of at most this many characters;
+   *                      0 sends every bill in one prompt
+   * @param parallelism   parts analysed at once
+   */
+  public ParseBillNode(LLMClient llm, Mode mode, double minConfidence, int chunkChars, int parallelism) {
     this.llm = llm;
+    this.mode = mode;
+    this.minConfidence = minConfidence;
+    this.chunkChars = chunkChars;
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  public static ParseBillNode fromConfig(LLMClient llm, SimulationConfig config) {
+    Mode mode;
+    try {
+      mode = Mode.valueOf(config.parseMode().trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      SimulationLogger.log("[ParseBill] Unknown SIM_PARSE_MODE '" + config.parseMode() + "'. Using llm.");
+      mode = Mode.LLM;
+    }
+    return new ParseBillNode(llm, mode, config.parseMinConfidence(), config.parseChunkChars(),
+        config.llmConcurrency());
   }
 
   @Override
   public String name() { return "ParseBill"; }
 
   @Override
-  public void run(SimulationState state) throws Exception {
-    if (state.bill == null) {
-      throw new IllegalStateException("Missing bill in state");
-    }
-    SimulationLogger.log("[ParseBill] Sending bill to LLM for analysis...");
-    String prompt = """
-You are a legislative analyst. Extract structured data and a short one-pager.
+  public Set<String> reads() {
+    return Set.of(StateKeys.BILL);
+  }
 
-Return STRICT JSON with keys:
-- topics: array of 5 short strings
-- estimatedCost: number (USD millions if unsure)
-- attributes: object with 3-5 key facts (values string or number)
-- onePager: 3 short sentences
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.BILL_ANALYSIS, StateKeys.ONE_PAGER);
+  }
 
-BILL:
-%s
+  @Override
+  public boolean memoizable() { return true; }
 
-No extra keys. No markdown.
-""".formatted(state.bill.rawText());
+  @Override
+  public String memoVariant() {
+    String variant = mode == Mode.LLM ? "" : mode + "|" + minConfidence;
+    // Chunked analyses merge per-part answers, so they differ from whole-bill ones and from other chunk sizes.
+    return chunkChars > 0 ? variant + "|chunks=" + chunkChars : variant;
+  }
 
-    String json = llm.generateJson(prompt, LLMRequestOptions.withNumPredict(NUM_PREDICT_PARSE));
+  @Override
+  public void restored(SimulationState state) {
+    Object storeObj = state.vars.get("billStore");
+    if (storeObj instanceof BillStore store) {
+      store.setOriginalText(state.bill.rawText());
+      store.setOnePager(state.billOnePager);
+    }
+  }
+
+  @Override
+  public void run(SimulationState state) throws Exception {
+    if (state.bill == null) {
+      throw new IllegalStateException("Missing bill in state");
+    }
+    BillAnalyzer.Analysis local = mode == Mode.LLM ? null : analyseLocally(state.bill);
     JsonNode root;
-    try {
-      root = mapper.readTree(json);
-    } catch (JsonProcessingException e) {
-      SimulationLogger.log("[ParseBill] Invalid JSON from LLM. Retrying with higher limit...");
-      String retryPrompt = prompt + "\nReturn compact JSON only. No extra text.";
-      json = llm.generateJson(retryPrompt, LLMRequestOptions.withNumPredict(NUM_PREDICT_PARSE_RETRY));
-      root = mapper.readTree(json);
+    if (mode == Mode.LOCAL) {
+      LOCAL_RESULTS.inc();
+      root = toJson(local);
+    } else if (mode == Mode.HYBRID && local.confidence() >= minConfidence) {
+      LOCAL_RESULTS.inc();
+      SimulationLogger.log("[ParseBill] Local analysis is confident enough. Skipping the LLM.");
+      root = toJson(local);
+    } else if (mode == Mode.HYBRID) {
+      REFINED_RESULTS.inc();
+      root = refine(state.bill, local);
+    } else {
+      String rawText = state.bill.rawText() == null ? "" : state.bill.rawText();
+      List<BillChunker.Chunk> chunks = chunkChars > 0 && rawText.length() > chunkChars
+          ? BillChunker.split(state.bill, chunkChars) : List.of();
+      root = chunks.size() > 1 ? analyseInChunks(state, chunks) : analyseWhole(state);
     }
 
     JsonNode topicsNode = root.get("topics");
@@ -65,17 +146,18 @@ No extra keys. No markdown.
     JsonNode onePagerNode = root.get("onePager");
 
     if (topicsNode == null || costNode == null || attributesNode == null || onePagerNode == null) {
-      SimulationLogger.log("[ParseBill] Missing fields in LLM JSON. Applying fallbacks.");
+      SimulationLogger.log("[ParseBill] Missing fields in LLM JSON. Filling them from local analysis.");
+      if (local == null) local = BillAnalyzer.analyze(state.bill);
     }
 
     List<String> topics = topicsNode == null
-        ? deriveTopics(state.bill.title(), state.bill.rawText())
+        ? local.topics()
         : mapper.convertValue(topicsNode, new TypeReference<>() {});
     Map<String, Object> attributes = attributesNode == null
-        ? Map.of()
+        ? local.attributes()
         : mapper.convertValue(attributesNode, new TypeReference<>() {});
-    double estimatedCost = costNode == null ? 0.0 : costNode.asDouble();
-    String onePager = onePagerNode == null ? deriveOnePager(state.bill.rawText()) : onePagerNode.asText();
+    double estimatedCost = costNode == null ? local.estimatedCost() : costNode.asDouble();
+    String onePager = onePagerNode == null ? local.onePager() : onePagerNode.asText();
 
     state.bill.setTopics(topics);
     state.bill.setEstimatedCost(estimatedCost);
@@ -89,37 +171,241 @@ No extra keys. No markdown.
     SimulationLogger.log("[ParseBill] Analysis complete.");
   }
 
-  private List<String> deriveTopics(String title, String rawText) {
-    String base = (title == null || title.isBlank()) ? rawText : title;
-    if (base == null) return List.of("general");
-    String[] tokens = base.toLowerCase()
-        .replaceAll("[^a-z\\s]", " ")
-        .split("\\s+");
-    java.util.Set<String> stop = java.util.Set.of(
-        "the", "and", "of", "to", "a", "an", "in", "for", "on", "by", "with", "from", "act", "bill");
-    java.util.List<String> topics = new java.util.ArrayList<>();
-    for (String token : tokens) {
-      if (token.isBlank() || stop.contains(token)) continue;
-      if (!topics.contains(token)) topics.add(token);
-      if (topics.size() >= 5) break;
+  private BillAnalyzer.Analysis analyseLocally(Bill bill) {
+    long start = System.nanoTime();
+    BillAnalyzer.Analysis local = BillAnalyzer.analyze(bill);
+    SimulationLogger.log(String.format("[ParseBill] Local analysis in %.1f ms (confidence %.2f).",
+        (System.nanoTime() - start) / 1e6, local.confidence()));
+    return local;
+  }
+
+  private ObjectNode toJson(BillAnalyzer.Analysis local) {
+    ObjectNode root = mapper.createObjectNode();
+    root.set("topics", mapper.valueToTree(local.topics()));
+    root.put("estimatedCost", local.estimatedCost());
+    root.set("attributes", mapper.valueToTree(local.attributes()));
+    root.put("onePager", local.onePager());
+    return root;
+  }
+
+  /**
+   * Hybrid mode when the local draft is weak: the LLM corrects it from the draft and the bill's top-ranked
+   * sentences rather than reading the whole bill.
+   */
+  private JsonNode refine(Bill bill, BillAnalyzer.Analysis local) throws Exception {
+    SimulationLogger.log("[ParseBill] Local analysis is unsure. Asking the LLM to refine it...");
+    StringBuilder excerpts = new StringBuilder();
+    for (String sentence : local.keySentences()) {
+      excerpts.append("- ").append(sentence).append('\n');
     }
-    while (topics.size() < 5) topics.add("general");
-    return topics;
+    String prompt = """
+You are a legislative analyst. A keyword extractor drafted the analysis below for the bill "%s".
+Correct it using the key sentences. Keep what is right; replace what is wrong or vague.
+
+DRAFT:
+%s
+
+KEY SENTENCES:
+%s
+Return STRICT JSON with keys:
+- topics: array of 5 short strings
+- estimatedCost: number (USD millions if unsure)
+- attributes: object with 3-5 key facts (values string or number)
+- onePager: 3 short sentences
+
+No extra keys. No markdown.
+""".formatted(bill.title(), mapper.writeValueAsString(toJson(local)), excerpts);
+    return generate(prompt, NUM_PREDICT_PARSE, NUM_PREDICT_PARSE_RETRY);
+  }
+
+  private JsonNode analyseWhole(SimulationState state) throws Exception {
+    SimulationLogger.log("[ParseBill] Sending bill to LLM for analysis...");
+    String prompt = """
+You are a legislative analyst. Extract structured data and a short one-pager.
+
+Return STRICT JSON with keys:
+- topics: array of 5 short strings
+- estimatedCost: number (USD millions if unsure)
+- attributes: object with 3-5 key facts (values string or number)
+- onePager: 3 short sentences
+
+BILL:
+%s
+
+No extra keys. No markdown.
+""".formatted(state.bill.rawText());
+    return generate(prompt, NUM_PREDICT_PARSE, NUM_PREDICT_PARSE_RETRY);
+  }
+
+  /**
+   * Map-reduce analysis for bills too long for one prompt: each chunk is summarised on its own, in
+   * parallel, and a final call merges the chunk notes into the usual fields. If that call fails, the
+   * notes are merged directly (topics by frequency, costs summed).
+   */
+  private JsonNode analyseInChunks(SimulationState state, List<BillChunker.Chunk> chunks) throws Exception {
+    int total = chunks.size();
+    SimulationLogger.log("[ParseBill] Bill is " + state.bill.rawText().length() + " chars; analysing " + total
+        + " parts, " + Math.min(parallelism, total) + " at a time...");
+    ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, total), r -> {
+      Thread t = new Thread(r, "parse-chunk");
+      t.setDaemon(true);
+      return t;
+    });
+    AtomicInteger finished = new AtomicInteger();
+    List<JsonNode> notes = new ArrayList<>();
+    try {
+      List<Future<JsonNode>> futures = new ArrayList<>();
+      for (BillChunker.Chunk chunk : chunks) {
+        futures.add(pool.submit(SimulationLogger.propagate(() -> {
+          JsonNode note;
+          try {
+            note = generate(chunkPrompt(state.bill.title(), chunk, total), NUM_PREDICT_CHUNK, NUM_PREDICT_PARSE);
+          } catch (Exception e) {
+            SimulationLogger.log("[ParseBill] Part " + (chunk.index() + 1) + "/" + total + " failed: "
+                + e.getMessage());
+            return null;
+          }
+          SimulationLogger.log("[ParseBill] Part " + (chunk.index() + 1) + "/" + total + " analysed"
+              + (chunk.label().isBlank() ? "" : " (" + chunk.label() + ")") + "; "
+              + finished.incrementAndGet() + "/" + total + " done.");
+          return note;
+        })));
+      }
+      for (Future<JsonNode> future : futures) {
+        notes.add(future.get());
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    if (notes.stream().allMatch(Objects::isNull)) {
+      throw new IllegalStateException("Every part of the bill failed to parse");
+    }
+
+    ObjectNode merged = merge(notes, state.bill);
+    JsonNode root;
+    try {
+      SimulationLogger.log("[ParseBill] Combining " + total + " part notes...");
+      root = generate(reducePrompt(state.bill.title(), notes, merged.path("estimatedCost").asDouble()),
+          NUM_PREDICT_PARSE, NUM_PREDICT_PARSE_RETRY);
+    } catch (Exception e) {
+      SimulationLogger.log("[ParseBill] Combining failed. Merging part notes directly.");
+      return merged;
+    }
+    if (root instanceof ObjectNode object) {
+      for (String field : List.of("topics", "estimatedCost", "attributes", "onePager")) {
+        if (object.get(field) == null) object.set(field, merged.get(field));
+      }
+    }
+    return root;
   }
 
-  private String deriveOnePager(String rawText) {
-    if (rawText == null || rawText.isBlank()) return "No summary available.";
-    String[] parts = rawText.split("(?<=[.!?])\\s+");
+  private static String chunkPrompt(String title, BillChunker.Chunk chunk, int total) {
+    return """
+You are a legislative analyst reading part %d of %d of the bill "%s".
+
+Return STRICT JSON with keys:
+- topics: array of up to 3 short strings
+- estimatedCost: number, new spending or revenue in this part in USD millions (0 if none)
+- facts: object with up to 3 key facts (values string or number)
+- summary: one short sentence
+
+PART:
+%s
+
+No extra keys. No markdown.
+""".formatted(chunk.index() + 1, total, title, chunk.text());
+  }
+
+  private String reducePrompt(String title, List<JsonNode> notes, double summedCost) {
     StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < parts.length && i < 3; i++) {
-      if (parts[i].isBlank()) continue;
-      if (sb.length() > 0) sb.append(' ');
-      sb.append(parts[i].trim());
+    for (int i = 0; i < notes.size(); i++) {
+      JsonNode note = notes.get(i);
+      if (note == null) continue;
+      sb.append("Part ").append(i + 1).append(": ").append(note.path("summary").asText(""))
+          .append(" Topics: ").append(String.join(", ", textValues(note.path("topics"))))
+          .append(". Cost: ").append(note.path("estimatedCost").asDouble()).append(" million.");
+      JsonNode facts = note.path("facts");
+      if (facts.isObject() && facts.size() > 0) sb.append(" Facts: ").append(facts);
+      sb.append('\n');
+    }
+    return """
+You are a legislative analyst. Below are notes on each part of the bill "%s", in order.
+Combine them into structured data and a short one-pager for the whole bill.
+
+Return STRICT JSON with keys:
+- topics: array of 5 short strings
+- estimatedCost: number (USD millions; the parts add up to %s)
+- attributes: object with 3-5 key facts (values string or number)
+- onePager: 3 short sentences
+
+NOTES:
+%s
+No extra keys. No markdown.
+""".formatted(title, summedCost, sb);
+  }
+
+  /** The reduce step without the LLM: most frequent topics, summed cost, first facts, first summaries. */
+  private ObjectNode merge(List<JsonNode> notes, Bill bill) {
+    Map<String, Integer> topicCounts = new LinkedHashMap<>();
+    Map<String, String> topicNames = new HashMap<>();
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    List<String> summaries = new ArrayList<>();
+    double cost = 0;
+    for (JsonNode note : notes) {
+      if (note == null) continue;
+      for (String topic : textValues(note.path("topics"))) {
+        String key = topic.toLowerCase(Locale.ROOT).trim();
+        if (key.isEmpty()) continue;
+        topicCounts.merge(key, 1, Integer::sum);
+        topicNames.putIfAbsent(key, topic.trim());
+      }
+      cost += note.path("estimatedCost").asDouble(0);
+      for (var fields = note.path("facts").fields(); fields.hasNext() && attributes.size() < 5; ) {
+        var fact = fields.next();
+        attributes.putIfAbsent(fact.getKey(), mapper.convertValue(fact.getValue(), Object.class));
+      }
+      String summary = note.path("summary").asText("").trim();
+      if (!summary.isEmpty() && summaries.size() < 3 && !summaries.contains(summary)) summaries.add(summary);
     }
-    String result = sb.toString().trim();
-    if (result.isBlank()) {
-      result = rawText.length() > 240 ? rawText.substring(0, 240).trim() + "..." : rawText.trim();
+    List<String> topics = new ArrayList<>();
+    topicCounts.entrySet().stream()
+        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+        .limit(5)
+        .forEach(e -> topics.add(topicNames.get(e.getKey())));
+    BillAnalyzer.Analysis local = topics.size() < 5 || summaries.isEmpty() ? BillAnalyzer.analyze(bill) : null;
+    for (String fallback : local == null ? List.<String>of() : local.topics()) {
+      if (topics.size() >= 5) break;
+      if (!topics.contains(fallback)) topics.add(fallback);
+    }
+    ObjectNode merged = mapper.createObjectNode();
+    merged.set("topics", mapper.valueToTree(topics));
+    merged.put("estimatedCost", cost);
+    merged.set("attributes", mapper.valueToTree(attributes));
+    merged.put("onePager", summaries.isEmpty() ? local.onePager() : String.join(" ", summaries));
+    return merged;
+  }
+
+  private static List<String> textValues(JsonNode array) {
+    List<String> values = new ArrayList<>();
+    if (array.isArray()) {
+      for (JsonNode value : array) {
+        values.add(value.asText());
+      }
+    }
+    return values;
+  }
+
+  /** One LLM call, retried once with a higher token limit if the JSON does not parse. */
+  private JsonNode generate(String prompt, int numPredict, int retryNumPredict) throws Exception {
+    String json = llm.generateJson(prompt, LLMRequestOptions.withNumPredict(numPredict));
+    try {
+      return mapper.readTree(json);
+    } catch (JsonProcessingException e) {
+      SimulationLogger.log("[ParseBill] Invalid JSON from LLM. Retrying with higher limit...");
+      JSON_RETRIES.inc();
+      String retryPrompt = prompt + "\nReturn compact JSON only. No extra text.";
+      json = llm.generateJson(retryPrompt, LLMRequestOptions.withNumPredict(retryNumPredict));
+      return mapper.readTree(json);
     }
-    return result.isBlank() ? "No summary available." : result;
   }
 }
@@ -0,0 +1,38 @@
+package govsim.nodes;
+
+import govsim.config.InvoiceLoader;
+import govsim.core.Node;
+import govsim.core.SimulationState;
+import govsim.core.StateKeys;
+
+import java.util.Set;
+
+public class PreloadInvoicesNode implements Node {
+  private final String invoicesPath;
+  private final InvoiceLoader loader = new InvoiceLoader();
+
+  public PreloadInvoicesNode(String invoicesPath) {
+    this.invoicesPath = invoicesPath;
+  }
+
+  @Override
+  public String name() { return "PreloadInvoices"; }
+
+  @Override
+  public Set<String> reads() {
+    return Set.of();
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.var("invoices"));
+  }
+
+  @Override
+  public boolean visibleStage() { return false; }
+
+  @Override
+  public void run(SimulationState state) throws Exception {
+    state.vars.put("invoices", loader.load(invoicesPath));
+  }
+}
@@ -3,9 +3,9 @@ package govsim.nodes;
 import govsim.agents.AgentContext;
 import govsim.agents.AgentOutput;
 import govsim.config.AgentRegistry;
-import govsim.core.Node;
 import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.core.StateKeys;
 import govsim.domain.Agency;
 import govsim.domain.Vote;
 import govsim.domain.VoteResult;
@@ -15,25 +15,38 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Set;
+import java.util.random.RandomGenerator;
 
-public class PrimaryFloorDebateNode implements Node {
+public class PrimaryFloorDebateNode extends RepTurnNode {
   private static final int MAX_SUMMARY_LINES = 12;
   private static final int AGENCIES_TO_VOTE = 7;
-  private final AgentRegistry registry;
 
   public PrimaryFloorDebateNode(AgentRegistry registry) {
-    this.registry = registry;
+    super(registry);
   }
 
   @Override
   public String name() { return "PrimaryFloorDebate"; }
 
+  @Override
+  public Set<String> reads() {
+    return Set.of(StateKeys.BILL, StateKeys.ONE_PAGER, StateKeys.SELECTED_AGENCY,
+        StateKeys.var("committeeSummary"), StateKeys.var("factsPack"), StateKeys.var("peerReasoningLog"),
+        StateKeys.var("seed"));
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.FLOOR_SUMMARY, StateKeys.TURN_OUTPUTS, StateKeys.VOTE_RESULT, StateKeys.INTERACTION_LOG,
+        StateKeys.var("peerReasoningLog"), StateKeys.var("repMemories"));
+  }
+
   @Override
   public void run(SimulationState state) throws Exception {
     String summary = String.valueOf(state.vars.getOrDefault("committeeSummary", ""));
 
-    Random rng = new Random(seedFromState(state));
+    RandomGenerator rng = random(state);
     AgentOutput advocateOutput = null;
     String advocateId = chooseAdvocateId(state, rng);
     if (advocateId != null) {
@@ -103,14 +116,10 @@ public class PrimaryFloorDebateNode implements Node {
     state.floorSummary = summary;
     state.lastTurnOutputs = outputs;
     state.voteResult = new VoteResult(toVotes(outputs));
+    saveMemories(state);
   }
 
-  private long seedFromState(SimulationState state) {
-    if (state.bill == null || state.bill.id() == null) return 0L;
-    return state.bill.id().hashCode();
-  }
-
-  private String chooseAdvocateId(SimulationState state, Random rng) {
+  private String chooseAdvocateId(SimulationState state, RandomGenerator rng) {
     if (state.selectedAgencyId != null) {
       Agency agency = registry.agencyById(state.selectedAgencyId);
       if (agency != null && !agency.representativeIds().isEmpty()) {
@@ -124,7 +133,7 @@ public class PrimaryFloorDebateNode implements Node {
     return repIds.isEmpty() ? null : pickFromList(repIds, rng);
   }
 
-  private List<Agency> pickAgencies(List<Agency> agencies, int count, Random rng) {
+  private List<Agency> pickAgencies(List<Agency> agencies, int count, RandomGenerator rng) {
     List<Agency> copy = new ArrayList<>(agencies);
     for (int i = copy.size() - 1; i > 0; i--) {
       int j = rng.nextInt(i + 1);
@@ -136,12 +145,12 @@ public class PrimaryFloorDebateNode implements Node {
     return copy.subList(0, limit);
   }
 
-  private String pickRepresentative(Agency agency, Random rng) {
+  private String pickRepresentative(Agency agency, RandomGenerator rng) {
     List<String> reps = agency.representativeIds();
     return pickFromList(reps, rng);
   }
 
-  private String pickFromList(List<String> items, Random rng) {
+  private String pickFromList(List<String> items, RandomGenerator rng) {
     if (items == null || items.isEmpty()) return null;
     return items.get(rng.nextInt(items.size()));
   }
@@ -205,7 +214,7 @@ public class PrimaryFloorDebateNode implements Node {
     }
   }
 
-  private String pickDebateTarget(Map<String, Object> runtime, Random rng) {
+  private String pickDebateTarget(Map<String, Object> runtime, RandomGenerator rng) {
     Object existing = runtime.get("peerReasoningLog");
     if (!(existing instanceof List<?> list) || list.isEmpty()) {
       return null;
@@ -2,11 +2,24 @@ package govsim.nodes;
 
 import govsim.core.Node;
 import govsim.core.SimulationState;
+import govsim.core.StateKeys;
+
+import java.util.Set;
 
 public class PublicForumNode implements Node {
   @Override
   public String name() { return "PublicForum"; }
 
+  @Override
+  public Set<String> reads() {
+    return Set.of(StateKeys.VOTE_RESULT, StateKeys.FLOOR_SUMMARY);
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.var("publicForumNote"));
+  }
+
   @Override
   public void run(SimulationState state) {
     state.vars.put("publicForumNote", "Public forum input not simulated yet.");
@@ -0,0 +1,51 @@
+package govsim.nodes;
+
+import govsim.config.AgentRegistry;
+import govsim.core.Node;
+import govsim.core.SimulationState;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A stage where representatives take turns. Turns read and update each rep's memory, so the memory going in
+ * is part of the memo fingerprint, and the memory coming out is saved as {@code vars.repMemories} by
+ * {@link #saveMemories} and put back when a memo hit skips the turns.
+ */
+public abstract class RepTurnNode implements Node {
+  protected final AgentRegistry registry;
+
+  protected RepTurnNode(AgentRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public boolean memoizable() { return true; }
+
+  @Override
+  public String memoVariant() {
+    return "memory|" + registry.memorySnapshot();
+  }
+
+  @Override
+  public void restored(SimulationState state) {
+    if (state.vars.get("repMemories") instanceof Map<?, ?> memories) registry.restoreMemories(memories);
+  }
+
+  /** Call at the end of {@link #run}; subclasses list {@code StateKeys.var("repMemories")} in their writes. */
+  protected void saveMemories(SimulationState state) {
+    state.vars.put("repMemories", registry.memorySnapshot());
+  }
+
+  /**
+   * A Monte Carlo replica draws from its own seed; a plain run keeps the {@link Random} seeded by the bill id
+   * hash, so its speaker and debate-target picks stay what they always were.
+   */
+  protected static RandomGenerator random(SimulationState state) {
+    if (state.vars.get("seed") instanceof Number seed) return new SplittableRandom(seed.longValue());
+    if (state.bill == null || state.bill.id() == null) return new Random(0L);
+    return new Random(state.bill.id().hashCode());
+  }
+}
@@ -8,6 +8,7 @@ import govsim.config.AgentRegistry;
 import govsim.core.Node;
 import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.core.StateKeys;
 import govsim.domain.Agency;
 import govsim.llm.LLMClient;
 import govsim.llm.LLMRequestOptions;
@@ -15,6 +16,7 @@ import govsim.web.BillStore;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class ReviseFailedBillNode implements Node {
   private static final int NUM_PREDICT_REVISE = 600;
@@ -30,6 +32,34 @@ public class ReviseFailedBillNode implements Node {
   @Override
   public String name() { return "ReviseFailedBill"; }
 
+  @Override
+  public Set<String> reads() {
+    return Set.of(StateKeys.BILL, StateKeys.SELECTED_AGENCY, StateKeys.FLOOR_SUMMARY,
+        StateKeys.var("finalOutcome"), StateKeys.var("committeeSummary"));
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.ONE_PAGER, StateKeys.FLOOR_SUMMARY, StateKeys.TURN_OUTPUTS, StateKeys.VOTE_RESULT,
+        StateKeys.var("finalOutcome"), StateKeys.var("revisedBillText"), StateKeys.var("revisedBillSummary"),
+        StateKeys.var("revisedBillChanges"));
+  }
+
+  @Override
+  public boolean memoizable() { return true; }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void restored(SimulationState state) {
+    Object storeObj = state.vars.get("billStore");
+    Object revisedText = state.vars.get("revisedBillText");
+    if (!(storeObj instanceof BillStore store) || !(revisedText instanceof String text)) return;
+    Object changes = state.vars.get("revisedBillChanges");
+    store.setRevised(text, String.valueOf(state.vars.getOrDefault("revisedBillSummary", "")),
+        changes instanceof List<?> list ? (List<String>) list : List.of());
+    store.setOnePager(state.billOnePager);
+  }
+
   @Override
   public void run(SimulationState state) throws Exception {
     String outcome = String.valueOf(state.vars.getOrDefault("finalOutcome", ""));
@@ -117,7 +147,6 @@ No extra keys. No markdown.
     state.lastTurnOutputs.clear();
     state.voteResult = null;
     state.vars.put("finalOutcome", "REVISED_PENDING");
-    state.vars.put("rerunFromNode", "CommitteeDeliberation");
   }
 
   private String buildRevisedOnePager(String summary, List<String> keyChanges, String revisedText) {
@@ -3,15 +3,51 @@ package govsim.nodes;
 import govsim.core.Node;
 import govsim.core.SimulationLogger;
 import govsim.core.SimulationState;
+import govsim.core.StateKeys;
 import govsim.domain.VoteResult;
 import govsim.web.VoteBox;
 
+import java.time.Duration;
 import java.util.Scanner;
+import java.util.Set;
 
 public class ThresholdDecisionNode implements Node {
+  // Shared and never closed: closing a Scanner closes System.in for every later vote.
+  private static final Scanner STDIN = new Scanner(System.in);
+
+  private final boolean popularVote;
+  private final Duration voteWindow;
+
+  /** Popular vote closed from the console with "close". */
+  public ThresholdDecisionNode() {
+    this(true);
+  }
+
+  /** @param popularVote false for headless runs: PASS and ties are recorded without asking voters */
+  public ThresholdDecisionNode(boolean popularVote) {
+    this.popularVote = popularVote;
+    this.voteWindow = null;
+  }
+
+  /** Popular vote taken from the live page only and closed after {@code voteWindow}. */
+  public ThresholdDecisionNode(Duration voteWindow) {
+    this.popularVote = true;
+    this.voteWindow = voteWindow;
+  }
+
   @Override
   public String name() { return "ThresholdDecision"; }
 
+  @Override
+  public Set<String> reads() {
+    return Set.of(StateKeys.VOTE_RESULT);
+  }
+
+  @Override
+  public Set<String> writes() {
+    return Set.of(StateKeys.var("finalOutcome"));
+  }
+
   @Override
   public void run(SimulationState state) {
     VoteResult result = state.voteResult;
@@ -35,7 +71,7 @@ public class ThresholdDecisionNode implements Node {
     SimulationLogger.log("[Decision] Outcome: " + outcome + " (yes=" + yes + ", no=" + no +
         ", abstain=" + result.abstainCount() + ")");
 
-    if (outcome.equals("PASS") || outcome.equals("POPULAR_VOTE_REQUIRED")) {
+    if (popularVote && (outcome.equals("PASS") || outcome.equals("POPULAR_VOTE_REQUIRED"))) {
       String finalOutcome = runPopularVote(state);
       updateOutcome(state, finalOutcome);
       SimulationLogger.log("[Decision] Final outcome after popular vote: " + finalOutcome);
@@ -50,12 +86,29 @@ public class ThresholdDecisionNode implements Node {
     voteBox.open();
     int port = state.pollingServer != null ? state.pollingServer.port() : 8080;
     SimulationLogger.log("[PopularVote] Open. Visit http://localhost:" + port + " to vote.");
-    SimulationLogger.log("[PopularVote] Type yes/no to vote, or 'close' to end voting.");
+    if (voteWindow != null) {
+      SimulationLogger.log("[PopularVote] Closes in " + voteWindow.toSeconds() + "s.");
+      try {
+        Thread.sleep(voteWindow.toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    } else {
+      SimulationLogger.log("[PopularVote] Type yes/no to vote, or 'close' to end voting.");
+      readConsoleVotes(voteBox);
+    }
 
-    try (Scanner scanner = new Scanner(System.in)) {
-      while (true) {
-        String input = scanner.nextLine();
-        if (input == null) continue;
+    voteBox.close();
+    VoteBox.VoteSnapshot snap = voteBox.snapshot();
+    boolean passed = snap.yes > snap.no;
+    SimulationLogger.log("[PopularVote] Results: YES=" + snap.yes + ", NO=" + snap.no + ".");
+    return passed ? "PASS" : "KILLED";
+  }
+
+  private void readConsoleVotes(VoteBox voteBox) {
+    synchronized (STDIN) {
+      while (STDIN.hasNextLine()) {
+        String input = STDIN.nextLine();
         String trimmed = input.trim().toLowerCase();
         if (trimmed.equals("close") || trimmed.equals("done") || trimmed.equals("end")) {
           break;
@@ -71,12 +124,6 @@ public class ThresholdDecisionNode implements Node {
         }
       }
     }
-
-    voteBox.close();
-    VoteBox.VoteSnapshot snap = voteBox.snapshot();
-    boolean passed = snap.yes > snap.no;
-    SimulationLogger.log("[PopularVote] Results: YES=" + snap.yes + ", NO=" + snap.no + ".");
-    return passed ? "PASS" : "KILLED";
   }
 
   private void updateOutcome(SimulationState state, String outcome) {
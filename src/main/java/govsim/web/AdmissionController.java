@@ -0,0 +1,152 @@
+package govsim.web;
+
+import govsim.core.SimulationLogger;
+import govsim.metrics.Counter;
+import govsim.metrics.MetricsRegistry;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-class concurrency limits with priority-ordered shedding. Lower classes may only use a shrinking
+ * share of the global limit, so under pressure assets and log polls are refused before status and
+ * status before votes. Each class also has a bounded wait queue; requests beyond it are rejected.
+ */
+public class AdmissionController {
+  private static final long QUEUE_WAIT_MS = 250;
+  private static final long SHED_LOG_INTERVAL_MS = 10_000;
+
+  private final int globalLimit;
+  private final AtomicInteger active = new AtomicInteger();
+  private final Map<RequestPriority, Lane> lanes = new EnumMap<>(RequestPriority.class);
+
+  public AdmissionController(int globalLimit) {
+    this.globalLimit = Math.max(4, globalLimit);
+    for (RequestPriority priority : RequestPriority.values()) {
+      int laneLimit = Math.max(1, (int) Math.floor(this.globalLimit * priority.capacityShare));
+      lanes.put(priority, new Lane(priority, laneLimit, laneLimit * 2));
+    }
+  }
+
+  /** Returns true if the caller may proceed; it must then call {@link #release}. */
+  public boolean tryAdmit(RequestPriority priority) {
+    Lane lane = lanes.get(priority);
+    int globalCap = Math.max(1, (int) Math.floor(globalLimit * priority.capacityShare));
+    // Cheap early refusal; the reservation below is what actually enforces the cap.
+    if (active.get() >= globalCap) {
+      return shed(priority, lane);
+    }
+    if (lane.waiting.incrementAndGet() > lane.queueLimit) {
+      lane.waiting.decrementAndGet();
+      return shed(priority, lane);
+    }
+    boolean acquired;
+    try {
+      acquired = lane.permits.tryAcquire(QUEUE_WAIT_MS, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    } finally {
+      lane.waiting.decrementAndGet();
+    }
+    if (!acquired) {
+      return shed(priority, lane);
+    }
+    if (!reserveGlobal(globalCap)) {
+      lane.permits.release();
+      return shed(priority, lane);
+    }
+    lane.admitted.incrementAndGet();
+    return true;
+  }
+
+  /** Takes a global slot only if one is free under {@code cap}; check and increment happen as one step. */
+  private boolean reserveGlobal(int cap) {
+    while (true) {
+      int current = active.get();
+      if (current >= cap) return false;
+      if (active.compareAndSet(current, current + 1)) return true;
+    }
+  }
+
+  public void release(RequestPriority priority) {
+    active.decrementAndGet();
+    lanes.get(priority).permits.release();
+  }
+
+  public int activeRequests() {
+    return active.get();
+  }
+
+  public int queued(RequestPriority priority) {
+    return lanes.get(priority).waiting.get();
+  }
+
+  public long shedCount(RequestPriority priority) {
+    return lanes.get(priority).shed.get();
+  }
+
+  public Map<RequestPriority, LaneSnapshot> snapshot() {
+    Map<RequestPriority, LaneSnapshot> out = new EnumMap<>(RequestPriority.class);
+    for (var entry : lanes.entrySet()) {
+      Lane lane = entry.getValue();
+      out.put(entry.getKey(), new LaneSnapshot(lane.limit - lane.permits.availablePermits(), lane.waiting.get(),
+          lane.limit, lane.queueLimit, lane.admitted.get(), lane.shed.get()));
+    }
+    return out;
+  }
+
+  private boolean shed(RequestPriority priority, Lane lane) {
+    lane.shed.incrementAndGet();
+    lane.shedTotal.inc();
+    long now = System.currentTimeMillis();
+    long last = lane.lastShedLog.get();
+    if (now - last >= SHED_LOG_INTERVAL_MS && lane.lastShedLog.compareAndSet(last, now)) {
+      SimulationLogger.log("[Server] Shedding " + priority + " requests (active=" + active.get()
+          + ", queued=" + lane.waiting.get() + ", shed=" + lane.shed.get() + ")");
+    }
+    return false;
+  }
+
+  private static class Lane {
+    final int limit;
+    final int queueLimit;
+    final Semaphore permits;
+    final AtomicInteger waiting = new AtomicInteger();
+    final AtomicLong admitted = new AtomicLong();
+    final AtomicLong shed = new AtomicLong();
+    final AtomicLong lastShedLog = new AtomicLong();
+    final Counter shedTotal;
+
+    Lane(RequestPriority priority, int limit, int queueLimit) {
+      this.limit = limit;
+      this.queueLimit = queueLimit;
+      this.permits = new Semaphore(limit, true);
+      this.shedTotal = MetricsRegistry.global().counter("govsim_http_requests_shed_total",
+          "Requests rejected with 429", "class", priority.name().toLowerCase(Locale.ROOT));
+    }
+  }
+
+  public static class LaneSnapshot {
+    public final int active;
+    public final int queued;
+    public final int limit;
+    public final int queueLimit;
+    public final long admitted;
+    public final long shed;
+
+    public LaneSnapshot(int active, int queued, int limit, int queueLimit, long admitted, long shed) {
+      this.active = active;
+      this.queued = queued;
+      this.limit = limit;
+      this.queueLimit = queueLimit;
+      this.admitted = admitted;
+      this.shed = shed;
+    }
+  }
+}
@@ -10,15 +10,18 @@ public class BillStore {
   private String revisedText = "";
   private String revisedSummary = "";
   private List<String> revisedChanges = List.of();
+  private long version;
 
   public synchronized void setOriginalText(String text) {
     if (text == null) return;
     this.originalText = text.trim();
+    version++;
   }
 
   public synchronized void setOnePager(String text) {
     if (text == null) return;
     this.onePager = text.trim();
+    version++;
   }
 
   public synchronized void setRevised(String text, String summary, List<String> changes) {
@@ -29,11 +32,22 @@ public class BillStore {
     } else {
       this.revisedChanges = new ArrayList<>(changes);
     }
+    version++;
+  }
+
+  /** Clears the previous bill; the version keeps counting so poll cursors stay valid. */
+  public synchronized void reset() {
+    originalText = "";
+    onePager = "";
+    revisedText = "";
+    revisedSummary = "";
+    revisedChanges = List.of();
+    version++;
   }
 
   public synchronized BillSnapshot snapshot() {
     return new BillSnapshot(originalText, onePager, revisedText, revisedSummary,
-        revisedChanges == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(revisedChanges)));
+        revisedChanges == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(revisedChanges)), version);
   }
 
   public static class BillSnapshot {
@@ -42,14 +56,16 @@ public class BillStore {
     public final String revisedText;
     public final String revisedSummary;
     public final List<String> revisedChanges;
+    public final long version;
 
     public BillSnapshot(String originalText, String onePager, String revisedText,
-                        String revisedSummary, List<String> revisedChanges) {
+                        String revisedSummary, List<String> revisedChanges, long version) {
       this.originalText = originalText;
       this.onePager = onePager;
       this.revisedText = revisedText;
       this.revisedSummary = revisedSummary;
       this.revisedChanges = revisedChanges;
+      this.version = version;
     }
   }
 }
@@ -5,7 +5,11 @@ import java.util.Collections;
 import java.util.List;
 
 public class ChatStore {
+  /** Messages held for late joiners; older ones are dropped in batches once a quarter more have piled up. */
+  private static final int MAX_MESSAGES = 500;
   private final List<ChatMessage> messages = new ArrayList<>();
+  // Indexes are absolute, so poll cursors survive drops; messages.get(0) is index dropped.
+  private int dropped;
   private final java.util.Map<String, String> voterNames = new java.util.HashMap<>();
   private static final List<String> ANIMALS = List.of(
       "Tiger", "Lion", "Panther", "Fox", "Wolf", "Hawk", "Otter", "Bear", "Eagle", "Cobra",
@@ -17,12 +21,32 @@ public class ChatStore {
     if (cleanMessage.isBlank()) return;
     String displayName = displayNameFor(voterId);
     messages.add(new ChatMessage(displayName, cleanMessage, System.currentTimeMillis()));
+    if (messages.size() > MAX_MESSAGES + MAX_MESSAGES / 4) {
+      drop(messages.size() - MAX_MESSAGES);
+    }
+  }
+
+  /** Clears the previous bill's chat and names; indexes keep counting so poll cursors stay valid. */
+  public synchronized void reset() {
+    drop(messages.size());
+    voterNames.clear();
   }
 
   public synchronized ChatSnapshot snapshotFrom(int startIndex) {
-    int safeStart = Math.max(0, Math.min(startIndex, messages.size()));
-    List<ChatMessage> slice = new ArrayList<>(messages.subList(safeStart, messages.size()));
-    return new ChatSnapshot(Collections.unmodifiableList(slice), messages.size());
+    int end = dropped + messages.size();
+    int safeStart = Math.max(dropped, Math.min(startIndex, end));
+    List<ChatMessage> slice = new ArrayList<>(messages.subList(safeStart - dropped, messages.size()));
+    return new ChatSnapshot(Collections.unmodifiableList(slice), end);
+  }
+
+  private void drop(int count) {
+    messages.subList(0, count).clear();
+    dropped += count;
+  }
+
+  /** Messages currently held. */
+  public synchronized int size() {
+    return messages.size();
   }
 
   private String sanitize(String value, int maxLen) {
@@ -0,0 +1,14 @@
+package govsim.web;
+
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * Network front end for {@link PollingServer}. Handlers are plain {@link HttpHandler}s so the same
+ * {@code handleLog}/{@code handleStatus}/{@code handleVote} code runs on either transport.
+ */
+public interface HttpTransport {
+  void createContext(String path, HttpHandler handler);
+  void start();
+  void stop();
+  int port();
+}
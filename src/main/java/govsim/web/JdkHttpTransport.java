@@ -0,0 +1,38 @@
+package govsim.web;
+
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+/** The default transport: the JDK's built-in {@link HttpServer}. */
+public class JdkHttpTransport implements HttpTransport {
+  private final HttpServer server;
+
+  public JdkHttpTransport(int port, int backlog) throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress(port), backlog);
+    this.server.setExecutor(Executors.newCachedThreadPool());
+  }
+
+  @Override
+  public void createContext(String path, HttpHandler handler) {
+    server.createContext(path, handler);
+  }
+
+  @Override
+  public void start() {
+    server.start();
+  }
+
+  @Override
+  public void stop() {
+    server.stop(0);
+  }
+
+  @Override
+  public int port() {
+    return server.getAddress().getPort();
+  }
+}
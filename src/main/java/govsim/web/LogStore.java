@@ -5,17 +5,57 @@ import java.util.Collections;
 import java.util.List;
 
 public class LogStore {
+  private static final long RATE_WINDOW_MS = 5000;
+  /** Lines held for late joiners; older ones are dropped in batches once a quarter more have piled up. */
+  private static final int MAX_LINES = 5000;
   private final List<String> lines = new ArrayList<>();
+  // Indexes are absolute, so poll cursors stay valid when lines are dropped; lines.get(0) is index dropped.
+  private int dropped;
+  private long windowStart = System.currentTimeMillis();
+  private int windowCount;
+  private int previousWindowCount;
 
   public synchronized void addLine(String line) {
     if (line == null) return;
     lines.add(line);
+    if (lines.size() > MAX_LINES + MAX_LINES / 4) {
+      drop(lines.size() - MAX_LINES);
+    }
+    rollWindow(System.currentTimeMillis());
+    windowCount++;
+  }
+
+  /** Lines appended per second over roughly the last two rate windows. */
+  public synchronized double recentAppendRate() {
+    long now = System.currentTimeMillis();
+    rollWindow(now);
+    double seconds = (RATE_WINDOW_MS + Math.max(1, now - windowStart)) / 1000.0;
+    return (previousWindowCount + windowCount) / seconds;
+  }
+
+  private void rollWindow(long now) {
+    long elapsed = now - windowStart;
+    if (elapsed < RATE_WINDOW_MS) return;
+    previousWindowCount = elapsed < 2 * RATE_WINDOW_MS ? windowCount : 0;
+    windowCount = 0;
+    windowStart = now - (elapsed % RATE_WINDOW_MS);
+  }
+
+  /** Clears the previous bill's lines; indexes keep counting so poll cursors stay valid. */
+  public synchronized void reset() {
+    drop(lines.size());
   }
 
   public synchronized LogSnapshot snapshotFrom(int startIndex) {
-    int safeStart = Math.max(0, Math.min(startIndex, lines.size()));
-    List<String> slice = new ArrayList<>(lines.subList(safeStart, lines.size()));
-    return new LogSnapshot(Collections.unmodifiableList(slice), lines.size());
+    int end = dropped + lines.size();
+    int safeStart = Math.max(dropped, Math.min(startIndex, end));
+    List<String> slice = new ArrayList<>(lines.subList(safeStart - dropped, lines.size()));
+    return new LogSnapshot(Collections.unmodifiableList(slice), end);
+  }
+
+  /** Lines currently held. */
+  public synchronized int size() {
+    return lines.size();
   }
 
   public synchronized String lastLine() {
@@ -23,6 +63,11 @@ public class LogStore {
     return lines.get(lines.size() - 1);
   }
 
+  private void drop(int count) {
+    lines.subList(0, count).clear();
+    dropped += count;
+  }
+
   public static class LogSnapshot {
     public final List<String> lines;
     public final int nextIndex;
@@ -0,0 +1,553 @@
+package govsim.web;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpPrincipal;
+import govsim.core.SimulationLogger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selector-based HTTP/1.1 front end. One thread owns the selector and does all socket I/O; parsed
+ * requests run on a small worker pool. An idle keep-alive connection costs a key and a small read
+ * buffer instead of a thread, which is what lets a single process hold tens of thousands of viewers.
+ *
+ * <p>Response bodies are written into pooled direct buffers and flushed together with the header
+ * block in one gathering write. Requests are not streamed: headers are capped at 16 KB and bodies at
+ * 1 MB, which is far above anything the live page sends.
+ */
+public class NioHttpTransport implements HttpTransport {
+  private static final int READ_BUFFER_BYTES = 4 * 1024;
+  private static final int MAX_HEADER_BYTES = 16 * 1024;
+  private static final int MAX_BODY_BYTES = 1024 * 1024;
+  private static final int RESPONSE_BUFFER_BYTES = 16 * 1024;
+  private static final int MAX_POOLED_BUFFERS = 1024;
+  private static final long IDLE_TIMEOUT_MS = 120_000;
+  private static final long SWEEP_INTERVAL_MS = 5_000;
+
+  private final ServerSocketChannel serverChannel;
+  private final Selector selector;
+  private final ExecutorService workers;
+  private final ByteBufferPool pool = new ByteBufferPool(RESPONSE_BUFFER_BYTES, MAX_POOLED_BUFFERS);
+  private final Map<String, HttpHandler> contexts = new LinkedHashMap<>();
+  private final ConcurrentLinkedQueue<Connection> completed = new ConcurrentLinkedQueue<>();
+  private volatile boolean running;
+  private Thread selectorThread;
+
+  public NioHttpTransport(int port, int backlog, int workerThreads) throws IOException {
+    this.serverChannel = ServerSocketChannel.open();
+    this.serverChannel.configureBlocking(false);
+    this.serverChannel.bind(new InetSocketAddress(port), backlog);
+    this.selector = Selector.open();
+    this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    AtomicInteger threadIds = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(Math.max(1, workerThreads), r -> {
+      Thread t = new Thread(r, "nio-http-worker-" + threadIds.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  @Override
+  public synchronized void createContext(String path, HttpHandler handler) {
+    contexts.put(path, handler);
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    selectorThread = new Thread(this::selectLoop, "nio-http-selector");
+    selectorThread.start();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    selector.wakeup();
+    if (selectorThread != null) {
+      try {
+        selectorThread.join(2000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    workers.shutdownNow();
+  }
+
+  @Override
+  public int port() {
+    try {
+      return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    } catch (IOException e) {
+      throw new IllegalStateException("Server channel closed", e);
+    }
+  }
+
+  private void selectLoop() {
+    long lastSweep = System.currentTimeMillis();
+    try {
+      while (running) {
+        selector.select(SWEEP_INTERVAL_MS);
+        Connection done;
+        while ((done = completed.poll()) != null) {
+          done.beginWrite();
+        }
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (!key.isValid()) continue;
+          if (key.isAcceptable()) {
+            accept();
+            continue;
+          }
+          Connection conn = (Connection) key.attachment();
+          if (key.isReadable()) conn.onReadable();
+          if (key.isValid() && key.isWritable()) conn.onWritable();
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastSweep >= SWEEP_INTERVAL_MS) {
+          closeIdle(now);
+          lastSweep = now;
+        }
+      }
+    } catch (IOException e) {
+      SimulationLogger.log("[Server] NIO selector failed: " + e.getMessage());
+    } finally {
+      for (SelectionKey key : selector.keys()) {
+        if (key.attachment() instanceof Connection conn) conn.close();
+      }
+      try {
+        selector.close();
+        serverChannel.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel channel;
+    while ((channel = serverChannel.accept()) != null) {
+      channel.configureBlocking(false);
+      channel.socket().setTcpNoDelay(true);
+      Connection conn = new Connection(channel);
+      conn.key = channel.register(selector, SelectionKey.OP_READ, conn);
+    }
+  }
+
+  private void closeIdle(long now) {
+    for (SelectionKey key : selector.keys()) {
+      if (key.attachment() instanceof Connection conn
+          && conn.state == State.READING
+          && now - conn.lastActive > IDLE_TIMEOUT_MS) {
+        conn.close();
+      }
+    }
+  }
+
+  private synchronized HttpHandler resolve(String path) {
+    HttpHandler best = null;
+    int bestLength = -1;
+    for (var entry : contexts.entrySet()) {
+      String prefix = entry.getKey();
+      if (path.startsWith(prefix) && prefix.length() > bestLength) {
+        best = entry.getValue();
+        bestLength = prefix.length();
+      }
+    }
+    return best;
+  }
+
+  private enum State { READING, PROCESSING, WRITING }
+
+  private final class Connection {
+    private final SocketChannel channel;
+    private SelectionKey key;
+    private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+    private State state = State.READING;
+    private long lastActive = System.currentTimeMillis();
+    private boolean keepAlive;
+    private ByteBuffer[] out;
+    private List<ByteBuffer> pooledOut = List.of();
+
+    Connection(SocketChannel channel) {
+      this.channel = channel;
+    }
+
+    void onReadable() {
+      if (state != State.READING) return;
+      try {
+        if (!in.hasRemaining()) grow(in.capacity() * 2);
+        int n = channel.read(in);
+        if (n < 0) {
+          close();
+          return;
+        }
+        lastActive = System.currentTimeMillis();
+        tryParse();
+      } catch (IOException e) {
+        close();
+      }
+    }
+
+    private void grow(int capacity) {
+      ByteBuffer bigger = ByteBuffer.allocate(capacity);
+      in.flip();
+      bigger.put(in);
+      in = bigger;
+    }
+
+    private void tryParse() {
+      byte[] data = in.array();
+      int filled = in.position();
+      int headerEnd = indexOfHeaderEnd(data, filled);
+      if (headerEnd < 0) {
+        if (filled >= MAX_HEADER_BYTES) fail(431);
+        return;
+      }
+      String head = new String(data, 0, headerEnd, StandardCharsets.ISO_8859_1);
+      String[] lines = head.split("\r\n");
+      String[] requestLine = lines[0].split(" ");
+      if (requestLine.length != 3) {
+        fail(400);
+        return;
+      }
+      Headers headers = new Headers();
+      for (int i = 1; i < lines.length; i++) {
+        int colon = lines[i].indexOf(':');
+        if (colon <= 0) continue;
+        headers.add(lines[i].substring(0, colon).trim(), lines[i].substring(colon + 1).trim());
+      }
+      int contentLength;
+      try {
+        String declared = headers.getFirst("Content-Length");
+        contentLength = declared == null ? 0 : Integer.parseInt(declared.trim());
+      } catch (NumberFormatException e) {
+        fail(400);
+        return;
+      }
+      if (contentLength < 0 || contentLength > MAX_BODY_BYTES) {
+        fail(413);
+        return;
+      }
+      int bodyStart = headerEnd + 4;
+      int total = bodyStart + contentLength;
+      if (filled < total) {
+        if (in.capacity() < total) grow(total);
+        return;
+      }
+      URI uri;
+      try {
+        uri = URI.create(requestLine[1]);
+      } catch (IllegalArgumentException e) {
+        fail(400);
+        return;
+      }
+      byte[] body = new byte[contentLength];
+      System.arraycopy(data, bodyStart, body, 0, contentLength);
+      // Keep any pipelined bytes for the next request on this connection.
+      System.arraycopy(data, total, data, 0, filled - total);
+      in.position(filled - total);
+
+      String protocol = requestLine[2];
+      String connection = headers.getFirst("Connection");
+      keepAlive = "HTTP/1.1".equals(protocol)
+          ? !"close".equalsIgnoreCase(connection)
+          : "keep-alive".equalsIgnoreCase(connection);
+      state = State.PROCESSING;
+      key.interestOps(0);
+      NioExchange exchange = new NioExchange(this, requestLine[0], uri, protocol, headers, body);
+      workers.execute(() -> dispatch(exchange));
+    }
+
+    private void fail(int status) {
+      keepAlive = false;
+      state = State.PROCESSING;
+      key.interestOps(0);
+      NioExchange exchange = new NioExchange(this, "GET", URI.create("/"), "HTTP/1.1", new Headers(), new byte[0]);
+      try {
+        exchange.sendResponseHeaders(status, -1);
+      } catch (IOException ignored) {
+      }
+      exchange.close();
+    }
+
+    private void dispatch(NioExchange exchange) {
+      try {
+        HttpHandler handler = resolve(exchange.getRequestURI().getPath());
+        if (handler == null) {
+          exchange.sendResponseHeaders(404, -1);
+        } else {
+          handler.handle(exchange);
+        }
+      } catch (Exception e) {
+        if (exchange.getResponseCode() < 0) {
+          try {
+            exchange.sendResponseHeaders(500, -1);
+          } catch (IOException ignored) {
+          }
+        } else {
+          keepAlive = false;
+        }
+      } finally {
+        exchange.close();
+      }
+    }
+
+    /** Called from a worker once the handler is done; the selector thread performs the write. */
+    void complete(ByteBuffer head, List<ByteBuffer> body) {
+      ByteBuffer[] buffers = new ByteBuffer[body.size() + 1];
+      buffers[0] = head;
+      for (int i = 0; i < body.size(); i++) {
+        buffers[i + 1] = body.get(i);
+      }
+      out = buffers;
+      pooledOut = body;
+      completed.add(this);
+      selector.wakeup();
+    }
+
+    void beginWrite() {
+      if (!channel.isOpen()) {
+        releaseOut();
+        return;
+      }
+      state = State.WRITING;
+      onWritable();
+    }
+
+    void onWritable() {
+      if (state != State.WRITING) return;
+      try {
+        channel.write(out);
+        if (out[out.length - 1].hasRemaining()) {
+          key.interestOps(SelectionKey.OP_WRITE);
+          return;
+        }
+        releaseOut();
+        lastActive = System.currentTimeMillis();
+        if (!keepAlive) {
+          close();
+          return;
+        }
+        state = State.READING;
+        key.interestOps(SelectionKey.OP_READ);
+        if (in.position() > 0) tryParse();
+      } catch (IOException e) {
+        close();
+      }
+    }
+
+    private void releaseOut() {
+      for (ByteBuffer buffer : pooledOut) {
+        pool.release(buffer);
+      }
+      pooledOut = List.of();
+      out = null;
+    }
+
+    void close() {
+      releaseOut();
+      if (key != null) key.cancel();
+      try {
+        channel.close();
+      } catch (IOException ignored) {
+      }
+    }
+
+    InetSocketAddress remoteAddress() {
+      try {
+        return (InetSocketAddress) channel.getRemoteAddress();
+      } catch (IOException e) {
+        return null;
+      }
+    }
+
+    InetSocketAddress localAddress() {
+      try {
+        return (InetSocketAddress) channel.getLocalAddress();
+      } catch (IOException e) {
+        return null;
+      }
+    }
+  }
+
+  private static int indexOfHeaderEnd(byte[] data, int limit) {
+    for (int i = 0; i + 3 < limit; i++) {
+      if (data[i] == '\r' && data[i + 1] == '\n' && data[i + 2] == '\r' && data[i + 3] == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private final class NioExchange extends HttpExchange {
+    private final Connection conn;
+    private final String method;
+    private final URI uri;
+    private final String protocol;
+    private final Headers requestHeaders;
+    private final Headers responseHeaders = new Headers();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private InputStream requestBody;
+    private final PooledOutputStream responseBody = new PooledOutputStream();
+    private OutputStream responseStream = responseBody;
+    private int responseCode = -1;
+    private boolean noBody;
+    private boolean closed;
+
+    NioExchange(Connection conn, String method, URI uri, String protocol, Headers requestHeaders, byte[] body) {
+      this.conn = conn;
+      this.method = method;
+      this.uri = uri;
+      this.protocol = protocol;
+      this.requestHeaders = requestHeaders;
+      this.requestBody = new ByteArrayInputStream(body);
+    }
+
+    @Override public Headers getRequestHeaders() { return requestHeaders; }
+    @Override public Headers getResponseHeaders() { return responseHeaders; }
+    @Override public URI getRequestURI() { return uri; }
+    @Override public String getRequestMethod() { return method; }
+    /** Contexts are resolved by prefix inside the transport; there is no JDK context object. */
+    @Override public HttpContext getHttpContext() { return null; }
+    @Override public InputStream getRequestBody() { return requestBody; }
+    @Override public OutputStream getResponseBody() { return responseStream; }
+    @Override public InetSocketAddress getRemoteAddress() { return conn.remoteAddress(); }
+    @Override public int getResponseCode() { return responseCode; }
+    @Override public InetSocketAddress getLocalAddress() { return conn.localAddress(); }
+    @Override public String getProtocol() { return protocol; }
+    @Override public Object getAttribute(String name) { return attributes.get(name); }
+    @Override public void setAttribute(String name, Object value) { attributes.put(name, value); }
+    @Override public HttpPrincipal getPrincipal() { return null; }
+
+    @Override
+    public void setStreams(InputStream i, OutputStream o) {
+      if (i != null) requestBody = i;
+      if (o != null) responseStream = o;
+    }
+
+    @Override
+    public void sendResponseHeaders(int code, long responseLength) throws IOException {
+      if (responseCode >= 0) {
+        throw new IOException("Response headers already sent");
+      }
+      responseCode = code;
+      noBody = responseLength == -1 || code == 204 || code == 304 || "HEAD".equalsIgnoreCase(method);
+    }
+
+    @Override
+    public void close() {
+      if (closed) return;
+      closed = true;
+      if (responseCode < 0) {
+        responseCode = 500;
+        noBody = true;
+      }
+      List<ByteBuffer> body = responseBody.finish();
+      if (noBody) {
+        for (ByteBuffer buffer : body) pool.release(buffer);
+        body = List.of();
+      }
+      long length = 0;
+      for (ByteBuffer buffer : body) length += buffer.remaining();
+      conn.complete(buildHead(length), body);
+    }
+
+    private ByteBuffer buildHead(long contentLength) {
+      StringBuilder sb = new StringBuilder(256);
+      sb.append("HTTP/1.1 ").append(responseCode).append(' ').append(reasonPhrase(responseCode)).append("\r\n");
+      for (var entry : responseHeaders.entrySet()) {
+        String name = entry.getKey();
+        if ("Content-Length".equalsIgnoreCase(name) || "Connection".equalsIgnoreCase(name)) continue;
+        for (String value : entry.getValue()) {
+          sb.append(name).append(": ").append(value).append("\r\n");
+        }
+      }
+      if (responseCode != 204 && responseCode != 304) {
+        sb.append("Content-Length: ").append(contentLength).append("\r\n");
+      }
+      sb.append("Connection: ").append(conn.keepAlive ? "keep-alive" : "close").append("\r\n\r\n");
+      return ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+  }
+
+  /** Accumulates a response body in pooled direct buffers, ready for a gathering write. */
+  private final class PooledOutputStream extends OutputStream {
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private ByteBuffer current;
+
+    @Override
+    public void write(int b) {
+      ensureSpace();
+      current.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      while (len > 0) {
+        ensureSpace();
+        int chunk = Math.min(len, current.remaining());
+        current.put(b, off, chunk);
+        off += chunk;
+        len -= chunk;
+      }
+    }
+
+    private void ensureSpace() {
+      if (current == null || !current.hasRemaining()) {
+        current = pool.acquire();
+        buffers.add(current);
+      }
+    }
+
+    List<ByteBuffer> finish() {
+      for (ByteBuffer buffer : buffers) {
+        buffer.flip();
+      }
+      current = null;
+      return buffers;
+    }
+  }
+
+  private static String reasonPhrase(int code) {
+    return switch (code) {
+      case 200 -> "OK";
+      case 204 -> "No Content";
+      case 304 -> "Not Modified";
+      case 400 -> "Bad Request";
+      case 403 -> "Forbidden";
+      case 404 -> "Not Found";
+      case 405 -> "Method Not Allowed";
+      case 409 -> "Conflict";
+      case 413 -> "Payload Too Large";
+      case 429 -> "Too Many Requests";
+      case 431 -> "Request Header Fields Too Large";
+      case 500 -> "Internal Server Error";
+      default -> "Status";
+    };
+  }
+}
@@ -0,0 +1,43 @@
+package govsim.web;
+
+/**
+ * Computes the next-poll hint sent to viewers. Streaming stages poll fast, quiet stages and open
+ * popular votes poll at a moderate pace, and an idle pipeline backs off. Heavy server load stretches
+ * every interval so a viewer spike does not feed on itself.
+ */
+public class PollIntervalAdvisor {
+  static final int STREAMING_MS = 750;
+  static final int ACTIVE_MS = 1500;
+  static final int VOTING_MS = 2000;
+  static final int IDLE_MS = 5000;
+  static final int MAX_MS = 10000;
+  private static final double STREAMING_LINES_PER_SEC = 0.5;
+  private static final int BUSY_IN_FLIGHT = 32;
+
+  private final LogStore logStore;
+  private final StatusStore statusStore;
+  private final VoteBox voteBox;
+
+  public PollIntervalAdvisor(LogStore logStore, StatusStore statusStore, VoteBox voteBox) {
+    this.logStore = logStore;
+    this.statusStore = statusStore;
+    this.voteBox = voteBox;
+  }
+
+  public int nextPollMs(int inFlightRequests) {
+    StatusStore.StatusSnapshot status = statusStore.snapshot();
+    double appendRate = logStore == null ? 0.0 : logStore.recentAppendRate();
+    int base;
+    if (appendRate >= STREAMING_LINES_PER_SEC) {
+      base = STREAMING_MS;
+    } else if (voteBox != null && voteBox.isOpen()) {
+      base = VOTING_MS;
+    } else if (status.stageRunning) {
+      base = ACTIVE_MS;
+    } else {
+      base = IDLE_MS;
+    }
+    int loadFactor = 1 + Math.max(0, inFlightRequests) / BUSY_IN_FLIGHT;
+    return Math.min(MAX_MS, base * loadFactor);
+  }
+}
@@ -2,48 +2,66 @@ package govsim.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.net.httpserver.HttpExchange;
-import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpHandler;
+import govsim.metrics.Counter;
+import govsim.metrics.Histogram;
+import govsim.metrics.MetricsRegistry;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.InetSocketAddress;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PollingServer {
-  private final HttpServer server;
+  private final HttpTransport server;
   private final LogStore logStore;
   private final VoteBox voteBox;
   private final ChatStore chatStore;
   private final BillStore billStore;
   private final RepsStore repsStore;
   private final StatusStore statusStore;
+  private final PollIntervalAdvisor pollAdvisor;
+  private final AdmissionController admission;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Map<RequestPriority, Histogram> latencyByClass = new EnumMap<>(RequestPriority.class);
+  private final Map<RequestPriority, Counter[]> responsesByClass = new EnumMap<>(RequestPriority.class);
   private final ObjectMapper mapper = new ObjectMapper();
 
   public PollingServer(int port, LogStore logStore, VoteBox voteBox, ChatStore chatStore, BillStore billStore,
                        RepsStore repsStore, StatusStore statusStore) throws IOException {
+    this(ServerSettings.defaults(port), logStore, voteBox, chatStore, billStore, repsStore, statusStore);
+  }
+
+  public PollingServer(ServerSettings settings, LogStore logStore, VoteBox voteBox, ChatStore chatStore,
+                       BillStore billStore, RepsStore repsStore, StatusStore statusStore) throws IOException {
     this.logStore = logStore;
     this.voteBox = voteBox;
     this.chatStore = chatStore;
     this.billStore = billStore;
     this.repsStore = repsStore;
     this.statusStore = statusStore;
-    this.server = HttpServer.create(new InetSocketAddress(port), 0);
-    this.server.setExecutor(Executors.newCachedThreadPool());
-    this.server.createContext("/", this::handleIndex);
-    this.server.createContext("/log", this::handleLog);
-    this.server.createContext("/status", this::handleStatus);
-    this.server.createContext("/vote", this::handleVote);
-    this.server.createContext("/chat", this::handleChat);
-    this.server.createContext("/bill", this::handleBill);
-    this.server.createContext("/reps", this::handleReps);
-    this.server.createContext("/glb", this::handleGlbList);
-    this.server.createContext("/assets/", this::handleAsset);
+    this.pollAdvisor = new PollIntervalAdvisor(logStore, statusStore, voteBox);
+    this.admission = new AdmissionController(settings.maxConcurrentRequests());
+    this.server = createTransport(settings);
+    registerMetrics();
+    this.server.createContext("/", guarded(RequestPriority.ASSETS, this::handleIndex));
+    this.server.createContext("/log", guarded(RequestPriority.LOG, this::handleLog));
+    this.server.createContext("/status", guarded(RequestPriority.STATUS, this::handleStatus));
+    this.server.createContext("/sync", guarded(RequestPriority.STATUS, this::handleSync));
+    this.server.createContext("/vote", guarded(RequestPriority.VOTE, this::handleVote));
+    this.server.createContext("/chat", guarded(RequestPriority.LOG, this::handleChat));
+    this.server.createContext("/bill", guarded(RequestPriority.LOG, this::handleBill));
+    this.server.createContext("/reps", guarded(RequestPriority.LOG, this::handleReps));
+    this.server.createContext("/glb", guarded(RequestPriority.ASSETS, this::handleGlbList));
+    this.server.createContext("/assets/", guarded(RequestPriority.ASSETS, this::handleAsset));
+    this.server.createContext("/load", guarded(RequestPriority.STATUS, this::handleLoad));
+    this.server.createContext("/metrics", guarded(RequestPriority.STATUS, this::handleMetrics));
   }
 
   public void start() {
@@ -51,11 +69,75 @@ public class PollingServer {
   }
 
   public void stop() {
-    server.stop(0);
+    server.stop();
   }
 
   public int port() {
-    return server.getAddress().getPort();
+    return server.port();
+  }
+
+  private static HttpTransport createTransport(ServerSettings settings) throws IOException {
+    return switch (settings.transport()) {
+      case "jdk" -> new JdkHttpTransport(settings.port(), settings.backlog());
+      case "nio" -> new NioHttpTransport(settings.port(), settings.backlog(), settings.maxConcurrentRequests());
+      default -> throw new IllegalArgumentException("Unknown server transport: " + settings.transport());
+    };
+  }
+
+  private HttpHandler guarded(RequestPriority priority, HttpHandler handler) {
+    Histogram latency = latencyByClass.get(priority);
+    Counter[] responses = responsesByClass.get(priority);
+    return exchange -> {
+      inFlight.incrementAndGet();
+      long start = System.nanoTime();
+      try {
+        if (!admission.tryAdmit(priority)) {
+          exchange.getResponseHeaders().add("Retry-After", String.valueOf(priority.retryAfterSeconds));
+          exchange.sendResponseHeaders(429, -1);
+          exchange.close();
+          return;
+        }
+        try {
+          handler.handle(exchange);
+        } finally {
+          admission.release(priority);
+        }
+      } finally {
+        inFlight.decrementAndGet();
+        latency.recordSince(start);
+        int statusClass = exchange.getResponseCode() / 100;
+        responses[statusClass >= 1 && statusClass <= 5 ? statusClass - 1 : 4].inc();
+      }
+    };
+  }
+
+  private void registerMetrics() {
+    MetricsRegistry metrics = MetricsRegistry.global();
+    for (RequestPriority priority : RequestPriority.values()) {
+      String lane = priority.name().toLowerCase();
+      latencyByClass.put(priority, metrics.histogram("govsim_http_request_seconds",
+          "HTTP request latency by admission class", "class", lane));
+      Counter[] responses = new Counter[5];
+      for (int i = 0; i < responses.length; i++) {
+        responses[i] = metrics.counter("govsim_http_responses_total", "HTTP responses by admission class and status",
+            "class", lane, "code", (i + 1) + "xx");
+      }
+      responsesByClass.put(priority, responses);
+      metrics.gauge("govsim_http_queue_depth", "Requests waiting for an admission permit",
+          () -> admission.queued(priority), "class", lane);
+    }
+    metrics.gauge("govsim_http_in_flight", "HTTP requests currently being handled", inFlight::get);
+    metrics.gauge("govsim_log_lines", "Lines held by the live log store", () -> logStore.size());
+    metrics.gauge("govsim_chat_messages", "Messages held by the chat store", () -> chatStore.size());
+    metrics.gauge("govsim_popular_vote_open", "1 while the popular vote is open", () -> voteBox.isOpen() ? 1 : 0);
+    metrics.gauge("govsim_popular_vote_tally", "Current popular vote tally", () -> voteBox.snapshot().yes,
+        "choice", "yes");
+    metrics.gauge("govsim_popular_vote_tally", "Current popular vote tally", () -> voteBox.snapshot().no,
+        "choice", "no");
+  }
+
+  private int nextPollMs() {
+    return pollAdvisor.nextPollMs(inFlight.get());
   }
 
   private void handleIndex(HttpExchange exchange) throws IOException {
@@ -82,11 +164,8 @@ public class PollingServer {
     ensureVoterCookie(exchange);
     URI uri = exchange.getRequestURI();
     int since = parseIntParam(uri.getQuery(), "since", 0);
-    LogStore.LogSnapshot snap = logStore.snapshotFrom(since);
-
-    Map<String, Object> payload = new HashMap<>();
-    payload.put("lines", snap.lines);
-    payload.put("nextIndex", snap.nextIndex);
+    Map<String, Object> payload = logPayload(logStore.snapshotFrom(since));
+    payload.put("nextPollMs", nextPollMs());
     writeJson(exchange, payload);
   }
 
@@ -96,8 +175,100 @@ public class PollingServer {
       return;
     }
     String voterId = ensureVoterCookie(exchange);
-    VoteBox.VoteSnapshot snap = voteBox.snapshot();
+    Map<String, Object> payload = statusPayload(voterId, voteBox.snapshot(), statusStore.snapshot());
+    payload.put("nextPollMs", nextPollMs());
+    writeJson(exchange, payload);
+  }
+
+  /**
+   * Combined delta poll. The client sends its cursor vector
+   * ({@code log}, {@code chat}, {@code status}, {@code bill}) and only the sections that moved past
+   * it are returned, all read in the same request so the viewer never mixes two pipeline moments.
+   */
+  private void handleSync(HttpExchange exchange) throws IOException {
+    if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+      exchange.sendResponseHeaders(405, -1);
+      return;
+    }
+    String voterId = ensureVoterCookie(exchange);
+    String query = exchange.getRequestURI().getQuery();
+    int logCursor = parseIntParam(query, "log", 0);
+    int chatCursor = parseIntParam(query, "chat", 0);
+    long statusCursor = parseLongParam(query, "status", -1L);
+    long billCursor = parseLongParam(query, "bill", -1L);
+
+    LogStore.LogSnapshot logSnap = logStore.snapshotFrom(logCursor);
+    ChatStore.ChatSnapshot chatSnap = chatStore.snapshotFrom(chatCursor);
+    VoteBox.VoteSnapshot voteSnap = voteBox.snapshot();
     StatusStore.StatusSnapshot statusSnap = statusStore.snapshot();
+    BillStore.BillSnapshot billSnap = billStore.snapshot();
+    long statusVersion = statusSnap.version + voteSnap.version;
+
+    Map<String, Object> payload = new HashMap<>();
+    if (!logSnap.lines.isEmpty() || logSnap.nextIndex != logCursor) {
+      payload.put("log", logPayload(logSnap));
+    }
+    if (!chatSnap.messages.isEmpty() || chatSnap.nextIndex != chatCursor) {
+      payload.put("chat", chatPayload(chatSnap));
+    }
+    if (statusVersion != statusCursor) {
+      payload.put("status", statusPayload(voterId, voteSnap, statusSnap));
+    }
+    if (billSnap.version != billCursor) {
+      payload.put("bill", billPayload(billSnap));
+    }
+    Map<String, Object> cursor = new HashMap<>();
+    cursor.put("log", logSnap.nextIndex);
+    cursor.put("chat", chatSnap.nextIndex);
+    cursor.put("status", statusVersion);
+    cursor.put("bill", billSnap.version);
+    payload.put("cursor", cursor);
+    payload.put("nextPollMs", nextPollMs());
+    writeJson(exchange, payload);
+  }
+
+  private void handleLoad(HttpExchange exchange) throws IOException {
+    if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+      exchange.sendResponseHeaders(405, -1);
+      return;
+    }
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("inFlight", inFlight.get());
+    payload.put("active", admission.activeRequests());
+    payload.put("lanes", admission.snapshot());
+    writeJson(exchange, payload);
+  }
+
+  private void handleMetrics(HttpExchange exchange) throws IOException {
+    if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+      exchange.sendResponseHeaders(405, -1);
+      return;
+    }
+    byte[] body = MetricsRegistry.global().scrape().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+    exchange.getResponseHeaders().add("Cache-Control", "no-store");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private Map<String, Object> logPayload(LogStore.LogSnapshot snap) {
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("lines", snap.lines);
+    payload.put("nextIndex", snap.nextIndex);
+    return payload;
+  }
+
+  private Map<String, Object> chatPayload(ChatStore.ChatSnapshot snap) {
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("messages", snap.messages);
+    payload.put("nextIndex", snap.nextIndex);
+    return payload;
+  }
+
+  private Map<String, Object> statusPayload(String voterId, VoteBox.VoteSnapshot snap,
+                                            StatusStore.StatusSnapshot statusSnap) {
     Map<String, Object> payload = new HashMap<>();
     payload.put("open", snap.open);
     payload.put("yes", snap.yes);
@@ -111,7 +282,17 @@ public class PollingServer {
     payload.put("currentSpeakerText", statusSnap.currentSpeakerText);
     payload.put("finalOutcome", statusSnap.finalOutcome);
     payload.put("lastLine", logStore == null ? "" : logStore.lastLine());
-    writeJson(exchange, payload);
+    return payload;
+  }
+
+  private Map<String, Object> billPayload(BillStore.BillSnapshot snap) {
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("originalText", snap.originalText);
+    payload.put("onePager", snap.onePager);
+    payload.put("revisedText", snap.revisedText);
+    payload.put("revisedSummary", snap.revisedSummary);
+    payload.put("revisedChanges", snap.revisedChanges);
+    return payload;
   }
 
   private void handleVote(HttpExchange exchange) throws IOException {
@@ -152,11 +333,7 @@ public class PollingServer {
       ensureVoterCookie(exchange);
       URI uri = exchange.getRequestURI();
       int since = parseIntParam(uri.getQuery(), "since", 0);
-      ChatStore.ChatSnapshot snap = chatStore.snapshotFrom(since);
-      Map<String, Object> payload = new HashMap<>();
-      payload.put("messages", snap.messages);
-      payload.put("nextIndex", snap.nextIndex);
-      writeJson(exchange, payload);
+      writeJson(exchange, chatPayload(chatStore.snapshotFrom(since)));
       return;
     }
 
@@ -180,14 +357,7 @@ public class PollingServer {
       return;
     }
     ensureVoterCookie(exchange);
-    BillStore.BillSnapshot snap = billStore.snapshot();
-    Map<String, Object> payload = new HashMap<>();
-    payload.put("originalText", snap.originalText);
-    payload.put("onePager", snap.onePager);
-    payload.put("revisedText", snap.revisedText);
-    payload.put("revisedSummary", snap.revisedSummary);
-    payload.put("revisedChanges", snap.revisedChanges);
-    writeJson(exchange, payload);
+    writeJson(exchange, billPayload(billStore.snapshot()));
   }
 
   private void handleReps(HttpExchange exchange) throws IOException {
@@ -315,6 +485,16 @@ public class PollingServer {
     }
   }
 
+  private static long parseLongParam(String query, String key, long defaultValue) {
+    String value = getParam(query, key);
+    if (value == null) return defaultValue;
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
   private static String getParam(String query, String key) {
     if (query == null || query.isBlank()) return null;
     String[] pairs = query.split("&");
@@ -802,96 +982,125 @@ public class PollingServer {
       PublicForum: '/assets/videos/Talking.mov'
     };
 
-    async function fetchLogs() {
+    let statusVersion = -1;
+    let billVersion = -1;
+    let pollDelay = 1000;
+    let syncTimer = null;
+    // One /sync at a time: two requests sent with the same cursor would append the same lines twice.
+    let syncing = false;
+    let syncAgain = false;
+
+    function scheduleSync(ms) {
+      if (syncTimer) clearTimeout(syncTimer);
+      syncTimer = setTimeout(sync, ms);
+    }
+
+    async function sync() {
+      if (syncing) {
+        syncAgain = true;
+        return;
+      }
+      syncing = true;
+      let delay = pollDelay;
       try {
-        const res = await fetch(`/log?since=${nextIndex}`, { cache: 'no-store' });
-        if (!res.ok) throw new Error('log fetch failed');
-        const data = await res.json();
-        if (data.lines && data.lines.length) {
-          data.lines.forEach(line => {
-            logEl.textContent += line + "\\n";
-            updateOutcomeFromLine(line);
-            if (logsPrimed) {
-              const match = line.match(/^==> Done: (.+)$/);
-              if (match) {
-                handleNodeDone(match[1].trim());
-              }
-            }
-          });
-          logEl.scrollTop = logEl.scrollHeight;
-        }
-        if (!logsPrimed) {
-          logsPrimed = true;
+        const query = `log=${nextIndex}&chat=${chatIndex}&status=${statusVersion}&bill=${billVersion}`;
+        const res = await fetch(`/sync?${query}`, { cache: 'no-store' });
+        if (res.status === 429) {
+          delay = (Number(res.headers.get('Retry-After')) || 2) * 1000;
+          return;
         }
-        nextIndex = data.nextIndex || nextIndex;
+        if (!res.ok) throw new Error('sync failed');
+        const data = await res.json();
+        if (data.log) applyLogs(data.log);
+        if (data.status) applyStatus(data.status);
+        if (data.chat) applyChat(data.chat);
+        if (data.bill) applyBill(data.bill);
+        const cursor = data.cursor || {};
+        statusVersion = cursor.status ?? statusVersion;
+        billVersion = cursor.bill ?? billVersion;
+        pollDelay = data.nextPollMs || 1000;
+        delay = syncAgain ? 0 : pollDelay;
       } catch (err) {
         statusBadge.textContent = 'Disconnected';
+        pollDelay = 3000;
+        delay = pollDelay;
+      } finally {
+        syncing = false;
+        syncAgain = false;
+        scheduleSync(delay);
       }
     }
 
-    async function fetchStatus() {
-      try {
-        const res = await fetch('/status', { cache: 'no-store' });
-        if (!res.ok) throw new Error('status fetch failed');
-        const data = await res.json();
-        const open = !!data.open;
-        statusBadge.textContent = open ? 'Voting Open' : 'Voting Closed';
-        updateStageFlow(data.currentStage || 'Idle', data.stageRunning);
-        if (data.currentStage && data.currentStage !== lastStage) {
-          showStageBanner(data.currentStage);
-        }
-        if (lastStageRunning && !data.stageRunning && data.currentStage) {
-          const nodeName = stageDisplayToNode(data.currentStage);
-          if (nodeName) {
-            handleNodeDone(nodeName);
+    function applyLogs(data) {
+      if (data.lines && data.lines.length) {
+        data.lines.forEach(line => {
+          logEl.textContent += line + "\\n";
+          updateOutcomeFromLine(line);
+          if (logsPrimed) {
+            const match = line.match(/^==> Done: (.+)$/);
+            if (match) {
+              handleNodeDone(match[1].trim());
+            }
           }
+        });
+        logEl.scrollTop = logEl.scrollHeight;
+        latestLine.textContent = data.lines[data.lines.length - 1];
+      }
+      if (!logsPrimed) {
+        logsPrimed = true;
+      }
+      nextIndex = data.nextIndex || nextIndex;
+    }
+
+    function applyStatus(data) {
+      const open = !!data.open;
+      statusBadge.textContent = open ? 'Voting Open' : 'Voting Closed';
+      updateStageFlow(data.currentStage || 'Idle', data.stageRunning);
+      if (data.currentStage && data.currentStage !== lastStage) {
+        showStageBanner(data.currentStage);
+      }
+      if (lastStageRunning && !data.stageRunning && data.currentStage) {
+        const nodeName = stageDisplayToNode(data.currentStage);
+        if (nodeName) {
+          handleNodeDone(nodeName);
         }
-        lastStage = data.currentStage || '';
-        lastStageRunning = !!data.stageRunning;
-        latestLine.textContent = data.lastLine || '';
-        voteStats.textContent = `YES ${data.yes} | NO ${data.no} | TOTAL ${data.total}`;
-        const alreadyVoted = !!data.alreadyVoted;
-        yesBtn.disabled = !open || alreadyVoted;
-        noBtn.disabled = !open || alreadyVoted;
-        if (alreadyVoted) {
-          voteNotice.textContent = 'Already voted.';
-        } else if (!open) {
-          voteNotice.textContent = 'Voting closed.';
-        } else {
-          voteNotice.textContent = 'One vote per device.';
-        }
-        updateSpeaker(data);
-        maybeCelebrate(data.finalOutcome);
-        if (data.finalOutcome) {
-          currentOutcome = String(data.finalOutcome || '').trim().toUpperCase();
-          if (currentOutcome && currentOutcome !== 'PASS' && currentOutcome !== 'KILLED') {
-            lastOutcomeCutscene = '';
-          }
+      }
+      lastStage = data.currentStage || '';
+      lastStageRunning = !!data.stageRunning;
+      latestLine.textContent = data.lastLine || '';
+      voteStats.textContent = `YES ${data.yes} | NO ${data.no} | TOTAL ${data.total}`;
+      const alreadyVoted = !!data.alreadyVoted;
+      yesBtn.disabled = !open || alreadyVoted;
+      noBtn.disabled = !open || alreadyVoted;
+      if (alreadyVoted) {
+        voteNotice.textContent = 'Already voted.';
+      } else if (!open) {
+        voteNotice.textContent = 'Voting closed.';
+      } else {
+        voteNotice.textContent = 'One vote per device.';
+      }
+      updateSpeaker(data);
+      maybeCelebrate(data.finalOutcome);
+      if (data.finalOutcome) {
+        currentOutcome = String(data.finalOutcome || '').trim().toUpperCase();
+        if (currentOutcome && currentOutcome !== 'PASS' && currentOutcome !== 'KILLED') {
+          lastOutcomeCutscene = '';
         }
-      } catch (err) {
-        statusBadge.textContent = 'Disconnected';
       }
     }
 
-    async function fetchBill() {
-      try {
-        const res = await fetch('/bill', { cache: 'no-store' });
-        if (!res.ok) throw new Error('bill fetch failed');
-        const data = await res.json();
-        const onePagerText = (data.onePager || '').trim();
-        const originalText = (data.originalText || '').trim();
-        billOnePager.textContent = onePagerText || originalText || 'Bill not loaded yet.';
-        originalBill.textContent = originalText || 'No original bill available.';
-
-        const summaryText = (data.revisedSummary || '').trim();
-        const revisedTextValue = (data.revisedText || '').trim();
-        const changes = Array.isArray(data.revisedChanges) ? data.revisedChanges.filter(Boolean) : [];
-        revisedSummary.textContent = summaryText ? `Summary: ${summaryText}` : 'No revisions yet.';
-        revisedChanges.textContent = changes.length ? `Key changes: ${changes.join('; ')}` : '';
-        revisedText.textContent = revisedTextValue;
-      } catch (err) {
-        // Keep last shown values.
-      }
+    function applyBill(data) {
+      const onePagerText = (data.onePager || '').trim();
+      const originalText = (data.originalText || '').trim();
+      billOnePager.textContent = onePagerText || originalText || 'Bill not loaded yet.';
+      originalBill.textContent = originalText || 'No original bill available.';
+
+      const summaryText = (data.revisedSummary || '').trim();
+      const revisedTextValue = (data.revisedText || '').trim();
+      const changes = Array.isArray(data.revisedChanges) ? data.revisedChanges.filter(Boolean) : [];
+      revisedSummary.textContent = summaryText ? `Summary: ${summaryText}` : 'No revisions yet.';
+      revisedChanges.textContent = changes.length ? `Key changes: ${changes.join('; ')}` : '';
+      revisedText.textContent = revisedTextValue;
     }
 
     async function vote(choice) {
@@ -904,6 +1113,8 @@ public class PollingServer {
         voteNotice.textContent = 'Voting closed.';
         yesBtn.disabled = true;
         noBtn.disabled = true;
+      } else if (res.status === 429) {
+        voteNotice.textContent = 'Server busy. Try again.';
       } else if (res.ok) {
         voteNotice.textContent = 'Vote recorded.';
         yesBtn.disabled = true;
@@ -911,7 +1122,7 @@ public class PollingServer {
       } else {
         voteNotice.textContent = 'Vote failed.';
       }
-      fetchStatus();
+      scheduleSync(0);
     }
 
     let chatIndex = 0;
@@ -921,21 +1132,14 @@ public class PollingServer {
     let glbFiles = [];
     let currentSpeakerId = '';
 
-    async function fetchChat() {
-      try {
-        const res = await fetch(`/chat?since=${chatIndex}`, { cache: 'no-store' });
-        if (!res.ok) throw new Error('chat fetch failed');
-        const data = await res.json();
-        if (data.messages && data.messages.length) {
-          data.messages.forEach(msg => {
-            appendChatLine(msg.name, msg.message);
-          });
-          chatLog.scrollTop = chatLog.scrollHeight;
-        }
-        chatIndex = data.nextIndex || chatIndex;
-      } catch (err) {
-        statusBadge.textContent = 'Disconnected';
+    function applyChat(data) {
+      if (data.messages && data.messages.length) {
+        data.messages.forEach(msg => {
+          appendChatLine(msg.name, msg.message);
+        });
+        chatLog.scrollTop = chatLog.scrollHeight;
       }
+      chatIndex = data.nextIndex || chatIndex;
     }
 
     async function sendChat() {
@@ -948,7 +1152,7 @@ public class PollingServer {
         cache: 'no-store'
       });
       chatMessage.value = '';
-      fetchChat();
+      scheduleSync(0);
     }
 
     class RepActor {
@@ -1760,20 +1964,13 @@ public class PollingServer {
       if (e.key === 'Enter') sendChat();
     });
 
-    setInterval(fetchLogs, 1000);
-    setInterval(fetchStatus, 1000);
-    setInterval(fetchChat, 1000);
-    setInterval(fetchBill, 2000);
     setInterval(() => {
       if (scene3d && Math.random() < 0.55) {
         spawnAmbientBubble();
       }
     }, 2200);
     // Fetch once; avoid resetting positions during the run.
-    fetchLogs();
-    fetchStatus();
-    fetchChat();
-    fetchBill();
+    sync();
     renderStageFlow();
     fetchReps();
   </script>
@@ -0,0 +1,19 @@
+package govsim.web;
+
+/** Admission classes for {@link PollingServer}, highest priority first. */
+public enum RequestPriority {
+  VOTE(1.0, 1),
+  STATUS(0.9, 2),
+  LOG(0.75, 3),
+  ASSETS(0.5, 5);
+
+  /** Share of the global concurrency limit this class may still claim. */
+  final double capacityShare;
+  /** Retry-After seconds sent when this class is shed. */
+  final int retryAfterSeconds;
+
+  RequestPriority(double capacityShare, int retryAfterSeconds) {
+    this.capacityShare = capacityShare;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
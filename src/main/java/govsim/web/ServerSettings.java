@@ -0,0 +1,24 @@
+package govsim.web;
+
+public class ServerSettings {
+  private final int port;
+  private final int backlog;
+  private final int maxConcurrentRequests;
+  private final String transport;
+
+  public ServerSettings(int port, int backlog, int maxConcurrentRequests, String transport) {
+    this.port = port;
+    this.backlog = backlog;
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.transport = transport == null || transport.isBlank() ? "jdk" : transport.trim().toLowerCase();
+  }
+
+  public static ServerSettings defaults(int port) {
+    return new ServerSettings(port, 256, 64, "jdk");
+  }
+
+  public int port() { return port; }
+  public int backlog() { return backlog; }
+  public int maxConcurrentRequests() { return maxConcurrentRequests; }
+  public String transport() { return transport; }
+}
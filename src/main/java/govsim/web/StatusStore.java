@@ -1,5 +1,8 @@
 package govsim.web;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 public class StatusStore {
   private String currentStage = "";
   private boolean stageRunning;
@@ -7,24 +10,71 @@ public class StatusStore {
   private String currentSpeakerName = "";
   private String currentSpeakerText = "";
   private String finalOutcome = "";
+  private long version;
+  private final Set<String> runningStages = new LinkedHashSet<>();
 
   public synchronized void setStage(String stage, boolean running) {
+    runningStages.clear();
     this.currentStage = stage == null ? "" : stage;
     this.stageRunning = running;
+    version++;
+  }
+
+  /**
+   * Marks a stage as running. Stages may overlap when the pipeline runs independent nodes in
+   * parallel; the most recently started stage that is still running is reported as current.
+   */
+  public synchronized void stageStarted(String stage) {
+    String name = stage == null ? "" : stage;
+    runningStages.remove(name);
+    runningStages.add(name);
+    this.currentStage = name;
+    this.stageRunning = true;
+    version++;
+  }
+
+  public synchronized void stageFinished(String stage) {
+    String name = stage == null ? "" : stage;
+    runningStages.remove(name);
+    if (runningStages.isEmpty()) {
+      this.currentStage = name;
+      this.stageRunning = false;
+    } else {
+      String latest = name;
+      for (String running : runningStages) latest = running;
+      this.currentStage = latest;
+      this.stageRunning = true;
+    }
+    version++;
+  }
+
+  /** Clears the previous bill's progress; the version keeps counting so poll cursors stay valid. */
+  public synchronized void reset() {
+    runningStages.clear();
+    currentStage = "";
+    stageRunning = false;
+    currentSpeakerId = "";
+    currentSpeakerName = "";
+    currentSpeakerText = "";
+    finalOutcome = "";
+    version++;
   }
 
   public synchronized void setSpeaker(String id, String name, String text) {
     this.currentSpeakerId = id == null ? "" : id;
     this.currentSpeakerName = name == null ? "" : name;
     this.currentSpeakerText = text == null ? "" : text;
+    version++;
   }
 
   public synchronized StatusSnapshot snapshot() {
-    return new StatusSnapshot(currentStage, stageRunning, currentSpeakerId, currentSpeakerName, currentSpeakerText, finalOutcome);
+    return new StatusSnapshot(currentStage, stageRunning, currentSpeakerId, currentSpeakerName, currentSpeakerText,
+        finalOutcome, version);
   }
 
   public synchronized void setFinalOutcome(String outcome) {
     this.finalOutcome = outcome == null ? "" : outcome;
+    version++;
   }
 
   public static class StatusSnapshot {
@@ -34,15 +84,17 @@ public class StatusStore {
     public final String currentSpeakerName;
     public final String currentSpeakerText;
     public final String finalOutcome;
+    public final long version;
 
     public StatusSnapshot(String currentStage, boolean stageRunning, String currentSpeakerId, String currentSpeakerName,
-                          String currentSpeakerText, String finalOutcome) {
+                          String currentSpeakerText, String finalOutcome, long version) {
       this.currentStage = currentStage;
       this.stageRunning = stageRunning;
       this.currentSpeakerId = currentSpeakerId;
       this.currentSpeakerName = currentSpeakerName;
       this.currentSpeakerText = currentSpeakerText;
       this.finalOutcome = finalOutcome;
+      this.version = version;
     }
   }
 }
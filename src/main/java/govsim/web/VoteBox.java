@@ -1,9 +1,23 @@
 package govsim.web;
 
+import govsim.metrics.Counter;
+import govsim.metrics.MetricsRegistry;
+
 public class VoteBox {
+  private static final Counter[] VOTES_BY_STATUS = new Counter[VoteStatus.values().length];
+
+  static {
+    for (VoteStatus status : VoteStatus.values()) {
+      VOTES_BY_STATUS[status.ordinal()] = MetricsRegistry.global()
+          .counter("govsim_popular_votes_total", "Popular vote submissions by result", "result",
+              status.name().toLowerCase());
+    }
+  }
+
   private boolean open;
   private int yes;
   private int no;
+  private long version;
   private final java.util.Set<String> voters = new java.util.HashSet<>();
 
   public synchronized void open() {
@@ -11,10 +25,21 @@ public class VoteBox {
     yes = 0;
     no = 0;
     voters.clear();
+    version++;
+  }
+
+  /** Clears the previous bill's vote; the version keeps counting so poll cursors stay valid. */
+  public synchronized void reset() {
+    open = false;
+    yes = 0;
+    no = 0;
+    voters.clear();
+    version++;
   }
 
   public synchronized void close() {
     open = false;
+    version++;
   }
 
   public synchronized boolean isOpen() {
@@ -24,14 +49,22 @@ public class VoteBox {
   public synchronized void voteYes() {
     if (!open) return;
     yes++;
+    version++;
   }
 
   public synchronized void voteNo() {
     if (!open) return;
     no++;
+    version++;
   }
 
   public synchronized VoteStatus recordVote(String voterId, boolean yesVote) {
+    VoteStatus status = record(voterId, yesVote);
+    VOTES_BY_STATUS[status.ordinal()].inc();
+    return status;
+  }
+
+  private VoteStatus record(String voterId, boolean yesVote) {
     if (!open) return VoteStatus.CLOSED;
     if (voterId == null || voterId.isBlank()) return VoteStatus.INVALID;
     if (voters.contains(voterId)) return VoteStatus.DUPLICATE;
@@ -41,6 +74,7 @@ public class VoteBox {
     } else {
       no++;
     }
+    version++;
     return VoteStatus.OK;
   }
 
@@ -50,18 +84,20 @@ public class VoteBox {
   }
 
   public synchronized VoteSnapshot snapshot() {
-    return new VoteSnapshot(open, yes, no);
+    return new VoteSnapshot(open, yes, no, version);
   }
 
   public static class VoteSnapshot {
     public final boolean open;
     public final int yes;
     public final int no;
+    public final long version;
 
-    public VoteSnapshot(boolean open, int yes, int no) {
+    public VoteSnapshot(boolean open, int yes, int no, long version) {
       this.open = open;
       this.yes = yes;
       this.no = no;
+      this.version = version;
     }
   }
 